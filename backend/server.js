@@ -7,10 +7,48 @@ const app = express();
 const PORT = process.env.PORT || 5000;
 const DATA_FILE = path.join(__dirname, 'data', 'users.json');
 const AUTH_FILE = path.join(__dirname, 'data', 'auth.json');
+// Items per bulk request, see the bulk routes
+const MAX_BULK_ITEMS = 1000;
 
 // Middleware
-app.use(cors());
-app.use(express.json());
+app.use(cors({ exposedHeaders: ['X-Request-Id', 'Server-Timing'] }));
+// The 100kb default fits a few hundred users; allow about 1 kB per item of a full bulk request
+app.use(express.json({ limit: `${MAX_BULK_ITEMS}kb` }));
+
+// One changing request at a time. Every write reads users.json / auth.json, changes it and writes
+// the whole file back, so overlapping requests would overwrite each other's changes. Reads don't wait,
+// the files are replaced atomically (see writeFileAtomic).
+let writeQueue = Promise.resolve();
+app.use((req, res, next) => {
+  if (req.method === 'GET' || req.method === 'HEAD' || req.method === 'OPTIONS') {
+    return next();
+  }
+  let release;
+  const turn = new Promise(resolve => { release = resolve; });
+  const previous = writeQueue;
+  writeQueue = previous.then(() => turn);
+  // finish when the response went out, close when the client gave up first
+  res.once('finish', release);
+  res.once('close', release);
+  previous.then(() => next());
+});
+
+// Echo the caller's X-Request-Id and report the time spent on the request in Server-Timing,
+// so slow calls seen by the tests can be split into server and network time
+app.use((req, res, next) => {
+  const start = process.hrtime.bigint();
+  const requestId = req.get('X-Request-Id');
+  if (requestId) {
+    res.set('X-Request-Id', requestId);
+  }
+  const writeHead = res.writeHead;
+  res.writeHead = function (...args) {
+    const ms = Number(process.hrtime.bigint() - start) / 1e6;
+    res.setHeader('Server-Timing', `app;dur=${ms.toFixed(2)}`);
+    return writeHead.apply(this, args);
+  };
+  next();
+});
 
 // Email validation function
 const isValidEmail = (email) => {
@@ -58,8 +96,12 @@ const readData = async () => {
     const data = await fs.readFile(DATA_FILE, 'utf8');
     return JSON.parse(data);
   } catch (error) {
-    // If file doesn't exist, return empty array
-    return [];
+    // If file doesn't exist, return empty array; anything else must not turn into an empty list
+    // that the next write would store
+    if (error.code === 'ENOENT') {
+      return [];
+    }
+    throw error;
   }
 };
 
@@ -70,6 +112,10 @@ const readAuthData = async () => {
     const data = await fs.readFile(AUTH_FILE, 'utf8');
     return JSON.parse(data);
   } catch (error) {
+    // Any other error must not reset the sessions
+    if (error.code !== 'ENOENT') {
+      throw error;
+    }
     // If file doesn't exist, create default admin user
     const defaultAuth = {
       sessions: {},
@@ -86,16 +132,24 @@ const readAuthData = async () => {
   }
 };
 
+// Write to a temporary file and rename it over the target, so a reader never sees a half-written file
+let tempFiles = 0;
+const writeFileAtomic = async (file, data) => {
+  const temp = `${file}.${process.pid}.${tempFiles++}.tmp`;
+  await fs.writeFile(temp, data);
+  await fs.rename(temp, file);
+};
+
 // Write auth data to JSON file
 const writeAuthData = async (data) => {
   await ensureDataDir();
-  await fs.writeFile(AUTH_FILE, JSON.stringify(data, null, 2));
+  await writeFileAtomic(AUTH_FILE, JSON.stringify(data, null, 2));
 };
 
 // Write data to JSON file
 const writeData = async (data) => {
   await ensureDataDir();
-  await fs.writeFile(DATA_FILE, JSON.stringify(data, null, 2));
+  await writeFileAtomic(DATA_FILE, JSON.stringify(data, null, 2));
 };
 
 // Generate unique ID
@@ -203,16 +257,266 @@ app.get('/api/auth/verify', authenticateToken, (req, res) => {
 
 // Routes
 
-// GET /api/users - Get all users
+// Paged listing of GET /api/users: ?limit=&cursor=&sort=&namePrefix=&emailPrefix=&minAge=&maxAge=
+// Without any of these parameters the whole array is returned as before.
+const PAGE_PARAMS = ['limit', 'cursor', 'sort', 'namePrefix', 'emailPrefix', 'minAge', 'maxAge'];
+const PAGE_SORTS = ['id', 'name', 'email', 'age', 'createdAt'];
+const DEFAULT_PAGE_LIMIT = 100;
+const MAX_PAGE_LIMIT = 1000;
+
+// First value of a query parameter, undefined when missing or not a plain string
+const queryParam = (req, name) => {
+  const value = Array.isArray(req.query[name]) ? req.query[name][0] : req.query[name];
+  return typeof value === 'string' ? value : undefined;
+};
+
+const parseInteger = (value) => (/^-?\d+$/.test(value) ? Number(value) : NaN);
+
+// Value a user is sorted by, null when it has none (sorted last)
+const sortKey = (user, sort) => {
+  const value = user[sort];
+  if (sort === 'age') {
+    return typeof value === 'number' ? value : null;
+  }
+  return value === undefined || value === null ? null : String(value);
+};
+
+// Sort key first, then id, so every user has a unique position and a cursor never skips or repeats one
+const comparePosition = (keyA, idA, keyB, idB) => {
+  if (keyA !== keyB) {
+    if (keyA === null) return 1;
+    if (keyB === null) return -1;
+    return keyA < keyB ? -1 : 1;
+  }
+  return idA < idB ? -1 : idA > idB ? 1 : 0;
+};
+
+// The cursor is the position of the last user of the previous page: base64url of [sort key, id]
+const encodeCursor = (key, id) => Buffer.from(JSON.stringify([key, id])).toString('base64url');
+
+// null unless the cursor holds a position of the same sort order
+const decodeCursor = (cursor, sort) => {
+  try {
+    const position = JSON.parse(Buffer.from(cursor, 'base64url').toString('utf8'));
+    if (Array.isArray(position) && position.length === 2 && typeof position[1] === 'string'
+        && (position[0] === null || typeof position[0] === (sort === 'age' ? 'number' : 'string'))) {
+      return position;
+    }
+  } catch (error) {
+    // falls through to the 400
+  }
+  return null;
+};
+
+const listPage = (users, req, res) => {
+  const limitParam = queryParam(req, 'limit');
+  const limit = limitParam === undefined ? DEFAULT_PAGE_LIMIT : parseInteger(limitParam);
+  if (!Number.isInteger(limit) || limit < 1 || limit > MAX_PAGE_LIMIT) {
+    return res.status(400).json({ error: `limit must be an integer between 1 and ${MAX_PAGE_LIMIT}` });
+  }
+  const sort = queryParam(req, 'sort') || 'id';
+  if (!PAGE_SORTS.includes(sort)) {
+    return res.status(400).json({ error: `sort must be one of ${PAGE_SORTS.join(', ')}` });
+  }
+  const cursorParam = queryParam(req, 'cursor');
+  const after = cursorParam === undefined ? null : decodeCursor(cursorParam, sort);
+  if (cursorParam !== undefined && !after) {
+    return res.status(400).json({ error: 'Invalid cursor' });
+  }
+  const minAgeParam = queryParam(req, 'minAge');
+  const maxAgeParam = queryParam(req, 'maxAge');
+  const minAge = minAgeParam === undefined ? -Infinity : parseInteger(minAgeParam);
+  const maxAge = maxAgeParam === undefined ? Infinity : parseInteger(maxAgeParam);
+  if (Number.isNaN(minAge) || Number.isNaN(maxAge)) {
+    return res.status(400).json({ error: 'minAge and maxAge must be integers' });
+  }
+  const namePrefix = (queryParam(req, 'namePrefix') || '').toLowerCase();
+  const emailPrefix = (queryParam(req, 'emailPrefix') || '').toLowerCase();
+  const ageFilter = minAgeParam !== undefined || maxAgeParam !== undefined;
+
+  const matches = users
+    .filter(user => String(user.name ?? '').toLowerCase().startsWith(namePrefix)
+      && String(user.email ?? '').toLowerCase().startsWith(emailPrefix)
+      && (!ageFilter || (typeof user.age === 'number' && user.age >= minAge && user.age <= maxAge)))
+    .map(user => ({ key: sortKey(user, sort), user }))
+    .filter(entry => !after || comparePosition(entry.key, entry.user.id, after[0], after[1]) > 0)
+    .sort((a, b) => comparePosition(a.key, a.user.id, b.key, b.user.id));
+
+  const page = matches.slice(0, limit);
+  const last = page[page.length - 1];
+  res.json({
+    users: page.map(entry => entry.user),
+    nextCursor: matches.length > limit ? encodeCursor(last.key, last.user.id) : null,
+    limit
+  });
+};
+
+// GET /api/users - Get all users, or one page of them (see listPage)
 app.get('/api/users', authenticateToken, async (req, res) => {
   try {
     const users = await readData();
+    if (PAGE_PARAMS.some(name => req.query[name] !== undefined)) {
+      return listPage(users, req, res);
+    }
     res.json(users);
   } catch (error) {
     res.status(500).json({ error: 'Failed to fetch users' });
   }
 });
 
+// Bulk routes: many users in one request and one rewrite of the data file instead of one per user.
+// Every item gets the status and body its single-user route would answer, in request order, and the
+// batch itself answers 200. Items are applied in order, so a later item sees the earlier ones
+// (a duplicate email within the batch fails like it would in separate requests).
+// Defined before /api/users/:id so "bulk" is not taken for an id.
+
+const validateUser = ({ name, email, age }) => {
+  if (!name || !email) {
+    return 'Name and email are required';
+  }
+  if (!isValidEmail(email)) {
+    return 'Email must contain @ symbol and be in valid format';
+  }
+  if (!isValidAge(age)) {
+    return 'Age must be a valid number between 0 and 150, or omitted entirely';
+  }
+  return null;
+};
+
+// The array in req.body[field], or undefined after answering 400
+const bulkItems = (req, res, field) => {
+  const items = req.body ? req.body[field] : undefined;
+  if (!Array.isArray(items)) {
+    res.status(400).json({ error: `${field} must be an array` });
+    return undefined;
+  }
+  if (items.length > MAX_BULK_ITEMS) {
+    res.status(400).json({ error: `At most ${MAX_BULK_ITEMS} ${field} per request` });
+    return undefined;
+  }
+  return items;
+};
+
+const bulkReply = (res, results) => {
+  const succeeded = results.filter(result => result.status < 300).length;
+  res.json({ results, succeeded, failed: results.length - succeeded });
+};
+
+const asObject = (item) => (item && typeof item === 'object' && !Array.isArray(item) ? item : {});
+
+// POST /api/users/bulk - Create users: {"users": [{name, email, age}, ...]}
+app.post('/api/users/bulk', authenticateToken, async (req, res) => {
+  try {
+    const items = bulkItems(req, res, 'users');
+    if (!items) {
+      return;
+    }
+    const users = await readData();
+    const emails = new Set(users.map(u => u.email));
+    const results = items.map(item => {
+      const { name, email, age } = asObject(item);
+      const error = validateUser({ name, email, age });
+      if (error) {
+        return { status: 400, error };
+      }
+      if (emails.has(email)) {
+        return { status: 400, error: 'Email already exists' };
+      }
+      const now = new Date().toISOString();
+      const user = {
+        id: generateId(),
+        name,
+        email,
+        age: age === undefined ? undefined : Number(age),
+        createdAt: now,
+        updatedAt: now
+      };
+      users.push(user);
+      emails.add(email);
+      return { status: 201, user };
+    });
+    if (results.some(result => result.status < 300)) {
+      await writeData(users);
+    }
+    bulkReply(res, results);
+  } catch (error) {
+    res.status(500).json({ error: 'Failed to create users' });
+  }
+});
+
+// PUT /api/users/bulk - Update users: {"users": [{id, name, email, age}, ...]}
+app.put('/api/users/bulk', authenticateToken, async (req, res) => {
+  try {
+    const items = bulkItems(req, res, 'users');
+    if (!items) {
+      return;
+    }
+    const users = await readData();
+    const indexById = new Map(users.map((u, index) => [u.id, index]));
+    const idByEmail = new Map(users.map(u => [u.email, u.id]));
+    const results = items.map(item => {
+      const { id, name, email, age } = asObject(item);
+      const index = indexById.get(id);
+      if (index === undefined) {
+        return { status: 404, error: 'User not found' };
+      }
+      const error = validateUser({ name, email, age });
+      if (error) {
+        return { status: 400, error };
+      }
+      const owner = idByEmail.get(email);
+      if (owner !== undefined && owner !== id) {
+        return { status: 400, error: 'Email already exists' };
+      }
+      const previous = users[index];
+      if (idByEmail.get(previous.email) === id) {
+        idByEmail.delete(previous.email);
+      }
+      idByEmail.set(email, id);
+      users[index] = {
+        ...previous,
+        name,
+        email,
+        age: age === undefined ? undefined : Number(age),
+        updatedAt: new Date().toISOString()
+      };
+      return { status: 200, user: users[index] };
+    });
+    if (results.some(result => result.status < 300)) {
+      await writeData(users);
+    }
+    bulkReply(res, results);
+  } catch (error) {
+    res.status(500).json({ error: 'Failed to update users' });
+  }
+});
+
+// DELETE /api/users/bulk - Delete users: {"ids": ["...", ...]}
+app.delete('/api/users/bulk', authenticateToken, async (req, res) => {
+  try {
+    const ids = bulkItems(req, res, 'ids');
+    if (!ids) {
+      return;
+    }
+    const users = await readData();
+    const byId = new Map(users.map(u => [u.id, u]));
+    const results = ids.map(id => {
+      const user = byId.get(id);
+      if (!user) {
+        return { status: 404, error: 'User not found' };
+      }
+      byId.delete(id);
+      return { status: 200, user };
+    });
+    if (byId.size !== users.length) {
+      await writeData(users.filter(u => byId.has(u.id)));
+    }
+    bulkReply(res, results);
+  } catch (error) {
+    res.status(500).json({ error: 'Failed to delete users' });
+  }
+});
+
 // GET /api/users/:id - Get user by ID
 app.get('/api/users/:id', authenticateToken, async (req, res) => {
   try {
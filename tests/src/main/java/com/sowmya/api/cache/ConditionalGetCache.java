@@ -0,0 +1,227 @@
+package com.sowmya.api.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.RestAssured;
+import io.restassured.authentication.AuthenticationScheme;
+import io.restassured.authentication.ExplicitNoAuthScheme;
+import io.restassured.authentication.NoAuthScheme;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// Client-side cache of GET responses that carry an ETag, keyed by URL and Authorization header.
+// A cached GET is sent with If-None-Match; on 304 the caller gets the stored 200 back (with the
+// headers of the 304 applied), so an unchanged user list is not downloaded again. Any other answer
+// replaces the entry. Entries are evicted least recently used first once http.cache.max.entries or
+// http.cache.max.bytes is exceeded. Requests that set If-None-Match themselves are passed through.
+// Opt-in with http.cache.enabled, hit ratio and bytes saved are printed with the suite stats.
+public class ConditionalGetCache implements Filter {
+
+    private static volatile ConditionalGetCache installed;
+
+    private final int maxEntries;
+    private final long maxBytes;
+    // access order, the eldest entry is the least recently used
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong revalidated = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public ConditionalGetCache(int maxEntries, long maxBytes) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxBytes = Math.max(0, maxBytes);
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBoolean("http.cache.enabled", false);
+    }
+
+    // Adds a cache for http.cache.max.entries / http.cache.max.bytes to RestAssured's global filters,
+    // once per JVM
+    public static void installIfEnabled() {
+        if (installed != null || !isEnabled()) {
+            return;
+        }
+        synchronized (ConditionalGetCache.class) {
+            if (installed != null) {
+                return;
+            }
+            ConfigManager config = ConfigManager.getInstance();
+            ConditionalGetCache cache = new ConditionalGetCache(config.getInt("http.cache.max.entries", 1024),
+                    config.getLong("http.cache.max.bytes", 16L * 1024 * 1024));
+            RestAssured.filters(cache);
+            installed = cache;
+        }
+    }
+
+    public static void printInstalledStats() {
+        ConditionalGetCache cache = installed;
+        if (cache != null) {
+            cache.printStats();
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+            FilterContext context) {
+        if (!"GET".equalsIgnoreCase(request.getMethod())
+                || request.getHeaders().hasHeaderWithName("If-None-Match")) {
+            return context.next(request, responseSpec);
+        }
+        String credentials = credentials(request);
+        if (credentials == null) {
+            return context.next(request, responseSpec);
+        }
+        requests.incrementAndGet();
+        String key = request.getURI() + "\n" + credentials;
+        Entry cached = get(key);
+        if (cached != null) {
+            request.header("If-None-Match", cached.etag);
+            revalidated.incrementAndGet();
+        }
+        Response response = context.next(request, responseSpec);
+        if (cached != null && response.getStatusCode() == 304) {
+            hits.incrementAndGet();
+            bytesSaved.addAndGet(cached.body.length);
+            return new ResponseBuilder().clone(response)
+                    .setStatusCode(cached.status)
+                    .setStatusLine(cached.statusLine)
+                    .setHeaders(merge(cached.headers, response.getHeaders()))
+                    .setContentType(cached.contentType)
+                    .setBody(cached.body)
+                    .build();
+        }
+        String etag = response.getHeader("ETag");
+        if (response.getStatusCode() == 200 && etag != null) {
+            put(key, new Entry(etag, response));
+        } else if (cached != null) {
+            remove(key);
+        }
+        return response;
+    }
+
+    // Who is asking: the Authorization header, or the token of auth().oauth2(), which RestAssured
+    // only turns into a header after the filters. null for other schemes, those aren't cached.
+    private static String credentials(FilterableRequestSpecification request) {
+        Header authorization = request.getHeaders().get("Authorization");
+        if (authorization != null) {
+            return authorization.getValue();
+        }
+        AuthenticationScheme scheme = request.getAuthenticationScheme();
+        if (scheme instanceof PreemptiveOAuth2HeaderScheme) {
+            return "Bearer " + ((PreemptiveOAuth2HeaderScheme) scheme).getAccessToken();
+        }
+        boolean anonymous = scheme == null || scheme instanceof NoAuthScheme || scheme instanceof ExplicitNoAuthScheme;
+        return anonymous ? "" : null;
+    }
+
+    private synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void put(String key, Entry entry) {
+        if (entry.body.length > maxBytes) {
+            remove(key);
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        bytes += entry.body.length - (previous == null ? 0 : previous.body.length);
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().body.length;
+            eldest.remove();
+            evicted.incrementAndGet();
+        }
+    }
+
+    private synchronized void remove(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.body.length;
+        }
+    }
+
+    // The stored headers, updated by the ones the 304 carries (e.g. a new X-Request-Id)
+    private static Headers merge(Headers stored, Headers fresh) {
+        Map<String, Header> merged = new LinkedHashMap<>();
+        for (Header header : stored) {
+            merged.put(header.getName().toLowerCase(Locale.ROOT), header);
+        }
+        for (Header header : fresh) {
+            String name = header.getName().toLowerCase(Locale.ROOT);
+            if (!name.equals("content-length") && !name.equals("transfer-encoding")) {
+                merged.put(name, header);
+            }
+        }
+        return new Headers(new ArrayList<>(merged.values()));
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.get();
+    }
+
+    public long getEvicted() {
+        return evicted.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getBytes() {
+        return bytes;
+    }
+
+    public void printStats() {
+        long gets = requests.get();
+        System.out.println(String.format("Response cache: %d GETs, %d revalidated, %d served from cache"
+                + " (hit ratio %.1f%%), %.1f KB not downloaded, %d entries / %.1f KB, %d evicted", gets,
+                revalidated.get(), hits.get(), gets == 0 ? 0 : 100.0 * hits.get() / gets,
+                bytesSaved.get() / 1024.0, size(), getBytes() / 1024.0, evicted.get()));
+    }
+
+    private static class Entry {
+
+        private final String etag;
+        private final int status;
+        private final String statusLine;
+        private final String contentType;
+        private final Headers headers;
+        private final byte[] body;
+
+        Entry(String etag, Response response) {
+            this.etag = etag;
+            this.status = response.getStatusCode();
+            this.statusLine = response.getStatusLine();
+            this.contentType = response.getContentType();
+            this.headers = response.getHeaders();
+            this.body = response.asByteArray();
+        }
+    }
+}
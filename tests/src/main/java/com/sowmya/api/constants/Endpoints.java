@@ -1,5 +1,9 @@
 package com.sowmya.api.constants;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 public class Endpoints {
 
     // Authentication endpoints
@@ -14,6 +18,28 @@ public class Endpoints {
     public static final String UPDATE_USER = "/api/users/{id}";
     public static final String DELETE_USER = "/api/users/{id}";
 
+    // Paged listing: GET_ALL_USER with any of these query parameters answers one page
+    // {"users": [...], "nextCursor": "..." or null, "limit": n} instead of the whole list
+    public static final String LIST_USERS_PAGE = "/api/users";
+    public static final String PAGE_LIMIT = "limit";
+    public static final String PAGE_CURSOR = "cursor";
+    public static final String PAGE_SORT = "sort";
+    public static final String FILTER_NAME_PREFIX = "namePrefix";
+    public static final String FILTER_EMAIL_PREFIX = "emailPrefix";
+    public static final String FILTER_MIN_AGE = "minAge";
+    public static final String FILTER_MAX_AGE = "maxAge";
+    public static final List<String> PAGE_PARAMS = Collections.unmodifiableList(Arrays.asList(PAGE_LIMIT,
+            PAGE_CURSOR, PAGE_SORT, FILTER_NAME_PREFIX, FILTER_EMAIL_PREFIX, FILTER_MIN_AGE, FILTER_MAX_AGE));
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+    public static final int MAX_PAGE_LIMIT = 1000;
+
+    // Bulk endpoints: {"users": [...]} to create (POST) or update (PUT), {"ids": [...]} to delete, at most
+    // MAX_BULK_ITEMS per request, answered with {"results": [{"status", "user" or "error"}], "succeeded", "failed"}
+    public static final String BULK_CREATE_USERS = "/api/users/bulk";
+    public static final String BULK_UPDATE_USERS = "/api/users/bulk";
+    public static final String BULK_DELETE_USERS = "/api/users/bulk";
+    public static final int MAX_BULK_ITEMS = 1000;
+
     // Health endopint
     public static final String HEALTH_CHECK = "/api/health";
 
@@ -0,0 +1,112 @@
+package com.sowmya.api.fuzz;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Seeded generator of create / update bodies aimed at the edges of the backend's validation:
+// truthiness of name and email, the email regex (JavaScript \s, missing or doubled @, dots) and
+// Number() coercion of age (numeric strings, hex, exponents, booleans, arrays, fractions, range).
+// Payload i depends only on the seed and i, so any case can be regenerated on its own.
+public class UserPayloadGenerator {
+
+    // Marker for "leave the field out", which JavaScript sees as undefined
+    private static final Object ABSENT = new Object();
+
+    private static final Object[] ODD_VALUES = {
+        ABSENT, null, "", " ", 0, 1, -1, true, false, 12.5, Collections.emptyList(),
+        Collections.singletonList("x"), Collections.emptyMap()
+    };
+    private static final String[] NAMES = {
+        "Sam Doe", "a", "Zoë Ångström", "O'Brien-Smith", "名前", "\t", "  padded  ", "0", "null", "<script>"
+    };
+    private static final String[] LOCAL_PARTS = {
+        "sam", "sam.doe", "x+tag", "a", "1", "ü", "", " sam", "sa m", "sam\t", "sam ", "s m", "@", "."
+    };
+    private static final String[] DOMAINS = {
+        "ork.com", "a.b", "ork", "ork.", ".com", "sub.ork.co.uk", "", " ork.com", "ork.com ", "or k.com",
+        "ork..com", "ork.c", "xn--bcher-kva.example"
+    };
+    private static final Object[] AGES = {
+        ABSENT, null, "", " ", "0", "150", "151", "-1", "-0", "1e2", "2e2", "0x10", "0b101", "0o17", "12.0",
+        "12.5", "abc", "Infinity", "\t42\n", "4 2", "+42", 0, 150, 151, -1, 12.0, 12.5, 149.99999, 1e308,
+        Long.MAX_VALUE, true, false, Collections.emptyList(), Collections.singletonList(5),
+        Arrays.asList(1, 2), Collections.singletonList("7"), Collections.emptyMap()
+    };
+    // includes whitespace JavaScript's \s matches but a plain ASCII check would not
+    private static final String RANDOM_CHARS = "abcXYZ09.-_+@ \t\u00A0\u2028\u3000\uFEFF\u00E9";
+
+    private final long seed;
+
+    public UserPayloadGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Map<String, Object> generate(int index) {
+        SplittableRandom random = new SplittableRandom(seed ^ (index * 0x9E3779B97F4A7C15L));
+        Map<String, Object> body = new LinkedHashMap<>();
+        put(body, "name", random.nextInt(4) == 0 ? pick(random, ODD_VALUES) : pick(random, NAMES));
+        put(body, "email", email(random));
+        put(body, "age", age(random));
+        if (random.nextInt(10) == 0) {
+            // fields the backend doesn't know are ignored
+            body.put("role", "admin");
+        }
+        return body;
+    }
+
+    private static Object email(SplittableRandom random) {
+        switch (random.nextInt(8)) {
+            case 0:
+                return pick(random, ODD_VALUES);
+            case 1:
+                return randomString(random, 1 + random.nextInt(16));
+            case 2:
+                return Collections.singletonList("sam@ork.com");
+            default:
+                StringBuilder email = new StringBuilder(pick(random, LOCAL_PARTS));
+                int at = random.nextInt(10);
+                if (at > 0) {
+                    email.append(at == 1 ? "@@" : "@");
+                }
+                return email.append(pick(random, DOMAINS)).toString();
+        }
+    }
+
+    private static Object age(SplittableRandom random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return random.nextInt(-5, 160);
+            case 1:
+                return String.valueOf(random.nextInt(-5, 160));
+            case 2:
+                return random.nextInt(0, 1600) / 10.0;
+            default:
+                return pick(random, AGES);
+        }
+    }
+
+    private static String randomString(SplittableRandom random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(RANDOM_CHARS.charAt(random.nextInt(RANDOM_CHARS.length())));
+        }
+        return text.toString();
+    }
+
+    private static void put(Map<String, Object> body, String field, Object value) {
+        if (value != ABSENT) {
+            body.put(field, value);
+        }
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,226 @@
+package com.sowmya.api.fuzz;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserJson;
+import com.sowmya.api.utils.UserValidator;
+
+import io.restassured.response.Response;
+
+// Sends UserPayloadGenerator bodies to POST /api/users and PUT /api/users/{id} from a pool of threads
+// and compares every answer with UserValidator, the Java copy of the backend's rules.
+// The pool only has more than one thread against the stub (TestConfig.writerThreads).
+// Bodies the oracle accepts get a unique email ("fz<run>.<case><c|u>-" in front of the local part),
+// so "Email already exists" can't be hit by accident and the expected status stays exact.
+// Each thread updates its own user; everything created is deleted at the end.
+public class ValidationFuzzer {
+
+    private static final int MAX_REPORTED = 20;
+
+    private final UserServiceHelper helper;
+    private final UserPayloadGenerator generator;
+    private final int threads;
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+    public ValidationFuzzer(UserServiceHelper helper, long seed, int threads) {
+        this.helper = helper;
+        this.generator = new UserPayloadGenerator(seed);
+        this.threads = ConfigManager.getInstance().getConfig().writerThreads(threads);
+    }
+
+    public Result run(int cases) throws InterruptedException {
+        Result result = new Result(generator.getSeed(), cases);
+        List<String> created = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger next = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int worker = t;
+                workers.add(pool.submit(() -> {
+                    String target = createTarget(worker, created);
+                    for (int i = next.getAndIncrement(); i < cases; i = next.getAndIncrement()) {
+                        fuzz(i, target, created, result);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : workers) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Fuzz worker failed", e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+            pool.awaitTermination(30, TimeUnit.SECONDS);
+            result.elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            for (String id : created) {
+                helper.deleteUser(id);
+            }
+        }
+        return result;
+    }
+
+    // Payload number index, as sent (before the unique email of valid bodies)
+    public Map<String, Object> payload(int index) {
+        return generator.generate(index);
+    }
+
+    private void fuzz(int index, String target, List<String> created, Result result) {
+        Map<String, Object> body = generator.generate(index);
+        String expected = UserValidator.validate(body);
+
+        Map<String, Object> create = expected == null ? unique(body, index + "c") : body;
+        Response response = helper.createUser(create);
+        if (check(index, "POST", create, expected, 201, response, result)) {
+            created.add(response.jsonPath().getString("id"));
+        }
+
+        Map<String, Object> update = expected == null ? unique(body, index + "u") : body;
+        check(index, "PUT", update, expected, 200, helper.updateUser(target, update), result);
+    }
+
+    // true when the user was created
+    private boolean check(int index, String method, Map<String, Object> body, String expectedError,
+            int okStatus, Response response, Result result) {
+        result.requests.incrementAndGet();
+        int status = response.getStatusCode();
+        String actualError = null;
+        JsonNode json = null;
+        try {
+            json = UserJson.mapper().readTree(response.asByteArray());
+            actualError = json.path("error").isTextual() ? json.get("error").asText() : null;
+        } catch (IOException e) {
+            // reported as a mismatch below
+        }
+        int expectedStatus = expectedError == null ? okStatus : 400;
+        String outcome = expectedError == null ? method + " " + okStatus : method + " 400 " + expectedError;
+        result.outcomes.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+
+        String problem = null;
+        if (status != expectedStatus || (expectedError != null && !expectedError.equals(actualError))) {
+            problem = "expected " + expectedStatus + (expectedError == null ? "" : " '" + expectedError + "'")
+                    + " but was " + status + " " + response.asString();
+        } else if (expectedError == null && json != null) {
+            boolean hasAge = body.containsKey("age");
+            JsonNode age = json.get("age");
+            if (hasAge != (age != null && age.isNumber())
+                    || (hasAge && age.asDouble() != UserValidator.toNumber(body.get("age")))) {
+                problem = "stored age " + age + " for " + body.get("age");
+            }
+        }
+        if (problem != null) {
+            result.mismatches.incrementAndGet();
+            if (result.reported.size() < MAX_REPORTED) {
+                result.reported.add("case " + index + " " + method + " " + describe(body) + ": " + problem);
+            }
+        }
+        return status == 201 && json != null && json.hasNonNull("id");
+    }
+
+    private String createTarget(int worker, List<String> created) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Fuzz target " + worker);
+        body.put("email", "fz" + run + ".t" + worker + "-target@ork.com");
+        Response response = helper.createUser(body);
+        if (response.getStatusCode() != 201) {
+            throw new IllegalStateException("Not able to create fuzz target: " + response.asString());
+        }
+        String id = response.jsonPath().getString("id");
+        created.add(id);
+        return id;
+    }
+
+    private Map<String, Object> unique(Map<String, Object> body, String tag) {
+        Map<String, Object> copy = new LinkedHashMap<>(body);
+        String prefix = "fz" + run + "." + tag + "-";
+        Object email = body.get("email");
+        if (email instanceof List && !((List<?>) email).isEmpty()) {
+            // keep the type the oracle judged, only the first element gets the prefix
+            List<Object> emails = new ArrayList<>((List<?>) email);
+            emails.set(0, prefix + emails.get(0));
+            copy.put("email", emails);
+        } else {
+            copy.put("email", prefix + email);
+        }
+        return copy;
+    }
+
+    private static String describe(Map<String, Object> body) {
+        try {
+            return UserJson.mapper().writeValueAsString(body);
+        } catch (IOException e) {
+            return String.valueOf(body);
+        }
+    }
+
+    public static class Result {
+
+        private final long seed;
+        private final int cases;
+        private final AtomicLong requests = new AtomicLong();
+        private final AtomicLong mismatches = new AtomicLong();
+        private final Map<String, AtomicLong> outcomes = new ConcurrentHashMap<>();
+        private final ConcurrentLinkedQueue<String> reported = new ConcurrentLinkedQueue<>();
+        private long elapsedMillis;
+
+        Result(long seed, int cases) {
+            this.seed = seed;
+            this.cases = cases;
+        }
+
+        public long getRequests() {
+            return requests.get();
+        }
+
+        public long getMismatches() {
+            return mismatches.get();
+        }
+
+        // First mismatches, each with the case number to regenerate it
+        public List<String> getReported() {
+            return new ArrayList<>(reported);
+        }
+
+        // Requests per expected outcome, e.g. "POST 201" or "PUT 400 Email must contain @ symbol ..."
+        public Map<String, Long> getOutcomes() {
+            Map<String, Long> counts = new TreeMap<>();
+            for (Map.Entry<String, AtomicLong> entry : outcomes.entrySet()) {
+                counts.put(entry.getKey(), entry.getValue().get());
+            }
+            return counts;
+        }
+
+        public void print() {
+            System.out.println("Validation fuzz, seed " + seed + ": " + cases + " cases, " + requests.get()
+                    + " requests in " + elapsedMillis + " ms, " + mismatches.get() + " mismatches");
+            for (Map.Entry<String, Long> entry : getOutcomes().entrySet()) {
+                System.out.println(String.format("  %6d  %s", entry.getValue(), entry.getKey()));
+            }
+            for (String mismatch : reported) {
+                System.out.println("  " + mismatch);
+            }
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.sowmya.api.helpers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import com.sowmya.api.ledger.CreatedUserLedger;
+import com.sowmya.api.model.UserSnapshot;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+import io.restassured.response.Response;
+
+// Deletes users left behind by test runs that crashed before their cleanup, so later runs don't hit
+// "Email already exists" and the user list stays small. Test users are recognised by the run-tagged
+// email prefixes of UserFixturePool / ValidationFuzzer / DirectApiTimer / TestBulkUsers / TestUserPaging,
+// see sweep.email.pattern; plain test domains are not enough, hand-made data uses them too. Users younger
+// than sweep.min.age.minutes (60 by default) are left alone, so a run still in progress on the same
+// backend keeps its data.
+public class LeakedUserSweeper {
+
+    public static final String DEFAULT_PATTERN =
+            "^(fixture\\.[0-9a-z]+\\.|fz[0-9a-z]+\\.|har\\.compare\\.[0-9]+@|bulk[0-9a-z]+\\.|pager\\.[0-9a-z]+\\.).*";
+
+    private final UserServiceHelper helper;
+    private final Pattern emails;
+    private final int threads;
+    private long minAgeMillis;
+
+    public LeakedUserSweeper(UserServiceHelper helper, Pattern emails, int threads) {
+        this.helper = helper;
+        this.emails = emails;
+        this.threads = Math.max(1, threads);
+    }
+
+    public static LeakedUserSweeper fromConfig() {
+        return fromConfig(Pattern.compile(ConfigManager.getInstance().getProperty("sweep.email.pattern",
+                DEFAULT_PATTERN)));
+    }
+
+    // Sweeper for the configured backend, logged in with its own token
+    public static LeakedUserSweeper fromConfig(Pattern emails) {
+        ConfigManager manager = ConfigManager.getInstance();
+        TestConfig config = manager.getConfig();
+        UserServiceHelper helper = new UserServiceHelper();
+        Response login = helper.loginUser(config.getAuthUsername(), config.getAuthPassword());
+        if (login.getStatusCode() != 200) {
+            throw new IllegalStateException("Sweeper login failed: " + login.asString());
+        }
+        helper.useOwnToken(login.jsonPath().getString("token"));
+        // parallel deletes only against the stub, see TestConfig.writerThreads
+        return new LeakedUserSweeper(helper, emails, config.writerThreads(manager.getInt("sweep.threads", 8)))
+                .minAgeMinutes(manager.getInt("sweep.min.age.minutes", 60));
+    }
+
+    // Only the users of one UserFixturePool / ValidationFuzzer run
+    public static Pattern runPattern(String run) {
+        return Pattern.compile("^(fixture\\.|fz)" + Pattern.quote(run) + "\\..*");
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBoolean("sweep.on.start", false);
+    }
+
+    public LeakedUserSweeper minAgeMinutes(int minutes) {
+        this.minAgeMillis = Math.max(0, minutes) * 60_000L;
+        return this;
+    }
+
+    public Result sweep() throws InterruptedException {
+        Result result = new Result();
+        long start = System.nanoTime();
+        UserSnapshot users = helper.getUserSnapshot();
+        long cutoff = System.currentTimeMillis() - minAgeMillis;
+        List<String> ids = new ArrayList<>();
+        for (int row = 0; row < users.size(); row++) {
+            String email = users.getEmail(row);
+            if (email == null || !emails.matcher(email).matches()) {
+                continue;
+            }
+            long createdAt = users.getCreatedAtMillis(row);
+            if (minAgeMillis > 0 && (createdAt == UserSnapshot.NO_TIMESTAMP || createdAt > cutoff)) {
+                result.kept.incrementAndGet();
+                continue;
+            }
+            ids.add(users.getId(row));
+        }
+        result.listed = users.size();
+        result.listMillis = (System.nanoTime() - start) / 1_000_000;
+
+        inParallel(ids.size(), (from, to) -> {
+            for (long i = from; i < to; i++) {
+                count(helper.deleteUser(ids.get((int) i)).getStatusCode(), result);
+            }
+        });
+        result.totalMillis = (System.nanoTime() - start) / 1_000_000;
+        return result;
+    }
+
+    // Deletes every user of the ledger not marked deleted yet, e.g. after a crashed load run, and marks it.
+    // Records younger than sweep.min.age.minutes are kept like in sweep(), a fork or suite running next
+    // to this one may still use them.
+    public Result sweep(CreatedUserLedger ledger) throws InterruptedException {
+        Result result = new Result();
+        long start = System.nanoTime();
+        result.listed = ledger.size();
+        long cutoff = System.currentTimeMillis() - minAgeMillis;
+        inParallel(ledger.size(), (from, to) -> {
+            for (long record = from; record < to; record++) {
+                if (!ledger.isLive(record)) {
+                    continue;
+                }
+                if (minAgeMillis > 0 && ledger.getCreatedAtMillis(record) > cutoff) {
+                    result.kept.incrementAndGet();
+                    continue;
+                }
+                int status = helper.deleteUser(ledger.getId(record)).getStatusCode();
+                count(status, result);
+                if (status == 200 || status == 404) {
+                    ledger.markDeleted(record);
+                }
+            }
+        });
+        result.totalMillis = (System.nanoTime() - start) / 1_000_000;
+        return result;
+    }
+
+    // Users of the ledger not marked deleted that the backend doesn't list any more
+    public long countMissing(CreatedUserLedger ledger) {
+        UserSnapshot users = helper.getUserSnapshot();
+        long missing = 0;
+        for (long record = 0, size = ledger.size(); record < size; record++) {
+            if (ledger.isLive(record) && !users.containsId(ledger.getId(record))) {
+                missing++;
+            }
+        }
+        return missing;
+    }
+
+    // contiguous slices per thread, no queue shared between the deletes
+    private void inParallel(long count, Slice slice) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool((int) Math.min(threads, Math.max(1, count)));
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            long length = (count + threads - 1) / threads;
+            for (long from = 0; from < count; from += length) {
+                long first = from;
+                long end = Math.min(count, from + length);
+                workers.add(pool.submit(() -> slice.run(first, end)));
+            }
+            for (Future<?> worker : workers) {
+                try {
+                    worker.get();
+                } catch (ExecutionException e) {
+                    System.out.println("Sweep worker failed:" + e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void count(int status, Result result) {
+        if (status == 200) {
+            result.deleted.incrementAndGet();
+        } else if (status == 404) {
+            // removed by someone else in the meantime
+            result.gone.incrementAndGet();
+        } else {
+            result.failed.incrementAndGet();
+        }
+    }
+
+    private interface Slice {
+        void run(long from, long to);
+    }
+
+    // java ... LeakedUserSweeper [email regex]
+    public static void main(String[] args) throws InterruptedException {
+        LeakedUserSweeper sweeper = args.length > 0 ? fromConfig(Pattern.compile(args[0])) : fromConfig();
+        sweeper.sweep().print();
+    }
+
+    public static class Result {
+
+        private long listed;
+        private final AtomicInteger kept = new AtomicInteger();
+        private final AtomicInteger deleted = new AtomicInteger();
+        private final AtomicInteger gone = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private long listMillis;
+        private long totalMillis;
+
+        public long getListed() {
+            return listed;
+        }
+
+        public int getKept() {
+            return kept.get();
+        }
+
+        public int getDeleted() {
+            return deleted.get();
+        }
+
+        public int getGone() {
+            return gone.get();
+        }
+
+        public int getFailed() {
+            return failed.get();
+        }
+
+        public long getListMillis() {
+            return listMillis;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void print() {
+            System.out.println("Swept " + getDeleted() + " leaked users of " + listed + " in " + totalMillis
+                    + " ms (list " + listMillis + " ms), " + getGone() + " already gone, " + getFailed()
+                    + " failed, " + kept.get() + " too recent");
+        }
+    }
+}
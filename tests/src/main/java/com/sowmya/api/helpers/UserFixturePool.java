@@ -0,0 +1,245 @@
+package com.sowmya.api.helpers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sowmya.api.model.User;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+import io.restassured.response.Response;
+
+// Suite-wide pool of users created up front, so API tests don't each create and delete their own.
+// - leaseExclusive(): a user only the caller touches, reset to its original name / email / age by
+//   release() and handed out again; the reset is done before release() returns, so the next test
+//   can reuse an email the lease had changed the user to
+// - leaseShared(): one user for read-only tests, never changed
+// - take(): a user the caller keeps, e.g. to delete it; the pool no longer deletes it
+// Everything still in the pool is deleted by drain(), called when the suite finishes.
+// Creates and deletes use up to threads threads, getInstance() only asks for more than one against the
+// stub (TestConfig.writerThreads).
+public class UserFixturePool {
+
+    private static volatile UserFixturePool instance;
+
+    private final UserServiceHelper helper;
+    private final ExecutorService executor;
+    private final int threads;
+    // forks of the same suite can start in the same millisecond
+    private final String run = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36);
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final LinkedBlockingQueue<User> idle = new LinkedBlockingQueue<>();
+    // ids created by the pool and not deleted yet
+    private final Set<String> owned = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger recycled = new AtomicInteger();
+    private final User shared;
+
+    public UserFixturePool(UserServiceHelper helper, int size, int threads) {
+        this.helper = helper;
+        this.threads = Math.max(1, threads);
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-fixture-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long start = System.nanoTime();
+        List<Future<User>> pending = new ArrayList<>();
+        for (int i = 0; i <= size; i++) {
+            pending.add(executor.submit(this::create));
+        }
+        List<User> users = new ArrayList<>();
+        for (Future<User> future : pending) {
+            users.add(await(future));
+        }
+        shared = users.remove(0);
+        idle.addAll(users);
+        System.out.println("Created " + (size + 1) + " fixture users in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    // Pool for the configured backend, created on first use with its own login
+    public static UserFixturePool getInstance() {
+        UserFixturePool pool = instance;
+        if (pool == null) {
+            synchronized (UserFixturePool.class) {
+                pool = instance;
+                if (pool == null) {
+                    TestConfig config = ConfigManager.getInstance().getConfig();
+                    UserServiceHelper helper = new UserServiceHelper();
+                    Response login = helper.loginUser(config.getAuthUsername(), config.getAuthPassword());
+                    if (login.getStatusCode() != 200) {
+                        throw new IllegalStateException("Fixture pool login failed: " + login.asString());
+                    }
+                    helper.useOwnToken(login.jsonPath().getString("token"));
+                    pool = new UserFixturePool(helper, config.getFixturePoolSize(),
+                            config.writerThreads(config.getFixturePoolThreads()));
+                    instance = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    // Deletes the users of the pool if one was created in this JVM, the next getInstance() starts a new one
+    public static synchronized void drainIfCreated() {
+        UserFixturePool pool = instance;
+        instance = null;
+        if (pool != null) {
+            pool.drain();
+        }
+    }
+
+    public Lease leaseExclusive() {
+        User user = idle.poll();
+        if (user == null) {
+            // every user is out, grow instead of waiting
+            user = create();
+        }
+        return new Lease(user, true);
+    }
+
+    public Lease leaseShared() {
+        return new Lease(shared, false);
+    }
+
+    // The user leaves the pool, the caller may change or delete it
+    public User take() {
+        User user = idle.poll();
+        if (user == null) {
+            user = create();
+        }
+        owned.remove(user.getId());
+        return copy(user);
+    }
+
+    public void drain() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<String> ids = new ArrayList<>(owned);
+        if (threads > 1) {
+            ids.parallelStream().forEach(helper::deleteUser);
+        } else {
+            ids.forEach(helper::deleteUser);
+        }
+        owned.clear();
+        idle.clear();
+        System.out.println("Fixture pool: " + created.get() + " users created, " + recycled.get()
+                + " leases recycled, " + ids.size() + " deleted");
+    }
+
+    private User create() {
+        int n = sequence.getAndIncrement();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", "Fixture User " + n);
+        body.put("email", "fixture." + run + "." + n + "@ork.com");
+        body.put("age", 20 + n % 50);
+        Response response = helper.createUser(body);
+        if (response.getStatusCode() != 201) {
+            throw new IllegalStateException("Not able to create fixture user: " + response.asString());
+        }
+        User user = response.as(User.class);
+        owned.add(user.getId());
+        created.incrementAndGet();
+        return user;
+    }
+
+    // Puts the original data back and returns the user to the pool, or forgets it if that fails
+    private void recycle(User user) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("name", user.getName());
+        body.put("email", user.getEmail());
+        body.put("age", user.getAge());
+        Response response = helper.updateUser(user.getId(), body);
+        if (response.getStatusCode() == 200) {
+            idle.offer(user);
+            recycled.incrementAndGet();
+            return;
+        }
+        if (response.getStatusCode() != 404) {
+            helper.deleteUser(user.getId());
+        }
+        owned.remove(user.getId());
+    }
+
+    private static User await(Future<User> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating fixture users", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Not able to create fixture users", e.getCause());
+        }
+    }
+
+    private static User copy(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setName(user.getName());
+        copy.setEmail(user.getEmail());
+        copy.setAge(user.getAge());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        return copy;
+    }
+
+    public class Lease implements AutoCloseable {
+
+        private final User user;
+        private final boolean exclusive;
+        private boolean released;
+
+        private Lease(User user, boolean exclusive) {
+            this.user = user;
+            this.exclusive = exclusive;
+        }
+
+        public String getId() {
+            return user.getId();
+        }
+
+        // The user as it was when leased
+        public User getUser() {
+            return copy(user);
+        }
+
+        public void release() {
+            if (released) {
+                return;
+            }
+            released = true;
+            if (!exclusive) {
+                return;
+            }
+            if (executor.isShutdown()) {
+                // released after drain()
+                helper.deleteUser(user.getId());
+            } else {
+                recycle(user);
+            }
+        }
+
+        @Override
+        public void close() {
+            release();
+        }
+    }
+}
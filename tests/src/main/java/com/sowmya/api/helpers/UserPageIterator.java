@@ -0,0 +1,106 @@
+package com.sowmya.api.helpers;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserPage;
+
+// Walks a paged GET /api/users one user at a time without ever holding more than two pages.
+// As soon as a page arrives the request for the next one is sent from a background thread, so the
+// caller works through the current page while the next is on the wire. getWaitMillis() is the time
+// next() / hasNext() still had to wait for a page, close() drops a prefetch nobody will read.
+public class UserPageIterator implements Iterator<User>, AutoCloseable {
+
+    private static final ExecutorService PREFETCH = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "user-page-prefetch");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // cursor (null for the first page) to page
+    private final Function<String, UserPage> fetch;
+    private Iterator<User> current = Collections.emptyIterator();
+    private Future<UserPage> next;
+    private int pages;
+    private long users;
+    private long waitNanos;
+
+    public UserPageIterator(Function<String, UserPage> fetch) {
+        this.fetch = fetch;
+        this.next = prefetch(null);
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (next == null) {
+                return false;
+            }
+            UserPage page = await(next);
+            pages++;
+            next = page.hasNext() ? prefetch(page.getNextCursor()) : null;
+            List<User> pageUsers = page.getUsers();
+            current = pageUsers == null ? Collections.<User>emptyIterator() : pageUsers.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public User next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        users++;
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        if (next != null) {
+            next.cancel(true);
+            next = null;
+        }
+        current = Collections.emptyIterator();
+    }
+
+    public int getPages() {
+        return pages;
+    }
+
+    public long getUsers() {
+        return users;
+    }
+
+    public long getWaitMillis() {
+        return waitNanos / 1_000_000;
+    }
+
+    private Future<UserPage> prefetch(String cursor) {
+        return PREFETCH.submit(() -> fetch.apply(cursor));
+    }
+
+    private UserPage await(Future<UserPage> page) {
+        long start = System.nanoTime();
+        try {
+            return page.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while listing users", e);
+        } catch (ExecutionException e) {
+            next = null;
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException ? (RuntimeException) cause
+                    : new IllegalStateException("Not able to list users", cause);
+        } finally {
+            waitNanos += System.nanoTime() - start;
+        }
+    }
+}
@@ -2,15 +2,35 @@ package com.sowmya.api.helpers;
 
 import java.io.File;
 import java.io.FileInputStream;
-import java.lang.reflect.Type;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.sowmya.api.cache.ConditionalGetCache;
 import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.ledger.CreatedUserLedger;
+import com.sowmya.api.model.BulkResult;
 import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserPage;
+import com.sowmya.api.model.UserQuery;
+import com.sowmya.api.model.UserSnapshot;
+import com.sowmya.api.proxy.FaultInjectionProxy;
+import com.sowmya.api.replay.TrafficRecorder;
+import com.sowmya.api.schema.ContractFilter;
+import com.sowmya.api.stub.UserApiStubServer;
+import com.sowmya.api.timing.RequestTimingFilter;
 import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+import com.sowmya.api.utils.UserJson;
+
 import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
 import io.restassured.http.ContentType;
 import io.restassured.path.json.JsonPath;
 import io.restassured.response.Response;
@@ -21,14 +41,74 @@ public class UserServiceHelper {
     // Rest Assured about the URL, port
     // MAke a Get request on this url and send the data to TestGetUser
     
-     private static final String BASE_URL =  ConfigManager.getInstance().geString(("base_url"));
-     private static final String PORT = ConfigManager.getInstance().geString("backend_port");
+     private static final TestConfig CONFIG = ConfigManager.getInstance().getConfig();
+     private static final boolean LEDGER = CreatedUserLedger.isEnabled();
+     private static final int BULK_CHUNK = Math.max(1, Math.min(Endpoints.MAX_BULK_ITEMS,
+             ConfigManager.getInstance().getInt("bulk.chunk.size", 500)));
      private static String authToken ;
+     private static boolean clientConfigured;
+     // set by useOwnToken, requests of this helper then don't follow the shared token
+     private String ownToken;
 
     public UserServiceHelper(){
-         RestAssured.baseURI = BASE_URL;
-         RestAssured.port = Integer.parseInt(PORT);
+         if (FaultInjectionProxy.isEnabled()) {
+             // the proxy forwards to the backend or stub selected below
+             FaultInjectionProxy proxy = FaultInjectionProxy.shared();
+             RestAssured.baseURI = proxy.getBaseUrl();
+             RestAssured.port = proxy.getPort();
+         } else if (UserApiStubServer.isEnabled()) {
+             UserApiStubServer stub = UserApiStubServer.shared();
+             RestAssured.baseURI = stub.getBaseUrl();
+             RestAssured.port = stub.getPort();
+         } else {
+             RestAssured.baseURI = CONFIG.getBaseUrl();
+             RestAssured.port = CONFIG.getBackendPort();
+         }
+         RestAssured.useRelaxedHTTPSValidation();
+         configureHttpClient();
+         TrafficRecorder.installIfEnabled();
+         ContractFilter.installIfEnabled();
+         ConditionalGetCache.installIfEnabled();
+         // last, so it times the call and not the other filters
+         RequestTimingFilter.installIfEnabled();
+    }
+
+    // Talks to an explicit server, e.g. a FaultInjectionProxy or UserApiStubServer started by a test
+    public UserServiceHelper(String baseUrl, int port){
+         RestAssured.baseURI = baseUrl;
+         RestAssured.port = port;
          RestAssured.useRelaxedHTTPSValidation();
+         configureHttpClient();
+    }
+
+    // By default RestAssured builds a new HttpClient (SSL context, connection) for every request.
+    // With http.pool.size > 0 all requests share one client with a keep-alive pool of that many
+    // connections per route, so concurrent callers don't pay a TCP connect each time.
+    // The connection managers and interceptors of RequestTimingFilter time the calls when timing.enabled.
+    // RestAssured 4.x only takes the deprecated httpclient 4 client API, so those types are spelled out
+    // here under the suppression instead of imported.
+    @SuppressWarnings("deprecation")
+    private static synchronized void configureHttpClient() {
+         int size = CONFIG.getHttpPoolSize();
+         boolean timed = RequestTimingFilter.isEnabled();
+         if (clientConfigured || (size <= 0 && !timed)) {
+             return;
+         }
+         HttpClientConfig client = HttpClientConfig.httpClientConfig();
+         if (size > 0) {
+             client = client.reuseHttpClientInstance().httpClientFactory(() -> {
+                 org.apache.http.impl.conn.PoolingClientConnectionManager connections =
+                         RequestTimingFilter.newPooledConnectionManager();
+                 connections.setMaxTotal(size * 2);
+                 connections.setDefaultMaxPerRoute(size);
+                 return RequestTimingFilter.instrument(new org.apache.http.impl.client.DefaultHttpClient(connections));
+             });
+         } else {
+             client = client.httpClientFactory(() -> RequestTimingFilter.instrument(
+                     new org.apache.http.impl.client.DefaultHttpClient(RequestTimingFilter.newConnectionManager())));
+         }
+         RestAssured.config = RestAssured.config().httpClient(client);
+         clientConfigured = true;
     }
 
     // Authentication methods
@@ -64,63 +144,104 @@ public class UserServiceHelper {
 
     public Response logoutUser(){
         return RestAssured.given()
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .post(Endpoints.LOGOUT);
     }
 
     public Response verifyToken(){
         return RestAssured.given()
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .get(Endpoints.VERIFY_TOKEN);
     }
 
     // User CRUD operations
     public List<User> getAllUsers() {
-        Response response = RestAssured.given().log().all()
+        Response response = RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization","Bearer " + authToken)
+                .header("Authorization","Bearer " + token())
                 .get(Endpoints.GET_ALL_USER)
                 .andReturn();
-        response.getBody().prettyPrint();
-        Type type = new TypeReference<List<User>>(){}.getType(); 
-        return response.as(type);
+        // Parse with the pre-built reader instead of response.as(), which builds a new mapper per call
+        return UserJson.readUsers(response.asByteArray());
     }
 
     public Response getAllUsersResponse() {
         return RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization","Bearer " + authToken)
+                .header("Authorization","Bearer " + token())
                 .get(Endpoints.GET_ALL_USER);
     }
 
+    // Column-wise snapshot of GET /api/users with id/email indexes, for assertions over big lists
+    public UserSnapshot getUserSnapshot() {
+        Response response = getAllUsersResponse();
+        try {
+            return UserSnapshot.read(response.asByteArray());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read user list", e);
+        }
+    }
+
+    // One page of GET /api/users, cursor is the nextCursor of the previous page (null for the first)
+    public Response getUsersPageResponse(UserQuery query, String cursor) {
+        return usersPage(query, cursor, token());
+    }
+
+    public UserPage getUsersPage(UserQuery query, String cursor) {
+        return readPage(usersPage(query, cursor, token()));
+    }
+
+    // Every user matching the query, fetched page by page while the caller iterates, with the next
+    // page requested in the background. Uses the token of this helper at the time of the call.
+    public UserPageIterator iterateUsers(UserQuery query) {
+        String token = token();
+        return new UserPageIterator(cursor -> readPage(usersPage(query, cursor, token)));
+    }
+
+    private static Response usersPage(UserQuery query, String cursor, String token) {
+        return RestAssured.given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + token)
+                .queryParams(query.toQueryParams(cursor))
+                .get(Endpoints.LIST_USERS_PAGE);
+    }
+
+    private static UserPage readPage(Response response) {
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("Not able to list users: " + response.getStatusCode() + " "
+                    + response.asString());
+        }
+        return UserPage.read(response.asByteArray());
+    }
+
     public Response getUserById(String userId) {
         return RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .pathParam("id", userId)
                 .get(Endpoints.GET_SINGLE_USER);
     }
 
      public Response createUser(User user) {
-        return RestAssured.given()
+        return recordCreated(RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .body(user)
-                .post(Endpoints.CREATE_USER);
+                .post(Endpoints.CREATE_USER));
     }
 
     public Response createUser(Map<String,  Object> userData) {
-        return RestAssured.given()
+        return recordCreated(RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .body(userData)
-                .post(Endpoints.CREATE_USER);
+                .post(Endpoints.CREATE_USER));
     }
 
     public Response updateUser(String userId, User user) {
         return RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .pathParam("id", userId)
                 .body(user)
                 .put(Endpoints.UPDATE_USER);
@@ -129,7 +250,7 @@ public class UserServiceHelper {
     public Response updateUser(String userId, Map<String ,Object> userData) {
         return RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .pathParam("id", userId)
                 .body(userData)
                 .put(Endpoints.UPDATE_USER);
@@ -138,22 +259,129 @@ public class UserServiceHelper {
     public Response patchUser(String userId, Map<String ,  Object > patchData) {
         return RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .pathParam("id", userId)
                 .body(patchData)
                 .put(Endpoints.UPDATE_USER);
     }
 
     public Response deleteUser(String userId) {
-        return RestAssured.given()
+        Response response = RestAssured.given()
                 .contentType(ContentType.JSON)
-                .header("Authorization", "Bearer " + authToken)
+                .header("Authorization", "Bearer " + token())
                 .pathParam("id", userId)
                 .delete(Endpoints.DELETE_USER);
+        if (LEDGER) {
+            recordDeleted(userId, response.getStatusCode());
+        }
+        return response;
     }
 
 
+    // Bulk operations, one request for up to Endpoints.MAX_BULK_ITEMS users.
+    // users are User objects or maps of their fields (with the id for an update).
+    public Response bulkCreateUsers(List<?> users) {
+        return recordCreatedUsers(RestAssured.given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + token())
+                .body(Collections.singletonMap("users", users))
+                .post(Endpoints.BULK_CREATE_USERS));
+    }
+
+    public Response bulkUpdateUsers(List<?> users) {
+        return RestAssured.given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + token())
+                .body(Collections.singletonMap("users", users))
+                .put(Endpoints.BULK_UPDATE_USERS);
+    }
+
+    public Response bulkDeleteUsers(Collection<String> userIds) {
+        Response response = RestAssured.given()
+                .contentType(ContentType.JSON)
+                .header("Authorization", "Bearer " + token())
+                .body(Collections.singletonMap("ids", userIds))
+                .delete(Endpoints.BULK_DELETE_USERS);
+        if (LEDGER && response.getStatusCode() == 200) {
+            // one result per id, in request order
+            Iterator<String> ids = userIds.iterator();
+            for (BulkResult.Item item : BulkResult.read(response.asByteArray()).getResults()) {
+                recordDeleted(ids.next(), item.getStatus());
+            }
+        }
+        return response;
+    }
+
+    // Any number of users, sent bulk.chunk.size at a time. Chunks go one after the other, the backend
+    // rewrites its data file per request and parallel requests would overwrite each other's changes.
+    // Per-user failures are in the result, a chunk that is rejected as a whole throws.
+    public BulkResult createUsers(List<?> users) {
+        return inChunks(users, this::bulkCreateUsers);
+    }
+
+    public BulkResult updateUsers(List<?> users) {
+        return inChunks(users, this::bulkUpdateUsers);
+    }
+
+    public BulkResult deleteUsers(List<String> userIds) {
+        return inChunks(userIds, this::bulkDeleteUsers);
+    }
+
+    private static <T> BulkResult inChunks(List<T> items, Function<List<T>, Response> send) {
+        BulkResult result = new BulkResult();
+        for (int from = 0; from < items.size(); from += BULK_CHUNK) {
+            List<T> chunk = new ArrayList<>(items.subList(from, Math.min(items.size(), from + BULK_CHUNK)));
+            Response response = send.apply(chunk);
+            if (response.getStatusCode() != 200) {
+                throw new IllegalStateException("Bulk request for users " + from + " to " + (from + chunk.size() - 1)
+                        + " failed: " + response.getStatusCode() + " " + response.asString());
+            }
+            result.addAll(BulkResult.read(response.asByteArray()));
+        }
+        return result;
+    }
+
     // Utility methods
+
+    // Every user created goes into the ledger.file ledger when one is configured
+    private static Response recordCreated(Response response) {
+        if (LEDGER && response.getStatusCode() == 201) {
+            CreatedUserLedger.shared().appendUser(response.asByteArray());
+        }
+        return response;
+    }
+
+    private static Response recordCreatedUsers(Response response) {
+        if (LEDGER && response.getStatusCode() == 200) {
+            for (User user : BulkResult.read(response.asByteArray()).getUsers()) {
+                CreatedUserLedger.shared().append(user.getId(), user.getEmail());
+            }
+        }
+        return response;
+    }
+
+    // A user that is gone (deleted now, or already by someone else) no longer needs a sweep
+    private static void recordDeleted(String userId, int status) {
+        if (status != 200 && status != 404) {
+            return;
+        }
+        if (userId != null) {
+            // the ledger indexes the ids it appended, off the heap
+            CreatedUserLedger.shared().markDeleted(userId);
+        }
+    }
+
+    // Sends this helper's requests with token instead of the token shared by all helpers,
+    // for callers working next to tests that swap the shared token (e.g. UserFixturePool)
+    public UserServiceHelper useOwnToken(String token) {
+        this.ownToken = token;
+        return this;
+    }
+
+    private String token() {
+        return ownToken != null ? ownToken : authToken;
+    }
+
     public void setAuthToken(String token) {
         UserServiceHelper.authToken = token;
     }
@@ -0,0 +1,422 @@
+package com.sowmya.api.ledger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserJson;
+
+// Append-only file of every user created through UserServiceHelper (ledger.file), so a load run can
+// verify and clean up millions of users without keeping their ids on the heap, even after a crash.
+// Layout: a 128 byte header ("UML2", record size), then fixed 128 byte records:
+//   state (0 empty, 1 created, 2 deleted), id length, email length, flags (1 = email truncated),
+//   id (40 bytes), email (76 bytes), UTF-8, and the time of the append (epoch millis, 8 bytes),
+//   so a sweep can leave the users of runs still in progress alone.
+// The file is mapped in 64 MB segments, sparse, so only written pages take disk space. A record is
+// written first and its state byte last, so a record torn by a crash stays empty and is skipped.
+// One file per JVM: records are numbered by an in-memory counter, so forks of ForkedSuiteLauncher
+// (schedule.fork=n) write ledger.file.fork-n instead of sharing ledger.file.
+public final class CreatedUserLedger implements Closeable {
+
+    public static final int RECORD_BYTES = 128;
+    public static final int ID_BYTES = 40;
+    public static final int EMAIL_BYTES = 76;
+
+    private static final byte[] MAGIC = { 'U', 'M', 'L', '2' };
+    private static final int SEGMENT_SHIFT = 19;
+    private static final long SEGMENT_RECORDS = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_BYTES = SEGMENT_RECORDS * RECORD_BYTES;
+    private static final byte EMPTY = 0;
+    private static final byte CREATED = 1;
+    private static final byte DELETED = 2;
+    private static final byte EMAIL_TRUNCATED = 1;
+    private static final int ID_OFFSET = 4;
+    private static final int EMAIL_OFFSET = ID_OFFSET + ID_BYTES;
+    private static final int CREATED_AT_OFFSET = EMAIL_OFFSET + EMAIL_BYTES;
+    private static final int INDEX_SLOTS = 1 << 12;
+    private static final String FORK_SUFFIX = ".fork-";
+
+    private final Path file;
+    private final FileChannel channel;
+    // the header takes the place of record -1, so record n starts at (n + 1) * RECORD_BYTES
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    // id -> record + 1 of the users appended by this JVM, open addressing over 8 byte slots in a direct
+    // buffer, so finding the record of a deleted user costs no heap per user; 0 is a free slot
+    private ByteBuffer index = ByteBuffer.allocateDirect(INDEX_SLOTS * 8);
+    private int indexed;
+
+    private CreatedUserLedger(Path file) throws IOException {
+        this.file = file;
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = channel.size();
+        MappedByteBuffer first = segment(0);
+        if (size == 0) {
+            for (int i = 0; i < MAGIC.length; i++) {
+                first.put(i, MAGIC[i]);
+            }
+            first.putInt(MAGIC.length, RECORD_BYTES);
+        } else {
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (first.get(i) != MAGIC[i]) {
+                    // UML1 files have no append times, start a new ledger for them
+                    throw new IOException("Not a created user ledger of this version: " + file);
+                }
+            }
+            if (first.getInt(MAGIC.length) != RECORD_BYTES) {
+                throw new IOException("Unsupported ledger record size in " + file);
+            }
+            next.set(recover(size));
+        }
+    }
+
+    public static CreatedUserLedger open(Path file) {
+        try {
+            return new CreatedUserLedger(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to open ledger " + file, e);
+        }
+    }
+
+    private static class Holder {
+        private static final CreatedUserLedger SHARED = openShared();
+
+        private static CreatedUserLedger openShared() {
+            CreatedUserLedger ledger = open(sharedFile());
+            Runtime.getRuntime().addShutdownHook(new Thread(ledger::close));
+            System.out.println("Recording created users in " + ledger.file + ", " + ledger.count()
+                    + " users from earlier runs");
+            return ledger;
+        }
+    }
+
+    // Ledger at ledger.file, opened on first use and kept until the JVM exits
+    public static CreatedUserLedger shared() {
+        return Holder.SHARED;
+    }
+
+    // ledger.file, or its fork-n sibling in fork n of a forked run
+    public static Path sharedFile() {
+        String file = ConfigManager.getInstance().getProperty("ledger.file", "");
+        String fork = System.getProperty("schedule.fork");
+        return Paths.get(fork == null ? file : file + FORK_SUFFIX + fork);
+    }
+
+    // Ledgers left by the forks of earlier forked runs, next to ledger.file
+    public static List<Path> forkFiles() {
+        Path file = Paths.get(ConfigManager.getInstance().getProperty("ledger.file", "")).toAbsolutePath();
+        List<Path> forks = new ArrayList<>();
+        if (file.getParent() == null || !Files.isDirectory(file.getParent())) {
+            return forks;
+        }
+        String prefix = file.getFileName() + FORK_SUFFIX;
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            siblings.filter(path -> path.getFileName().toString().startsWith(prefix)).sorted().forEach(forks::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to list the fork ledgers of " + file, e);
+        }
+        return forks;
+    }
+
+    public static boolean isEnabled() {
+        return !ConfigManager.getInstance().getProperty("ledger.file", "").isEmpty();
+    }
+
+    // Records the user in a create response body, returns its record number or -1 if it has no id
+    public long appendUser(byte[] json) {
+        String id = null;
+        String email = null;
+        try (JsonParser parser = UserJson.mapper().getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return -1;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.VALUE_STRING && field.equals("id")) {
+                    id = parser.getText();
+                } else if (value == JsonToken.VALUE_STRING && field.equals("email")) {
+                    email = parser.getText();
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            return -1;
+        }
+        return id == null ? -1 : append(id, email == null ? "" : email);
+    }
+
+    public long append(String id, String email) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        if (idBytes.length > ID_BYTES) {
+            // can't be cleaned up by a cut id, count it instead of writing a useless record
+            skipped.incrementAndGet();
+            return -1;
+        }
+        byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+        boolean truncated = emailBytes.length > EMAIL_BYTES;
+        long record = next.getAndIncrement();
+        MappedByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        segment.put(offset + 1, (byte) idBytes.length);
+        segment.put(offset + 2, (byte) Math.min(emailBytes.length, EMAIL_BYTES));
+        segment.put(offset + 3, truncated ? EMAIL_TRUNCATED : 0);
+        put(segment, offset + ID_OFFSET, idBytes, idBytes.length);
+        put(segment, offset + EMAIL_OFFSET, emailBytes, Math.min(emailBytes.length, EMAIL_BYTES));
+        segment.putLong(offset + CREATED_AT_OFFSET, System.currentTimeMillis());
+        segment.put(offset, CREATED);
+        index(record, idBytes);
+        return record;
+    }
+
+    public void markDeleted(long record) {
+        checkRecord(record);
+        segmentOf(record).put(offsetOf(record), DELETED);
+    }
+
+    // Marks the live record of id deleted, false if this JVM appended none
+    public boolean markDeleted(String id) {
+        long record = find(id);
+        if (record < 0) {
+            return false;
+        }
+        markDeleted(record);
+        return true;
+    }
+
+    // The live record this JVM appended for id, or -1
+    public synchronized long find(String id) {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int mask = index.capacity() / 8 - 1;
+        for (int slot = hash(idBytes, idBytes.length) & mask; ; slot = (slot + 1) & mask) {
+            long record = index.getLong(slot * 8) - 1;
+            if (record < 0) {
+                return -1;
+            }
+            if (hasId(record, idBytes) && isLive(record)) {
+                return record;
+            }
+        }
+    }
+
+    // Records handed out so far, including torn and deleted ones
+    public long size() {
+        return next.get();
+    }
+
+    // Users recorded and not marked deleted
+    public long count() {
+        long live = 0;
+        for (long record = 0, end = size(); record < end; record++) {
+            if (isLive(record)) {
+                live++;
+            }
+        }
+        return live;
+    }
+
+    // Ids too long for a record
+    public long getSkipped() {
+        return skipped.get();
+    }
+
+    public boolean isLive(long record) {
+        checkRecord(record);
+        return segmentOf(record).get(offsetOf(record)) == CREATED;
+    }
+
+    public boolean isDeleted(long record) {
+        checkRecord(record);
+        return segmentOf(record).get(offsetOf(record)) == DELETED;
+    }
+
+    public String getId(long record) {
+        checkRecord(record);
+        MappedByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        return read(segment, offset + ID_OFFSET, segment.get(offset + 1));
+    }
+
+    // The email as recorded, the first EMAIL_BYTES bytes when isEmailTruncated()
+    public String getEmail(long record) {
+        checkRecord(record);
+        MappedByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        return read(segment, offset + EMAIL_OFFSET, segment.get(offset + 2));
+    }
+
+    // When the record was appended, epoch millis
+    public long getCreatedAtMillis(long record) {
+        checkRecord(record);
+        return segmentOf(record).getLong(offsetOf(record) + CREATED_AT_OFFSET);
+    }
+
+    public boolean isEmailTruncated(long record) {
+        checkRecord(record);
+        return (segmentOf(record).get(offsetOf(record) + 3) & EMAIL_TRUNCATED) != 0;
+    }
+
+    // Writes the mapped pages to disk, the OS does it anyway unless the machine itself goes down
+    public void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!channel.isOpen()) {
+            return;
+        }
+        force();
+        try {
+            // the mappings stay valid, so late appends during shutdown still land in the file
+            channel.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close ledger " + file + ":" + e.getMessage());
+        }
+    }
+
+    private synchronized void index(long record, byte[] idBytes) {
+        if ((indexed + 1) * 4L > index.capacity() / 8 * 3L) {
+            // past 3/4 full, rehash into twice the slots from the ids in the records
+            ByteBuffer old = index;
+            index = ByteBuffer.allocateDirect(old.capacity() * 2);
+            for (int slot = 0; slot < old.capacity() / 8; slot++) {
+                long indexedRecord = old.getLong(slot * 8) - 1;
+                if (indexedRecord >= 0) {
+                    byte[] id = idOf(indexedRecord);
+                    insert(indexedRecord, hash(id, id.length));
+                }
+            }
+        }
+        insert(record, hash(idBytes, idBytes.length));
+        indexed++;
+    }
+
+    private void insert(long record, int hash) {
+        int mask = index.capacity() / 8 - 1;
+        int slot = hash & mask;
+        while (index.getLong(slot * 8) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index.putLong(slot * 8, record + 1);
+    }
+
+    private byte[] idOf(long record) {
+        MappedByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        byte[] bytes = new byte[segment.get(offset + 1) & 0xFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = segment.get(offset + ID_OFFSET + i);
+        }
+        return bytes;
+    }
+
+    private boolean hasId(long record, byte[] idBytes) {
+        MappedByteBuffer segment = segmentOf(record);
+        int offset = offsetOf(record);
+        if ((segment.get(offset + 1) & 0xFF) != idBytes.length) {
+            return false;
+        }
+        for (int i = 0; i < idBytes.length; i++) {
+            if (segment.get(offset + ID_OFFSET + i) != idBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a
+    private static int hash(byte[] bytes, int length) {
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (bytes[i] & 0xFF)) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    // The record after the last written one, torn or never written records before it stay empty
+    private long recover(long fileBytes) throws IOException {
+        long records = fileBytes / RECORD_BYTES - 1;
+        for (long record = records - 1; record >= 0; record--) {
+            if (segmentOf(record).get(offsetOf(record)) != EMPTY) {
+                return record + 1;
+            }
+        }
+        return 0;
+    }
+
+    private MappedByteBuffer segmentOf(long record) {
+        int index = (int) ((record + 1) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] mapped = segments;
+        if (index < mapped.length) {
+            return mapped[index];
+        }
+        try {
+            return segment(index);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to grow ledger " + file, e);
+        }
+    }
+
+    private static int offsetOf(long record) {
+        return (int) (((record + 1) & (SEGMENT_RECORDS - 1)) * RECORD_BYTES);
+    }
+
+    private synchronized MappedByteBuffer segment(int index) throws IOException {
+        MappedByteBuffer[] mapped = segments;
+        if (index < mapped.length) {
+            return mapped[index];
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(mapped, index + 1);
+        for (int i = mapped.length; i <= index; i++) {
+            // mapping past the end extends the file with zeros, i.e. empty records
+            grown[i] = channel.map(FileChannel.MapMode.READ_WRITE, i * SEGMENT_BYTES, SEGMENT_BYTES);
+        }
+        segments = grown;
+        return grown[index];
+    }
+
+    private void checkRecord(long record) {
+        if (record < 0 || record >= next.get()) {
+            throw new IndexOutOfBoundsException("No ledger record " + record + ", size " + next.get());
+        }
+    }
+
+    private static void put(MappedByteBuffer segment, int offset, byte[] bytes, int length) {
+        for (int i = 0; i < length; i++) {
+            segment.put(offset + i, bytes[i]);
+        }
+    }
+
+    private static String read(MappedByteBuffer segment, int offset, byte length) {
+        byte[] bytes = new byte[length & 0xFF];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = segment.get(offset + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
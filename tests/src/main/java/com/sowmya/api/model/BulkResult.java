@@ -0,0 +1,96 @@
+package com.sowmya.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sowmya.api.utils.UserJson;
+
+// Answer of a bulk endpoint: one Item per user or id sent, in request order, with the status and body
+// the single-user route would have answered. Results of several chunks are merged with addAll().
+public class BulkResult {
+
+    private List<Item> results = new ArrayList<>();
+    private int succeeded;
+    private int failed;
+
+    public static BulkResult read(byte[] json) {
+        return UserJson.readBulkResult(json);
+    }
+
+    public BulkResult addAll(BulkResult other) {
+        results.addAll(other.results);
+        succeeded += other.succeeded;
+        failed += other.failed;
+        return this;
+    }
+
+    public List<Item> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Item> results) {
+        this.results = results;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    // The users of the items that succeeded, in request order
+    public List<User> getUsers() {
+        List<User> users = new ArrayList<>();
+        for (Item item : results) {
+            if (item.isSucceeded()) {
+                users.add(item.getUser());
+            }
+        }
+        return users;
+    }
+
+    public static class Item {
+
+        private int status;
+        private User user;
+        private String error;
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public void setUser(User user) {
+            this.user = user;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+
+        public boolean isSucceeded() {
+            return status >= 200 && status < 300;
+        }
+    }
+}
@@ -1,108 +1,99 @@
 package com.sowmya.api.model;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import com.fasterxml.jackson.annotation.JsonAnyGetter;
-import com.fasterxml.jackson.annotation.JsonAnySetter;
-import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-
-@JsonInclude(JsonInclude.Include.NON_NULL)
-@JsonPropertyOrder({
-"id",
-"name",
-"email",
-"age",
-"createdAt",
-"updatedAt"
-})
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+// Field order and null handling on the wire are owned by UserSerializer / UserDeserializer,
+// so the model itself carries no per-field annotations.
+@JsonSerialize(using = UserSerializer.class)
+@JsonDeserialize(using = UserDeserializer.class)
 public class User {
 
-@JsonProperty("id")
+private static final int NO_AGE = Integer.MIN_VALUE;
+
 private String id;
-@JsonProperty("name")
 private String name;
-@JsonProperty("email")
 private String email;
-@JsonProperty("age")
-private Object age;
-@JsonProperty("createdAt")
+// primitive age, NO_AGE marks an absent (or null) age
+private int age = NO_AGE;
 private String createdAt;
-@JsonProperty("updatedAt")
 private String updatedAt;
-@JsonIgnore
-private Map<String, Object> additionalProperties = new LinkedHashMap<String, Object>();
+// only allocated when the payload carries fields we don't model
+private Map<String, Object> additionalProperties;
 
-@JsonProperty("id")
 public String getId() {
 return id;
 }
 
-@JsonProperty("id")
 public void setId(String id) {
 this.id = id;
 }
 
-@JsonProperty("name")
 public String getName() {
 return name;
 }
 
-@JsonProperty("name")
 public void setName(String name) {
 this.name = name;
 }
 
-@JsonProperty("email")
 public String getEmail() {
 return email;
 }
 
-@JsonProperty("email")
 public void setEmail(String email) {
 this.email = email;
 }
 
-@JsonProperty("age")
-public Object getAge() {
-return age;
+public Integer getAge() {
+return age == NO_AGE ? null : age;
+}
+
+public void setAge(Integer age) {
+this.age = age == null ? NO_AGE : age;
 }
 
-@JsonProperty("age")
-public void setAge(Object age) {
-this.age = age;
+public boolean hasAge() {
+return age != NO_AGE;
+}
+
+// Raw accessor for hot paths, only meaningful when hasAge() is true
+public int getAgeValue() {
+return age;
 }
 
-@JsonProperty("createdAt")
 public String getCreatedAt() {
 return createdAt;
 }
 
-@JsonProperty("createdAt")
 public void setCreatedAt(String createdAt) {
 this.createdAt = createdAt;
 }
 
-@JsonProperty("updatedAt")
 public String getUpdatedAt() {
 return updatedAt;
 }
 
-@JsonProperty("updatedAt")
 public void setUpdatedAt(String updatedAt) {
 this.updatedAt = updatedAt;
 }
 
-@JsonAnyGetter
 public Map<String, Object> getAdditionalProperties() {
+if (additionalProperties == null) {
+return Collections.emptyMap();
+}
 return this.additionalProperties;
 }
 
-@JsonAnySetter
 public void setAdditionalProperty(String name, Object value) {
+if (additionalProperties == null) {
+additionalProperties = new LinkedHashMap<String, Object>(4);
+}
 this.additionalProperties.put(name, value);
 }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,91 @@
+package com.sowmya.api.model;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+// Streaming deserializer for User, avoids the reflective bean path for every field.
+// Unknown fields are kept in the (lazily created) additional properties map.
+public class UserDeserializer extends StdDeserializer<User> {
+
+    private static final long serialVersionUID = 1L;
+
+    public UserDeserializer() {
+        super(User.class);
+    }
+
+    @Override
+    public User deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+        if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (User) ctxt.handleUnexpectedToken(User.class, p);
+        }
+
+        User user = new User();
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.currentName();
+            JsonToken value = p.nextToken();
+            switch (field) {
+                case "id":
+                    user.setId(readString(p, value));
+                    break;
+                case "name":
+                    user.setName(readString(p, value));
+                    break;
+                case "email":
+                    user.setEmail(readString(p, value));
+                    break;
+                case "age":
+                    user.setAge(readAge(p, value, ctxt));
+                    break;
+                case "createdAt":
+                    user.setCreatedAt(readString(p, value));
+                    break;
+                case "updatedAt":
+                    user.setUpdatedAt(readString(p, value));
+                    break;
+                default:
+                    user.setAdditionalProperty(field, value == JsonToken.VALUE_NULL
+                            ? null
+                            : ctxt.readValue(p, Object.class));
+                    break;
+            }
+        }
+        return user;
+    }
+
+    private static String readString(JsonParser p, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : p.getValueAsString();
+    }
+
+    private static Integer readAge(JsonParser p, JsonToken value, DeserializationContext ctxt) throws IOException {
+        switch (value) {
+            case VALUE_NULL:
+                return null;
+            case VALUE_NUMBER_INT:
+                return p.getIntValue();
+            case VALUE_NUMBER_FLOAT:
+                double age = p.getDoubleValue();
+                if (age == Math.rint(age)) {
+                    return (int) age;
+                }
+                break;
+            case VALUE_STRING:
+                try {
+                    return Integer.valueOf(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    // fall through to the mismatch below
+                }
+                break;
+            default:
+                break;
+        }
+        return (Integer) ctxt.handleUnexpectedToken(Integer.class, p);
+    }
+}
@@ -0,0 +1,46 @@
+package com.sowmya.api.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sowmya.api.utils.UserJson;
+
+// One page of a paged GET /api/users, nextCursor is null on the last page
+public class UserPage {
+
+    private List<User> users = new ArrayList<>();
+    private String nextCursor;
+    private int limit;
+
+    public static UserPage read(byte[] json) {
+        return UserJson.readPage(json);
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<User> users) {
+        this.users = users;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+}
@@ -0,0 +1,75 @@
+package com.sowmya.api.model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.sowmya.api.constants.Endpoints;
+
+// Filters, sort order and page size of a paged GET /api/users.
+// Prefixes match name / email case-insensitively, an age range leaves out users without an age.
+// Users are sorted by sortBy (id by default), then by id, and those without the field come last.
+public class UserQuery {
+
+    public static final String SORT_ID = "id";
+    public static final String SORT_NAME = "name";
+    public static final String SORT_EMAIL = "email";
+    public static final String SORT_AGE = "age";
+    public static final String SORT_CREATED_AT = "createdAt";
+
+    private int limit = Endpoints.DEFAULT_PAGE_LIMIT;
+    private String sort;
+    private String namePrefix;
+    private String emailPrefix;
+    private Integer minAge;
+    private Integer maxAge;
+
+    public UserQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    public UserQuery sortBy(String sort) {
+        this.sort = sort;
+        return this;
+    }
+
+    public UserQuery namePrefix(String namePrefix) {
+        this.namePrefix = namePrefix;
+        return this;
+    }
+
+    public UserQuery emailPrefix(String emailPrefix) {
+        this.emailPrefix = emailPrefix;
+        return this;
+    }
+
+    public UserQuery ageBetween(int minAge, int maxAge) {
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        return this;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    // Query parameters of the page after cursor (null for the first page), limit is always sent so the
+    // answer is a page even without filters
+    public Map<String, Object> toQueryParams(String cursor) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put(Endpoints.PAGE_LIMIT, limit);
+        putIfSet(params, Endpoints.PAGE_SORT, sort);
+        putIfSet(params, Endpoints.FILTER_NAME_PREFIX, namePrefix);
+        putIfSet(params, Endpoints.FILTER_EMAIL_PREFIX, emailPrefix);
+        putIfSet(params, Endpoints.FILTER_MIN_AGE, minAge);
+        putIfSet(params, Endpoints.FILTER_MAX_AGE, maxAge);
+        putIfSet(params, Endpoints.PAGE_CURSOR, cursor);
+        return params;
+    }
+
+    private static void putIfSet(Map<String, Object> params, String name, Object value) {
+        if (value != null) {
+            params.put(name, value);
+        }
+    }
+}
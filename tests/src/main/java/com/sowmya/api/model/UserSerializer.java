@@ -0,0 +1,51 @@
+package com.sowmya.api.model;
+
+import java.io.IOException;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+// Hand written serializer for User. Writes the same JSON the annotated bean used to produce:
+// id, name, email, age, createdAt, updatedAt in that order, null fields skipped,
+// followed by any additional properties. A name that isn't a string (kept as an additional property
+// "name", see UserApi) is written in the place of the name.
+public class UserSerializer extends StdSerializer<User> {
+
+    private static final long serialVersionUID = 1L;
+
+    public UserSerializer() {
+        super(User.class);
+    }
+
+    @Override
+    public void serialize(User user, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        writeField(gen, "id", user.getId());
+        Map<String, Object> extras = user.getAdditionalProperties();
+        if (user.getName() == null && extras.get("name") != null) {
+            provider.defaultSerializeField("name", extras.get("name"), gen);
+        } else {
+            writeField(gen, "name", user.getName());
+        }
+        writeField(gen, "email", user.getEmail());
+        if (user.hasAge()) {
+            gen.writeNumberField("age", user.getAgeValue());
+        }
+        writeField(gen, "createdAt", user.getCreatedAt());
+        writeField(gen, "updatedAt", user.getUpdatedAt());
+        for (Map.Entry<String, Object> entry : extras.entrySet()) {
+            if (!entry.getKey().equals("name")) {
+                provider.defaultSerializeField(entry.getKey(), entry.getValue(), gen);
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    private static void writeField(JsonGenerator gen, String name, String value) throws IOException {
+        if (value != null) {
+            gen.writeStringField(name, value);
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.sowmya.api.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+// Read only, column-wise copy of the GET /api/users list.
+// Every user is a row; each field lives in its own array so a snapshot of a huge list costs
+// a handful of arrays instead of one object graph per user. Lookups by id and email go through
+// open addressing hash tables, age and updatedAt range queries through sorted row indexes.
+public final class UserSnapshot {
+
+    public static final int NO_AGE = Integer.MIN_VALUE;
+    public static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final int[] NO_ROWS = new int[0];
+
+    private final int size;
+    private final String[] ids;
+    private final String[] names;
+    private final String[] emails;
+    private final int[] ages;
+    private final long[] createdAt;
+    private final long[] updatedAt;
+    // the timestamps exactly as the API sent them, getUser() hands these back
+    private final String[] createdAtText;
+    private final String[] updatedAtText;
+
+    // hash tables store row + 1, 0 marks an empty slot
+    private final int[] idTable;
+    private final int[] emailTable;
+
+    // rows sorted by age (only rows that have an age) and by updatedAt
+    private final int[] rowsByAge;
+    private final int[] rowsByUpdatedAt;
+
+    private UserSnapshot(Builder builder) {
+        this.size = builder.size;
+        this.ids = Arrays.copyOf(builder.ids, size);
+        this.names = Arrays.copyOf(builder.names, size);
+        this.emails = Arrays.copyOf(builder.emails, size);
+        this.ages = Arrays.copyOf(builder.ages, size);
+        this.createdAt = Arrays.copyOf(builder.createdAt, size);
+        this.updatedAt = Arrays.copyOf(builder.updatedAt, size);
+        this.createdAtText = Arrays.copyOf(builder.createdAtText, size);
+        this.updatedAtText = Arrays.copyOf(builder.updatedAtText, size);
+        this.idTable = buildHashTable(ids);
+        this.emailTable = buildHashTable(emails);
+        this.rowsByAge = sortedRows(widenAges(ages));
+        this.rowsByUpdatedAt = sortedRows(updatedAt);
+    }
+
+    public static UserSnapshot from(List<User> users) {
+        Builder builder = new Builder(users.size());
+        for (User user : users) {
+            builder.add(user.getId(), user.getName(), user.getEmail(),
+                    user.hasAge() ? user.getAgeValue() : NO_AGE,
+                    user.getCreatedAt(), user.getUpdatedAt());
+        }
+        return builder.build();
+    }
+
+    public static UserSnapshot read(byte[] json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    public static UserSnapshot read(InputStream json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return read(parser);
+        }
+    }
+
+    // Streams the array straight into the columns, no User objects are created
+    private static UserSnapshot read(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of users");
+        }
+        Builder builder = new Builder(256);
+        for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+            if (token != JsonToken.START_OBJECT) {
+                // a truncated or mixed array must not pass for a shorter user list
+                throw new IOException("Expected a user object in the array but got " + token);
+            }
+            String id = null;
+            String name = null;
+            String email = null;
+            int age = NO_AGE;
+            String created = null;
+            String updated = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (value == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "id":
+                        id = parser.getValueAsString();
+                        break;
+                    case "name":
+                        name = parser.getValueAsString();
+                        break;
+                    case "email":
+                        email = parser.getValueAsString();
+                        break;
+                    case "age":
+                        age = parser.getValueAsInt(NO_AGE);
+                        break;
+                    case "createdAt":
+                        created = parser.getValueAsString();
+                        break;
+                    case "updatedAt":
+                        updated = parser.getValueAsString();
+                        break;
+                    default:
+                        break;
+                }
+            }
+            builder.add(id, name, email, age, created, updated);
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int indexOfId(String id) {
+        return lookup(idTable, ids, id);
+    }
+
+    public int indexOfEmail(String email) {
+        return lookup(emailTable, emails, email);
+    }
+
+    public boolean containsId(String id) {
+        return indexOfId(id) >= 0;
+    }
+
+    public boolean containsEmail(String email) {
+        return indexOfEmail(email) >= 0;
+    }
+
+    public String getId(int row) {
+        return ids[row];
+    }
+
+    public String getName(int row) {
+        return names[row];
+    }
+
+    public String getEmail(int row) {
+        return emails[row];
+    }
+
+    public Integer getAge(int row) {
+        return ages[row] == NO_AGE ? null : ages[row];
+    }
+
+    public long getCreatedAtMillis(int row) {
+        return createdAt[row];
+    }
+
+    public long getUpdatedAtMillis(int row) {
+        return updatedAt[row];
+    }
+
+    // Materialises a single row as a User, for assertions that want the usual model
+    public User getUser(int row) {
+        User user = new User();
+        user.setId(ids[row]);
+        user.setName(names[row]);
+        user.setEmail(emails[row]);
+        user.setAge(getAge(row));
+        user.setCreatedAt(createdAtText[row]);
+        user.setUpdatedAt(updatedAtText[row]);
+        return user;
+    }
+
+    public User findById(String id) {
+        int row = indexOfId(id);
+        return row < 0 ? null : getUser(row);
+    }
+
+    public User findByEmail(String email) {
+        int row = indexOfEmail(email);
+        return row < 0 ? null : getUser(row);
+    }
+
+    // Rows whose age is within [minAge, maxAge], ordered by age
+    public int[] rowsWithAgeBetween(int minAge, int maxAge) {
+        int from = lowerBound(rowsByAge, ages, minAge);
+        int to = lowerBound(rowsByAge, ages, (long) maxAge + 1);
+        return from >= to ? NO_ROWS : Arrays.copyOfRange(rowsByAge, from, to);
+    }
+
+    public int countWithAgeBetween(int minAge, int maxAge) {
+        int from = lowerBound(rowsByAge, ages, minAge);
+        int to = lowerBound(rowsByAge, ages, (long) maxAge + 1);
+        return Math.max(0, to - from);
+    }
+
+    // Rows whose updatedAt is within [from, to], ordered by updatedAt
+    public int[] rowsUpdatedBetween(Instant from, Instant to) {
+        return range(rowsByUpdatedAt, updatedAt, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    public int countUpdatedBetween(Instant from, Instant to) {
+        return rangeCount(rowsByUpdatedAt, updatedAt, from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    private static int lookup(int[] table, String[] column, String key) {
+        if (key == null || table.length == 0) {
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = mix(key.hashCode()) & mask; table[slot] != 0; slot = (slot + 1) & mask) {
+            int row = table[slot] - 1;
+            if (key.equals(column[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    // Keeps the first row for a duplicated key, like a find() over the list would
+    private static int[] buildHashTable(String[] column) {
+        int capacity = Integer.highestOneBit(Math.max(2, column.length * 2 - 1)) << 1;
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int row = 0; row < column.length; row++) {
+            String key = column[row];
+            if (key == null) {
+                continue;
+            }
+            int slot = mix(key.hashCode()) & mask;
+            while (table[slot] != 0 && !key.equals(column[table[slot] - 1])) {
+                slot = (slot + 1) & mask;
+            }
+            if (table[slot] == 0) {
+                table[slot] = row + 1;
+            }
+        }
+        return table;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    // Sorted row index over the keys, rows without a value are left out
+    private static int[] sortedRows(long[] keys) {
+        int count = 0;
+        for (long key : keys) {
+            if (key != NO_TIMESTAMP) {
+                count++;
+            }
+        }
+        int[] rows = new int[count];
+        int next = 0;
+        for (int row = 0; row < keys.length; row++) {
+            if (keys[row] != NO_TIMESTAMP) {
+                rows[next++] = row;
+            }
+        }
+        mergeSort(rows, new int[count], 0, count, keys);
+        return rows;
+    }
+
+    private static void mergeSort(int[] rows, int[] buffer, int from, int to, long[] keys) {
+        if (to - from < 2) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        mergeSort(rows, buffer, from, mid, keys);
+        mergeSort(rows, buffer, mid, to, keys);
+        if (keys[rows[mid - 1]] <= keys[rows[mid]]) {
+            return;
+        }
+        System.arraycopy(rows, from, buffer, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && keys[buffer[left]] <= keys[buffer[right]])) {
+                rows[i] = buffer[left++];
+            } else {
+                rows[i] = buffer[right++];
+            }
+        }
+    }
+
+    private static int[] range(int[] sortedRows, long[] keys, long min, long max) {
+        int from = lowerBound(sortedRows, keys, min);
+        int to = lowerBound(sortedRows, keys, max == Long.MAX_VALUE ? max : max + 1);
+        return from >= to ? NO_ROWS : Arrays.copyOfRange(sortedRows, from, to);
+    }
+
+    private static int rangeCount(int[] sortedRows, long[] keys, long min, long max) {
+        int from = lowerBound(sortedRows, keys, min);
+        int to = lowerBound(sortedRows, keys, max == Long.MAX_VALUE ? max : max + 1);
+        return Math.max(0, to - from);
+    }
+
+    private static int lowerBound(int[] sortedRows, long[] keys, long value) {
+        int low = 0;
+        int high = sortedRows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[sortedRows[mid]] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(int[] sortedRows, int[] keys, long value) {
+        int low = 0;
+        int high = sortedRows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[sortedRows[mid]] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Temporary long keys so ages can share the sort, NO_AGE maps onto the "no value" marker
+    private static long[] widenAges(int[] ages) {
+        long[] keys = new long[ages.length];
+        for (int i = 0; i < ages.length; i++) {
+            keys[i] = ages[i] == NO_AGE ? NO_TIMESTAMP : ages[i];
+        }
+        return keys;
+    }
+
+    private static long parseTimestamp(String value) {
+        if (value == null) {
+            return NO_TIMESTAMP;
+        }
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    // Growable column buffers used while reading
+    private static final class Builder {
+
+        private int size;
+        private String[] ids;
+        private String[] names;
+        private String[] emails;
+        private int[] ages;
+        private long[] createdAt;
+        private long[] updatedAt;
+        private String[] createdAtText;
+        private String[] updatedAtText;
+
+        Builder(int capacity) {
+            capacity = Math.max(capacity, 16);
+            ids = new String[capacity];
+            names = new String[capacity];
+            emails = new String[capacity];
+            ages = new int[capacity];
+            createdAt = new long[capacity];
+            updatedAt = new long[capacity];
+            createdAtText = new String[capacity];
+            updatedAtText = new String[capacity];
+        }
+
+        void add(String id, String name, String email, int age, String created, String updated) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                names = Arrays.copyOf(names, capacity);
+                emails = Arrays.copyOf(emails, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+                createdAtText = Arrays.copyOf(createdAtText, capacity);
+                updatedAtText = Arrays.copyOf(updatedAtText, capacity);
+            }
+            ids[size] = id;
+            names[size] = name;
+            emails[size] = email;
+            ages[size] = age;
+            createdAt[size] = parseTimestamp(created);
+            updatedAt[size] = parseTimestamp(updated);
+            createdAtText[size] = created;
+            updatedAtText[size] = updated;
+            size++;
+        }
+
+        UserSnapshot build() {
+            return new UserSnapshot(this);
+        }
+    }
+}
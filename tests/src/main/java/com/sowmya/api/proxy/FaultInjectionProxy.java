@@ -0,0 +1,450 @@
+package com.sowmya.api.proxy;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sowmya.api.stub.UserApiStubServer;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+// Local HTTP/1.1 proxy that sits between a client and the backend and injects faults per route:
+// latency from a distribution, limited bandwidth, connection resets and error responses (see FaultRule).
+// Every client connection gets its own upstream connection, requests are forwarded as they arrive and
+// upstream responses are read whole before they are (optionally throttled) written back.
+// Point the helper at it with fault.proxy.enabled=true, or run main() and set backend_port to its port.
+public class FaultInjectionProxy {
+
+    private static final byte[] HEAD_END = { '\r', '\n', '\r', '\n' };
+
+    private final String upstreamHost;
+    private final int upstreamPort;
+    private final long seed;
+    private final List<FaultRule> rules;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private volatile boolean running;
+
+    public FaultInjectionProxy(String upstreamHost, int upstreamPort, int listenPort, long seed, List<FaultRule> rules) {
+        this.upstreamHost = upstreamHost;
+        this.upstreamPort = upstreamPort;
+        this.seed = seed;
+        this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+        try {
+            serverSocket = new ServerSocket();
+            serverSocket.setReuseAddress(true);
+            serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), listenPort));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to start the fault injection proxy", e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "fault-proxy-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Proxy described by fault.* config in front of the configured backend (or the stub in stub mode)
+    public static FaultInjectionProxy fromConfig() {
+        ConfigManager manager = ConfigManager.getInstance();
+        TestConfig config = manager.getConfig();
+        String host = URI.create(config.getBaseUrl()).getHost();
+        int port = config.getBackendPort();
+        if (UserApiStubServer.isEnabled()) {
+            host = InetAddress.getLoopbackAddress().getHostAddress();
+            port = UserApiStubServer.shared().getPort();
+        }
+        List<FaultRule> rules = new ArrayList<>();
+        for (String name : manager.getProperty("fault.rules", "").split(",")) {
+            if (!name.trim().isEmpty()) {
+                rules.add(FaultRule.fromConfig(manager, name.trim()));
+            }
+        }
+        return new FaultInjectionProxy(
+                manager.getProperty("fault.upstream.host", host),
+                manager.getInt("fault.upstream.port", port),
+                manager.getInt("fault.proxy.port", 0),
+                manager.getLong("fault.seed", 42),
+                rules);
+    }
+
+    // One proxy per JVM, started on first use
+    private static class Holder {
+        private static final FaultInjectionProxy SHARED = fromConfig().start();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(SHARED::stop, "fault-proxy-stop"));
+        }
+    }
+
+    public static FaultInjectionProxy shared() {
+        return Holder.SHARED;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBoolean("fault.proxy.enabled", false);
+    }
+
+    // Standalone: mvn exec or java -cp ... com.sowmya.api.proxy.FaultInjectionProxy -Dfault.proxy.port=5050
+    public static void main(String[] args) throws InterruptedException {
+        FaultInjectionProxy proxy = fromConfig().start();
+        Runtime.getRuntime().addShutdownHook(new Thread(proxy::stop));
+        Thread.currentThread().join();
+    }
+
+    public FaultInjectionProxy start() {
+        running = true;
+        executor.execute(this::acceptLoop);
+        System.out.println("Fault injection proxy on " + getBaseUrl() + ":" + getPort()
+                + " -> " + upstreamHost + ":" + upstreamPort + ", " + rules.size() + " rules, seed " + seed);
+        return this;
+    }
+
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            System.out.println("Failed to close proxy socket:" + e.getMessage());
+        }
+        executor.shutdownNow();
+        rules.forEach(rule -> System.out.println("Fault rule " + rule));
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + serverSocket.getInetAddress().getHostAddress();
+    }
+
+    public List<FaultRule> getRules() {
+        return rules;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket client = serverSocket.accept();
+                executor.execute(() -> serve(client));
+            } catch (IOException e) {
+                if (running) {
+                    System.out.println("Proxy accept failed:" + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket client) {
+        Socket upstream = null;
+        try {
+            client.setTcpNoDelay(true);
+            InputStream clientIn = new BufferedInputStream(client.getInputStream());
+            OutputStream clientOut = client.getOutputStream();
+            InputStream upstreamIn = null;
+            OutputStream upstreamOut = null;
+
+            while (running) {
+                Head request = Head.read(clientIn);
+                if (request == null) {
+                    return;
+                }
+                byte[] requestBody = readBody(clientIn, request, null);
+
+                FaultRule.Decision decision = decide(request.method(), request.path());
+                sleep(decision.delayMs);
+                if (decision.errorStatus > 0) {
+                    clientOut.write(errorResponse(decision.errorStatus));
+                    clientOut.flush();
+                    continue;
+                }
+                if (decision.reset() && decision.resetAfterBytes < 0) {
+                    reset(client);
+                    return;
+                }
+
+                if (upstream == null || upstream.isClosed()) {
+                    upstream = new Socket(upstreamHost, upstreamPort);
+                    upstream.setTcpNoDelay(true);
+                    upstreamIn = new BufferedInputStream(upstream.getInputStream());
+                    upstreamOut = upstream.getOutputStream();
+                }
+                upstreamOut.write(request.raw);
+                upstreamOut.write(requestBody);
+                upstreamOut.flush();
+
+                Head response = Head.read(upstreamIn);
+                if (response == null) {
+                    clientOut.write(errorResponse(502));
+                    clientOut.flush();
+                    return;
+                }
+                byte[] responseBody = readBody(upstreamIn, response, request.method());
+                byte[] all = concat(response.raw, responseBody);
+
+                if (decision.reset()) {
+                    write(clientOut, all, (int) Math.min(all.length, decision.resetAfterBytes), decision.bytesPerSecond);
+                    reset(client);
+                    return;
+                }
+                write(clientOut, all, all.length, decision.bytesPerSecond);
+
+                if (response.closeDelimited || response.wantsClose()) {
+                    upstream.close();
+                }
+                if (request.wantsClose() || response.closeDelimited) {
+                    // the client can only tell where a body without length ends by the connection closing
+                    return;
+                }
+            }
+        } catch (SocketException e) {
+            // client or upstream went away
+        } catch (IOException e) {
+            System.out.println("Proxy connection failed:" + e.getMessage());
+        } finally {
+            closeQuietly(upstream);
+            closeQuietly(client);
+        }
+    }
+
+    private FaultRule.Decision decide(String method, String path) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matches(method, path)) {
+                return rules.get(i).decide(seed, i);
+            }
+        }
+        return FaultRule.Decision.NONE;
+    }
+
+    // Writes the first length bytes, at most bytesPerSecond fast when that is > 0
+    private static void write(OutputStream out, byte[] data, int length, long bytesPerSecond) throws IOException {
+        if (bytesPerSecond <= 0) {
+            out.write(data, 0, length);
+            out.flush();
+            return;
+        }
+        int chunk = (int) Math.max(1, Math.min(16 * 1024, bytesPerSecond / 20));
+        long start = System.nanoTime();
+        for (int offset = 0; offset < length; offset += chunk) {
+            int size = Math.min(chunk, length - offset);
+            out.write(data, offset, size);
+            out.flush();
+            long due = start + (offset + size) * 1_000_000_000L / bytesPerSecond;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                sleep(wait / 1_000_000L);
+            }
+        }
+    }
+
+    // SO_LINGER 0 makes close() send a TCP RST instead of a FIN
+    private static void reset(Socket socket) throws IOException {
+        socket.setSoLinger(true, 0);
+        socket.close();
+    }
+
+    private static byte[] errorResponse(int status) {
+        byte[] body = ("{\"error\":\"Injected fault " + status + "\"}").getBytes(StandardCharsets.UTF_8);
+        String head = "HTTP/1.1 " + status + " Injected Fault\r\n"
+                + "Content-Type: application/json; charset=utf-8\r\n"
+                + "Content-Length: " + body.length + "\r\n\r\n";
+        return concat(head.getBytes(StandardCharsets.ISO_8859_1), body);
+    }
+
+    // Raw body bytes as framed on the wire, requestMethod is null when reading a request
+    private static byte[] readBody(InputStream in, Head head, String requestMethod) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        if (requestMethod != null && (requestMethod.equals("HEAD") || head.status == 204 || head.status == 304
+                || (head.status >= 100 && head.status < 200))) {
+            return body.toByteArray();
+        }
+        String transferEncoding = head.header("transfer-encoding");
+        if (transferEncoding != null && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+            while (true) {
+                String sizeLine = readLine(in, body);
+                int semicolon = sizeLine.indexOf(';');
+                int size = Integer.parseInt((semicolon < 0 ? sizeLine : sizeLine.substring(0, semicolon)).trim(), 16);
+                if (size == 0) {
+                    // trailers up to the empty line
+                    while (!readLine(in, body).isEmpty()) {
+                        // keep reading
+                    }
+                    return body.toByteArray();
+                }
+                copy(in, body, size + 2);
+            }
+        }
+        String contentLength = head.header("content-length");
+        if (contentLength != null) {
+            copy(in, body, Long.parseLong(contentLength.trim()));
+            return body.toByteArray();
+        }
+        if (requestMethod != null) {
+            // response without length, ends when upstream closes
+            head.closeDelimited = true;
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+        }
+        return body.toByteArray();
+    }
+
+    private static void copy(InputStream in, ByteArrayOutputStream out, long count) throws IOException {
+        byte[] buffer = new byte[8192];
+        long remaining = count;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+            if (read == -1) {
+                throw new IOException("Connection closed in the middle of a body");
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+
+    // Reads one CRLF terminated line, copies it raw to out and returns it without the line end
+    private static String readLine(InputStream in, ByteArrayOutputStream out) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int c;
+        while ((c = in.read()) != -1) {
+            out.write(c);
+            if (c == '\n') {
+                break;
+            }
+            if (c != '\r') {
+                line.write(c);
+            }
+        }
+        if (c == -1) {
+            throw new IOException("Connection closed in the middle of a chunked body");
+        }
+        return new String(line.toByteArray(), StandardCharsets.ISO_8859_1);
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] all = new byte[first.length + second.length];
+        System.arraycopy(first, 0, all, 0, first.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private static void sleep(long ms) {
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // already gone
+            }
+        }
+    }
+
+    // Start line and headers of a request or response, raw bytes kept for forwarding
+    private static final class Head {
+
+        private final byte[] raw;
+        private final String startLine;
+        private final Map<String, String> headers;
+        private final int status;
+        private boolean closeDelimited;
+
+        private Head(byte[] raw, String startLine, Map<String, String> headers) {
+            this.raw = raw;
+            this.startLine = startLine;
+            this.headers = headers;
+            int parsed = -1;
+            if (startLine.startsWith("HTTP/")) {
+                String[] parts = startLine.split(" ", 3);
+                parsed = parts.length > 1 ? Integer.parseInt(parts[1]) : -1;
+            }
+            this.status = parsed;
+        }
+
+        // null when the connection closed before a new message started
+        static Head read(InputStream in) throws IOException {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream();
+            int matched = 0;
+            int c;
+            while (matched < HEAD_END.length && (c = in.read()) != -1) {
+                raw.write(c);
+                matched = c == HEAD_END[matched] ? matched + 1 : (c == '\r' ? 1 : 0);
+            }
+            if (matched < HEAD_END.length) {
+                if (raw.size() == 0) {
+                    return null;
+                }
+                throw new IOException("Connection closed in the middle of a message head");
+            }
+            byte[] bytes = raw.toByteArray();
+            String[] lines = new String(bytes, StandardCharsets.ISO_8859_1).split("\r\n");
+            Map<String, String> headers = new HashMap<>();
+            for (int i = 1; i < lines.length; i++) {
+                int colon = lines[i].indexOf(':');
+                if (colon > 0) {
+                    headers.put(lines[i].substring(0, colon).trim().toLowerCase(Locale.ROOT), lines[i].substring(colon + 1).trim());
+                }
+            }
+            return new Head(bytes, lines[0], headers);
+        }
+
+        String header(String name) {
+            return headers.get(name);
+        }
+
+        String method() {
+            int space = startLine.indexOf(' ');
+            return space < 0 ? startLine : startLine.substring(0, space).toUpperCase(Locale.ROOT);
+        }
+
+        String path() {
+            String[] parts = startLine.split(" ");
+            String target = parts.length > 1 ? parts[1] : "/";
+            if (target.startsWith("http://") || target.startsWith("https://")) {
+                target = URI.create(target).getRawPath();
+            }
+            int query = target.indexOf('?');
+            return query < 0 ? target : target.substring(0, query);
+        }
+
+        boolean wantsClose() {
+            String connection = header("connection");
+            return connection != null && connection.toLowerCase(Locale.ROOT).contains("close");
+        }
+    }
+}
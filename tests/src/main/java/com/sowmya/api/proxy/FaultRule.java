@@ -0,0 +1,197 @@
+package com.sowmya.api.proxy;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Faults the proxy injects for requests matching "METHOD /path", where * matches one path
+// segment, ** any number of them and a * method any method. Setters return the rule for chaining.
+// Every decision comes from a Random seeded with the proxy seed, the rule and the request's position
+// among the requests that matched the rule, so the n-th matching request always gets the same faults.
+public class FaultRule {
+
+    private final String name;
+    private final String method;
+    private final Pattern path;
+
+    private LatencyDistribution latency = LatencyDistribution.NONE;
+    private double spikeRate;
+    private long spikeMs;
+    private long bytesPerSecond;
+    private double resetRate;
+    private long resetAfterBytes = -1;
+    private double errorRate;
+    private int errorStatus = 503;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong delayMs = new AtomicLong();
+
+    public FaultRule(String name, String match) {
+        this.name = name;
+        String[] parts = match.trim().split("\\s+", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Route should look like 'GET /api/users/*', got " + match);
+        }
+        this.method = parts[0].toUpperCase(Locale.ROOT);
+        this.path = Pattern.compile(toRegex(parts[1]));
+    }
+
+    public static FaultRule route(String match) {
+        return new FaultRule(match, match);
+    }
+
+    // fault.rule.<name>.match / latency / latency.spike.rate / latency.spike.ms / bandwidth.kbps /
+    // reset.rate / reset.after.bytes / error.rate / error.status
+    public static FaultRule fromConfig(ConfigManager config, String name) {
+        String prefix = "fault.rule." + name + ".";
+        String match = config.getProperty(prefix + "match", null);
+        if (match == null) {
+            throw new IllegalArgumentException("Missing " + prefix + "match");
+        }
+        return new FaultRule(name, match)
+                .latency(LatencyDistribution.parse(config.getProperty(prefix + "latency", "none")))
+                .spikes(config.getDouble(prefix + "latency.spike.rate", 0), config.getLong(prefix + "latency.spike.ms", 0))
+                .bandwidth(config.getLong(prefix + "bandwidth.kbps", 0) * 1024 / 8)
+                .resets(config.getDouble(prefix + "reset.rate", 0), config.getLong(prefix + "reset.after.bytes", -1))
+                .errors(config.getDouble(prefix + "error.rate", 0), config.getInt(prefix + "error.status", 503));
+    }
+
+    public FaultRule latency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    // With probability rate, spikeMs is added on top of the sampled latency
+    public FaultRule spikes(double rate, long spikeMs) {
+        this.spikeRate = rate;
+        this.spikeMs = spikeMs;
+        return this;
+    }
+
+    // Response bytes per second to the client, 0 for unlimited
+    public FaultRule bandwidth(long bytesPerSecond) {
+        this.bytesPerSecond = bytesPerSecond;
+        return this;
+    }
+
+    // Resets the client connection with probability rate, before the response (afterBytes < 0)
+    // or after that many response bytes
+    public FaultRule resets(double rate, long afterBytes) {
+        this.resetRate = rate;
+        this.resetAfterBytes = afterBytes;
+        return this;
+    }
+
+    // Answers with the status instead of forwarding, with probability rate
+    public FaultRule errors(double rate, int status) {
+        this.errorRate = rate;
+        this.errorStatus = status;
+        return this;
+    }
+
+    public boolean matches(String requestMethod, String requestPath) {
+        return (method.equals("*") || method.equalsIgnoreCase(requestMethod)) && path.matcher(requestPath).matches();
+    }
+
+    Decision decide(long seed, int ruleIndex) {
+        long position = requests.getAndIncrement();
+        Random random = new Random(mix(mix(seed + ruleIndex) + position));
+        // always draw in the same order so a decision only depends on the seed and position
+        boolean error = random.nextDouble() < errorRate;
+        boolean reset = random.nextDouble() < resetRate;
+        long delay = latency.sampleMs(random);
+        if (random.nextDouble() < spikeRate) {
+            delay += spikeMs;
+        }
+        if (error) {
+            errors.incrementAndGet();
+            reset = false;
+        } else if (reset) {
+            resets.incrementAndGet();
+        }
+        delayMs.addAndGet(delay);
+        return new Decision(delay, error ? errorStatus : 0, reset ? resetAfterBytes : Long.MIN_VALUE, bytesPerSecond);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getResets() {
+        return resets.get();
+    }
+
+    public long getDelayMs() {
+        return delayMs.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: %d requests, %d errors, %d resets, %d ms delay (%s)",
+                name, getRequests(), getErrors(), getResets(), getDelayMs(), latency);
+    }
+
+    // SplitMix64 finalizer, Random's first draws for neighbouring seeds are nearly identical otherwise
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static String toRegex(String glob) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (glob.startsWith("/**", i)) {
+                // also matches the path without the trailing segments, /api/users/** covers /api/users
+                regex.append("(?:/.*)?");
+                i += 2;
+            } else if (c == '*' && i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else if (c == '*') {
+                regex.append("[^/]+");
+            } else {
+                regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return regex.toString();
+    }
+
+    // What to do with one request
+    static final class Decision {
+
+        static final Decision NONE = new Decision(0, 0, Long.MIN_VALUE, 0);
+
+        final long delayMs;
+        final int errorStatus;
+        // Long.MIN_VALUE: no reset, < 0: reset before the response, otherwise after that many bytes
+        final long resetAfterBytes;
+        final long bytesPerSecond;
+
+        Decision(long delayMs, int errorStatus, long resetAfterBytes, long bytesPerSecond) {
+            this.delayMs = delayMs;
+            this.errorStatus = errorStatus;
+            this.resetAfterBytes = resetAfterBytes;
+            this.bytesPerSecond = bytesPerSecond;
+        }
+
+        boolean reset() {
+            return resetAfterBytes != Long.MIN_VALUE;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.sowmya.api.proxy;
+
+import java.util.Locale;
+import java.util.Random;
+
+// Delay added by the proxy before a request is forwarded, sampled from a seeded Random.
+// Written in config as none, fixed:100, uniform:20-200, normal:100,20 (mean, sd) or
+// lognormal:50,0.8 (median, sigma); lognormal gives the long tail real backends have.
+public abstract class LatencyDistribution {
+
+    public static final LatencyDistribution NONE = fixed(0);
+
+    abstract double sample(Random random);
+
+    public long sampleMs(Random random) {
+        return Math.max(0, Math.round(sample(random)));
+    }
+
+    public static LatencyDistribution fixed(long ms) {
+        return describe("fixed:" + ms, random -> ms);
+    }
+
+    public static LatencyDistribution uniform(long minMs, long maxMs) {
+        return describe("uniform:" + minMs + "-" + maxMs, random -> minMs + random.nextDouble() * (maxMs - minMs));
+    }
+
+    public static LatencyDistribution normal(double meanMs, double sdMs) {
+        return describe("normal:" + meanMs + "," + sdMs, random -> meanMs + random.nextGaussian() * sdMs);
+    }
+
+    public static LatencyDistribution lognormal(double medianMs, double sigma) {
+        return describe("lognormal:" + medianMs + "," + sigma,
+                random -> medianMs * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    public static LatencyDistribution parse(String text) {
+        String value = text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+        if (value.isEmpty() || value.equals("none")) {
+            return NONE;
+        }
+        int colon = value.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Latency needs a type and parameters, e.g. fixed:100, got " + text);
+        }
+        String type = value.substring(0, colon);
+        String[] args = value.substring(colon + 1).split("[,-]");
+        try {
+            switch (type) {
+                case "fixed":
+                    return fixed(Long.parseLong(args[0].trim()));
+                case "uniform":
+                    return uniform(Long.parseLong(args[0].trim()), Long.parseLong(args[1].trim()));
+                case "normal":
+                    return normal(Double.parseDouble(args[0].trim()), Double.parseDouble(args[1].trim()));
+                case "lognormal":
+                    return lognormal(Double.parseDouble(args[0].trim()), Double.parseDouble(args[1].trim()));
+                default:
+                    throw new IllegalArgumentException("Unknown latency type " + type);
+            }
+        } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+            throw new IllegalArgumentException("Not able to read latency " + text, e);
+        }
+    }
+
+    private interface Sampler {
+        double sample(Random random);
+    }
+
+    private static LatencyDistribution describe(String description, Sampler sampler) {
+        return new LatencyDistribution() {
+            @Override
+            double sample(Random random) {
+                return sampler.sample(random);
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.sowmya.api.replay;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Compact, gzipped binary file of recorded API requests.
+// Layout: magic "UMJ1", then one record per request: varint offset (micros since recording start),
+// varint lane, then method, path, content type, authorization and binding as length prefixed UTF-8,
+// the body as length prefixed bytes, and the recorded status and duration (micros) as varints.
+// Created ids, login tokens and page cursors are stored as placeholders ({#n} / {@n} / {$n}) so a replay
+// can remap them.
+public final class TrafficJournal {
+
+    private static final byte[] MAGIC = { 'U', 'M', 'J', '1' };
+
+    private TrafficJournal() {
+    }
+
+    public static final class Entry {
+
+        private final long offsetMicros;
+        private final int lane;
+        private final String method;
+        private final String path;
+        private final String contentType;
+        private final String authorization;
+        private final String binds;
+        private final byte[] body;
+        private final int status;
+        private final long durationMicros;
+
+        public Entry(long offsetMicros, int lane, String method, String path, String contentType,
+                String authorization, String binds, byte[] body, int status, long durationMicros) {
+            this.offsetMicros = offsetMicros;
+            this.lane = lane;
+            this.method = method;
+            this.path = path;
+            this.contentType = contentType == null ? "" : contentType;
+            this.authorization = authorization == null ? "" : authorization;
+            this.binds = binds == null ? "" : binds;
+            this.body = body == null ? new byte[0] : body;
+            this.status = status;
+            this.durationMicros = durationMicros;
+        }
+
+        public long getOffsetMicros() {
+            return offsetMicros;
+        }
+
+        public int getLane() {
+            return lane;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        // Path and query with {#n} in place of ids created during the recording and {$n} in place of
+        // page cursors
+        public String getPath() {
+            return path;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        // Authorization header with {@n} in place of tokens from recorded logins, empty when none
+        public String getAuthorization() {
+            return authorization;
+        }
+
+        // #n when the response created id n, @n when it returned login token n, $n when it returned page
+        // cursor n, empty otherwise; a bulk create lists one #n per result, comma separated, empty for
+        // the items that failed
+        public String getBinds() {
+            return binds;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public long getDurationMicros() {
+            return durationMicros;
+        }
+
+        // Route with ids folded and without the query, used to group results
+        public String getRoute() {
+            int query = path.indexOf('?');
+            String route = query < 0 ? path : path.substring(0, query);
+            return method + " " + route.replaceFirst("^(/api/users/)(?!bulk$)[^/]+$", "$1{id}");
+        }
+    }
+
+    public static final class Writer implements Closeable {
+
+        private final DataOutputStream out;
+
+        public Writer(Path file) throws IOException {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            OutputStream stream = new GZIPOutputStream(Files.newOutputStream(file), 64 * 1024);
+            out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+            out.write(MAGIC);
+        }
+
+        public synchronized void write(Entry entry) throws IOException {
+            writeVarLong(out, entry.offsetMicros);
+            writeVarLong(out, entry.lane);
+            writeString(out, entry.method);
+            writeString(out, entry.path);
+            writeString(out, entry.contentType);
+            writeString(out, entry.authorization);
+            writeString(out, entry.binds);
+            writeVarLong(out, entry.body.length);
+            out.write(entry.body);
+            writeVarLong(out, entry.status);
+            writeVarLong(out, entry.durationMicros);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            out.close();
+        }
+    }
+
+    public static List<Entry> read(Path file) throws IOException {
+        try (InputStream stream = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)), 64 * 1024);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024))) {
+            byte[] magic = new byte[MAGIC.length];
+            in.readFully(magic);
+            for (int i = 0; i < MAGIC.length; i++) {
+                if (magic[i] != MAGIC[i]) {
+                    throw new IOException(file + " is not a traffic journal");
+                }
+            }
+            List<Entry> entries = new ArrayList<>();
+            while (true) {
+                long offset;
+                try {
+                    offset = readVarLong(in);
+                } catch (EOFException e) {
+                    // clean end of journal
+                    return entries;
+                }
+                int lane = (int) readVarLong(in);
+                String method = readString(in);
+                String path = readString(in);
+                String contentType = readString(in);
+                String authorization = readString(in);
+                String binds = readString(in);
+                byte[] body = new byte[(int) readVarLong(in)];
+                in.readFully(body);
+                int status = (int) readVarLong(in);
+                long duration = readVarLong(in);
+                entries.add(new Entry(offset, lane, method, path, contentType, authorization, binds, body, status, duration));
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Unsigned LEB128, 7 bits per byte
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in traffic journal");
+    }
+}
@@ -0,0 +1,283 @@
+package com.sowmya.api.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserJson;
+
+import io.restassured.RestAssured;
+import io.restassured.authentication.PreemptiveOAuth2HeaderScheme;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// RestAssured filter that appends every request to a TrafficJournal: method, path and query, body, auth,
+// offset from the start of the recording and the lane (calling thread) it was sent from.
+// Ids returned by creates, tokens returned by logins and the next page cursors of paged lists are
+// numbered as they appear and written as placeholders wherever later requests use them, so
+// TrafficReplayer can swap in the replay's values (a cursor holds the id of the page's last user).
+// A bulk create binds one id per result, and the ids in bulk update / delete bodies become placeholders.
+// Enabled for every helper call with traffic.record.file=<path>.
+public class TrafficRecorder implements Filter {
+
+    private static final Pattern USER_ID = Pattern.compile("^(/api/users/)([^/]+)$");
+    private static final Pattern BEARER = Pattern.compile("^(Bearer )(.+)$");
+    private static final String CURSOR_PARAM = Endpoints.PAGE_CURSOR + "=";
+    private static volatile TrafficRecorder installed;
+
+    private final TrafficJournal.Writer writer;
+    private final long start = System.nanoTime();
+    private final Map<Long, Integer> lanes = new ConcurrentHashMap<>();
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<String, Integer> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Integer> cursors = new ConcurrentHashMap<>();
+    private final AtomicInteger nextLane = new AtomicInteger();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final AtomicInteger nextToken = new AtomicInteger();
+    private final AtomicInteger nextCursor = new AtomicInteger();
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    public TrafficRecorder(Path journal) throws IOException {
+        this.writer = new TrafficJournal.Writer(journal);
+    }
+
+    // Adds a recorder for traffic.record.file to RestAssured's global filters, once per JVM
+    public static void installIfEnabled() {
+        String file = ConfigManager.getInstance().getProperty("traffic.record.file", "");
+        if (file.isEmpty() || installed != null) {
+            return;
+        }
+        synchronized (TrafficRecorder.class) {
+            if (installed != null) {
+                return;
+            }
+            try {
+                TrafficRecorder recorder = new TrafficRecorder(Paths.get(file));
+                RestAssured.filters(recorder);
+                Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "traffic-recorder-close"));
+                installed = recorder;
+                System.out.println("Recording API traffic to " + file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Not able to open traffic journal " + file, e);
+            }
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+            FilterContext context) {
+        long offsetMicros = (System.nanoTime() - start) / 1_000;
+        int lane = lanes.computeIfAbsent(Thread.currentThread().getId(), thread -> nextLane.getAndIncrement());
+        String method = request.getMethod();
+        URI uri = uriOf(request.getURI());
+        String path = uri == null ? request.getURI() : pathOf(uri);
+        String query = uri == null ? null : uri.getRawQuery();
+        String authorization = request.getHeaders().getValue("Authorization");
+        if (authorization == null && request.getAuthenticationScheme() instanceof PreemptiveOAuth2HeaderScheme) {
+            // auth().oauth2() adds its header after the filters ran
+            authorization = "Bearer " + ((PreemptiveOAuth2HeaderScheme) request.getAuthenticationScheme()).getAccessToken();
+        }
+        byte[] body = bodyOf(request.getBody());
+        if (path.equals(Endpoints.BULK_UPDATE_USERS) && !"POST".equals(method)) {
+            body = placeholderBody(body);
+        }
+
+        long sent = System.nanoTime();
+        Response response = context.next(request, responseSpec);
+        long durationMicros = (System.nanoTime() - sent) / 1_000;
+
+        String binds = bind(method, path, query, response);
+        String target = placeholderPath(path) + (query == null ? "" : "?" + placeholderQuery(query));
+        try {
+            writer.write(new TrafficJournal.Entry(offsetMicros, lane, method, target,
+                    request.getContentType(), placeholderAuth(authorization), binds, body,
+                    response.getStatusCode(), durationMicros));
+            recorded.incrementAndGet();
+        } catch (IOException e) {
+            System.out.println("Failed to record request:" + e.getMessage());
+        }
+        return response;
+    }
+
+    public int getRecorded() {
+        return recorded.get();
+    }
+
+    public void close() {
+        try {
+            writer.close();
+            System.out.println("Recorded " + recorded.get() + " API requests");
+        } catch (IOException e) {
+            System.out.println("Failed to close traffic journal:" + e.getMessage());
+        }
+    }
+
+    // Numbers the id of a created user (#n), the token of a login (@n) or the next page cursor of a
+    // paged list ($n) carried by the response
+    private String bind(String method, String path, String query, Response response) {
+        boolean post = "POST".equals(method);
+        // only paged lists carry a cursor, don't parse full lists for nothing
+        boolean paged = "GET".equals(method) && query != null && path.equals("/api/users");
+        if ((!post && !paged) || response.getStatusCode() >= 300) {
+            return "";
+        }
+        try {
+            JsonNode json = UserJson.mapper().readTree(response.asByteArray());
+            if (paged) {
+                JsonNode cursor = json.path("nextCursor");
+                if (!cursor.isTextual()) {
+                    return "";
+                }
+                int index = nextCursor.getAndIncrement();
+                cursors.put(cursor.asText(), index);
+                return "$" + index;
+            }
+            if (path.equals(Endpoints.BULK_CREATE_USERS)) {
+                return bindAll(json.path("results"));
+            }
+            if (path.equals("/api/users") && json.hasNonNull("id")) {
+                int index = nextId.getAndIncrement();
+                ids.put(json.get("id").asText(), index);
+                return "#" + index;
+            }
+            if (path.equals("/api/auth/login") && json.hasNonNull("token")) {
+                int index = nextToken.getAndIncrement();
+                tokens.put(json.get("token").asText(), index);
+                return "@" + index;
+            }
+        } catch (IOException e) {
+            // not JSON, nothing to bind
+        }
+        return "";
+    }
+
+    // #n per created user of a bulk create, in result order, empty for the items that failed
+    private String bindAll(JsonNode results) {
+        StringBuilder binds = new StringBuilder();
+        boolean any = false;
+        for (int i = 0; i < results.size(); i++) {
+            if (i > 0) {
+                binds.append(',');
+            }
+            JsonNode id = results.get(i).path("user").path("id");
+            if (id.isTextual()) {
+                int index = nextId.getAndIncrement();
+                ids.put(id.asText(), index);
+                binds.append('#').append(index);
+                any = true;
+            }
+        }
+        return any ? binds.toString() : "";
+    }
+
+    private String placeholderPath(String path) {
+        Matcher matcher = USER_ID.matcher(path);
+        if (matcher.matches()) {
+            Integer index = ids.get(matcher.group(2));
+            if (index != null) {
+                return matcher.group(1) + "{#" + index + "}";
+            }
+        }
+        return path;
+    }
+
+    // {#n} for the known ids of a bulk update ({"users": [{"id": ...}]}) or delete ({"ids": [...]})
+    private byte[] placeholderBody(byte[] body) {
+        try {
+            JsonNode json = UserJson.mapper().readTree(body);
+            boolean replaced = false;
+            JsonNode userIds = json.path("ids");
+            for (int i = 0; i < userIds.size(); i++) {
+                Integer index = ids.get(userIds.get(i).asText());
+                if (index != null) {
+                    ((ArrayNode) userIds).set(i, "{#" + index + "}");
+                    replaced = true;
+                }
+            }
+            for (JsonNode user : json.path("users")) {
+                Integer index = user.path("id").isTextual() ? ids.get(user.get("id").asText()) : null;
+                if (index != null) {
+                    ((ObjectNode) user).put("id", "{#" + index + "}");
+                    replaced = true;
+                }
+            }
+            return replaced ? UserJson.mapper().writeValueAsBytes(json) : body;
+        } catch (IOException | RuntimeException e) {
+            // not the JSON of a bulk request, keep it as sent
+            return body;
+        }
+    }
+
+    private String placeholderQuery(String query) {
+        StringBuilder replaced = new StringBuilder();
+        for (String parameter : query.split("&", -1)) {
+            if (replaced.length() > 0) {
+                replaced.append('&');
+            }
+            Integer index = parameter.startsWith(CURSOR_PARAM)
+                    ? cursors.get(parameter.substring(CURSOR_PARAM.length())) : null;
+            replaced.append(index != null ? CURSOR_PARAM + "{$" + index + "}" : parameter);
+        }
+        return replaced.toString();
+    }
+
+    private String placeholderAuth(String authorization) {
+        if (authorization == null) {
+            return "";
+        }
+        Matcher matcher = BEARER.matcher(authorization);
+        if (matcher.matches()) {
+            Integer index = tokens.get(matcher.group(2));
+            if (index != null) {
+                return matcher.group(1) + "{@" + index + "}";
+            }
+        }
+        return authorization;
+    }
+
+    private static URI uriOf(String uri) {
+        try {
+            return URI.create(uri);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String pathOf(URI uri) {
+        String path = uri.getRawPath();
+        return path == null || path.isEmpty() ? "/" : path;
+    }
+
+    private static byte[] bodyOf(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof String) {
+            return ((String) body).getBytes(StandardCharsets.UTF_8);
+        }
+        try {
+            return UserJson.mapper().writeValueAsBytes(body);
+        } catch (IOException e) {
+            return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
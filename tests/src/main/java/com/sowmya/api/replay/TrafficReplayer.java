@@ -0,0 +1,308 @@
+package com.sowmya.api.replay;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.utils.UserJson;
+
+import io.restassured.RestAssured;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+// Plays a TrafficJournal back against a backend.
+// Every recorded lane gets its own thread, so the original concurrency is kept, and requests start at
+// their recorded offset divided by the speed factor (speed 0 = as fast as possible).
+// Placeholders are resolved from the replay's own responses: a request that uses an id, token or page
+// cursor waits until the request that returns it has answered, even when that request is on another lane.
+public class TrafficReplayer {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{([#@$])(\\d+)\\}");
+    private static final long BINDING_TIMEOUT_SECONDS = 30;
+
+    private final String baseUrl;
+    private final int port;
+    private final double speed;
+    private final Map<String, CompletableFuture<String>> bindings = new ConcurrentHashMap<>();
+
+    // speed: 1 = recorded pace, N = N times faster, 0 = no waiting between requests
+    public TrafficReplayer(String baseUrl, int port, double speed) {
+        this.baseUrl = baseUrl;
+        this.port = port;
+        this.speed = speed;
+    }
+
+    // "1x", "10x", "max"
+    public static double parseSpeed(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        if (value.equals("max")) {
+            return 0;
+        }
+        return Double.parseDouble(value.endsWith("x") ? value.substring(0, value.length() - 1) : value);
+    }
+
+    // java ... TrafficReplayer <journal> <baseUrl> <port> [1x|Nx|max]
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.out.println("Usage: TrafficReplayer <journal> <baseUrl> <port> [1x|Nx|max]");
+            return;
+        }
+        double speed = args.length > 3 ? parseSpeed(args[3]) : 1;
+        Result result = new TrafficReplayer(args[1], Integer.parseInt(args[2]), speed).replay(Paths.get(args[0]));
+        result.print();
+    }
+
+    public Result replay(Path journal) throws IOException, InterruptedException {
+        return replay(TrafficJournal.read(journal));
+    }
+
+    public Result replay(List<TrafficJournal.Entry> entries) throws InterruptedException {
+        Map<Integer, List<TrafficJournal.Entry>> lanes = new TreeMap<>();
+        for (TrafficJournal.Entry entry : entries) {
+            lanes.computeIfAbsent(entry.getLane(), lane -> new ArrayList<>()).add(entry);
+        }
+        Result result = new Result(entries);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, lanes.size()));
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (List<TrafficJournal.Entry> lane : lanes.values()) {
+                running.add(executor.submit(() -> playLane(lane, start, result)));
+            }
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    System.out.println("Replay lane failed:" + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        result.wallMicros = (System.nanoTime() - start) / 1_000;
+        return result;
+    }
+
+    private void playLane(List<TrafficJournal.Entry> lane, long start, Result result) {
+        for (TrafficJournal.Entry entry : lane) {
+            if (speed > 0) {
+                long due = start + (long) (entry.getOffsetMicros() * 1_000 / speed);
+                long wait = due - System.nanoTime();
+                if (wait > 0) {
+                    try {
+                        TimeUnit.NANOSECONDS.sleep(wait);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+            play(entry, result);
+        }
+    }
+
+    private void play(TrafficJournal.Entry entry, Result result) {
+        RequestSpecification request = RestAssured.given().baseUri(baseUrl).port(port).urlEncodingEnabled(false);
+        if (!entry.getContentType().isEmpty()) {
+            request.contentType(entry.getContentType());
+        }
+        if (!entry.getAuthorization().isEmpty()) {
+            request.header("Authorization", resolve(entry.getAuthorization()));
+        }
+        String path = resolve(entry.getPath());
+        if (entry.getBody().length > 0) {
+            // only bulk bodies carry ids, see TrafficRecorder
+            request.body(path.equals(Endpoints.BULK_UPDATE_USERS)
+                    ? resolve(new String(entry.getBody(), StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8)
+                    : entry.getBody());
+        }
+
+        long sent = System.nanoTime();
+        Response response;
+        try {
+            response = request.request(entry.getMethod(), path);
+        } catch (Exception e) {
+            result.add(entry, -1, (System.nanoTime() - sent) / 1_000);
+            bind(entry, null);
+            return;
+        }
+        result.add(entry, response.getStatusCode(), (System.nanoTime() - sent) / 1_000);
+        bind(entry, response);
+    }
+
+    // Publishes the id / token / cursor the replayed response carries, or a value that cannot match anything
+    // so dependent requests fail fast instead of waiting. A bulk create binds the id of every result.
+    private void bind(TrafficJournal.Entry entry, Response response) {
+        if (entry.getBinds().isEmpty()) {
+            return;
+        }
+        JsonNode json = null;
+        if (response != null && response.getStatusCode() < 300) {
+            try {
+                json = UserJson.mapper().readTree(response.asByteArray());
+            } catch (IOException e) {
+                // not JSON
+            }
+        }
+        boolean bulk = entry.getPath().equals(Endpoints.BULK_CREATE_USERS);
+        String[] binds = entry.getBinds().split(",", -1);
+        for (int i = 0; i < binds.length; i++) {
+            if (binds[i].isEmpty()) {
+                continue;
+            }
+            JsonNode node = json == null ? null
+                    : bulk ? json.path("results").path(i).path("user").get("id")
+                    : json.get(boundField(binds[i].charAt(0)));
+            String value = node == null || node.isNull() ? null : node.asText();
+            binding(binds[i]).complete(value != null ? value : "unresolved-" + binds[i].substring(1));
+        }
+    }
+
+    private static String boundField(char kind) {
+        switch (kind) {
+            case '#':
+                return "id";
+            case '@':
+                return "token";
+            default:
+                return "nextCursor";
+        }
+    }
+
+    private String resolve(String text) {
+        Matcher matcher = PLACEHOLDER.matcher(text);
+        if (!matcher.find()) {
+            return text;
+        }
+        StringBuffer resolved = new StringBuffer();
+        do {
+            String key = matcher.group(1) + matcher.group(2);
+            String value;
+            try {
+                value = binding(key).get(BINDING_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                value = "unresolved-" + matcher.group(2);
+            } catch (ExecutionException | TimeoutException e) {
+                value = "unresolved-" + matcher.group(2);
+            }
+            matcher.appendReplacement(resolved, Matcher.quoteReplacement(value));
+        } while (matcher.find());
+        matcher.appendTail(resolved);
+        return resolved.toString();
+    }
+
+    private CompletableFuture<String> binding(String key) {
+        return bindings.computeIfAbsent(key, k -> new CompletableFuture<>());
+    }
+
+    // Status agreement and latency per route, recorded vs replayed
+    public static final class Result {
+
+        private final long recordedSpanMicros;
+        private final Map<String, Route> routes = new LinkedHashMap<>();
+        private long wallMicros;
+        private int requests;
+        private int statusMatches;
+
+        Result(List<TrafficJournal.Entry> entries) {
+            long span = 0;
+            for (TrafficJournal.Entry entry : entries) {
+                span = Math.max(span, entry.getOffsetMicros() + entry.getDurationMicros());
+                routes.computeIfAbsent(entry.getRoute(), Route::new);
+            }
+            recordedSpanMicros = span;
+        }
+
+        synchronized void add(TrafficJournal.Entry entry, int status, long durationMicros) {
+            requests++;
+            if (status == entry.getStatus()) {
+                statusMatches++;
+            }
+            routes.computeIfAbsent(entry.getRoute(), Route::new).add(entry, status, durationMicros);
+        }
+
+        public synchronized int getRequests() {
+            return requests;
+        }
+
+        public synchronized int getStatusMatches() {
+            return statusMatches;
+        }
+
+        public long getWallMicros() {
+            return wallMicros;
+        }
+
+        public long getRecordedSpanMicros() {
+            return recordedSpanMicros;
+        }
+
+        public synchronized void print() {
+            System.out.println(String.format(Locale.ROOT,
+                    "Replayed %d requests in %.1f ms (recorded span %.1f ms), %d/%d statuses as recorded",
+                    requests, wallMicros / 1000.0, recordedSpanMicros / 1000.0, statusMatches, requests));
+            System.out.println(String.format(Locale.ROOT, "%-28s %6s %9s %9s %9s %9s %9s",
+                    "route", "count", "mismatch", "rec p50", "rep p50", "rec p95", "rep p95"));
+            for (Route route : routes.values()) {
+                System.out.println(route);
+            }
+        }
+    }
+
+    private static final class Route {
+
+        private final String name;
+        private final List<Long> recorded = new ArrayList<>();
+        private final List<Long> replayed = new ArrayList<>();
+        private int mismatches;
+
+        Route(String name) {
+            this.name = name;
+        }
+
+        void add(TrafficJournal.Entry entry, int status, long durationMicros) {
+            recorded.add(entry.getDurationMicros());
+            replayed.add(durationMicros);
+            if (status != entry.getStatus()) {
+                mismatches++;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-28s %6d %9d %9.1f %9.1f %9.1f %9.1f", name, replayed.size(), mismatches,
+                    percentile(recorded, 50), percentile(replayed, 50), percentile(recorded, 95), percentile(replayed, 95));
+        }
+
+        private static double percentile(List<Long> micros, int percentile) {
+            if (micros.isEmpty()) {
+                return 0;
+            }
+            Long[] sorted = micros.toArray(new Long[0]);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.sowmya.api.schema;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// RestAssured filter that checks sampled responses against their ResponseSchemas contract.
+// contract.sample.rate is the share of responses validated (1.0 all, 0.02 every 50th, 0 off), picked
+// by a counter so runs are repeatable. With contract.strict=true a violation fails the calling test,
+// otherwise it is logged and counted; the counts per schema are printed when the JVM exits.
+public class ContractFilter implements Filter {
+
+    private static volatile ContractFilter installed;
+
+    private final double rate;
+    private final boolean strict;
+    private final AtomicLong seen = new AtomicLong();
+    private final Map<String, AtomicLong> validated = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> violations = new ConcurrentHashMap<>();
+
+    public ContractFilter(double rate, boolean strict) {
+        this.rate = Math.max(0, Math.min(1, rate));
+        this.strict = strict;
+    }
+
+    // Adds a filter for contract.sample.rate / contract.strict to RestAssured's global filters, once per JVM
+    public static void installIfEnabled() {
+        ConfigManager config = ConfigManager.getInstance();
+        double rate = config.getDouble("contract.sample.rate", 0);
+        if (rate <= 0 || installed != null) {
+            return;
+        }
+        synchronized (ContractFilter.class) {
+            if (installed != null) {
+                return;
+            }
+            ContractFilter filter = new ContractFilter(rate, config.getBoolean("contract.strict", false));
+            RestAssured.filters(filter);
+            Runtime.getRuntime().addShutdownHook(new Thread(filter::printStats, "contract-filter-stats"));
+            installed = filter;
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+            FilterContext context) {
+        Response response = context.next(request, responseSpec);
+        long n = seen.getAndIncrement();
+        if ((long) ((n + 1) * rate) == (long) (n * rate)) {
+            return response;
+        }
+        String schema = schemaFor(request.getMethod(), pathOf(request.getURI()), isPaged(request.getURI()), response);
+        if (schema == null) {
+            return response;
+        }
+        List<String> errors = ResponseSchemas.validate(response.asByteArray(), schema);
+        validated.computeIfAbsent(schema, key -> new AtomicLong()).incrementAndGet();
+        if (!errors.isEmpty()) {
+            violations.computeIfAbsent(schema, key -> new AtomicLong()).incrementAndGet();
+            String message = request.getMethod() + " " + request.getURI() + " -> " + response.getStatusCode()
+                    + " does not match the " + schema + " schema: " + String.join("; ", errors);
+            if (strict) {
+                throw new AssertionError(message);
+            }
+            System.out.println("Contract violation: " + message);
+        }
+        return response;
+    }
+
+    // Schema for a response of the routes in backend/server.js, null when there is no contract to check
+    static String schemaFor(String method, String path, boolean paged, Response response) {
+        int status = response.getStatusCode();
+        String contentType = response.getContentType();
+        if (contentType == null || !contentType.contains("json")) {
+            // 304s, and the HTML 404 of routes the backend doesn't have
+            return null;
+        }
+        if (status >= 400) {
+            return ResponseSchemas.ERROR;
+        }
+        if (path.equals(Endpoints.BULK_CREATE_USERS) && !method.equals("GET")) {
+            // POST, PUT and DELETE /api/users/bulk, a GET is taken for a user id like on the backend
+            return ResponseSchemas.BULK;
+        }
+        boolean users = path.equals("/api/users");
+        boolean user = path.startsWith("/api/users/") && path.indexOf('/', "/api/users/".length()) < 0;
+        switch (method) {
+            case "GET":
+                if (users) {
+                    return paged ? ResponseSchemas.USER_PAGE : ResponseSchemas.USER_LIST;
+                }
+                if (user) {
+                    return ResponseSchemas.USER;
+                }
+                if (path.equals("/api/auth/verify")) {
+                    return ResponseSchemas.VERIFY;
+                }
+                return path.equals("/api/health") ? ResponseSchemas.HEALTH : null;
+            case "POST":
+                if (users) {
+                    return ResponseSchemas.USER;
+                }
+                if (path.equals("/api/auth/login")) {
+                    return ResponseSchemas.LOGIN;
+                }
+                return path.equals("/api/auth/logout") ? ResponseSchemas.MESSAGE : null;
+            case "PUT":
+                return user ? ResponseSchemas.USER : null;
+            case "DELETE":
+                return user ? ResponseSchemas.DELETE : null;
+            default:
+                return null;
+        }
+    }
+
+    public void printStats() {
+        Map<String, AtomicLong> sorted = new TreeMap<>(validated);
+        StringBuilder line = new StringBuilder("Contract checks (" + seen.get() + " responses, sample rate " + rate + "):");
+        for (Map.Entry<String, AtomicLong> entry : sorted.entrySet()) {
+            AtomicLong failed = violations.get(entry.getKey());
+            line.append(' ').append(entry.getKey()).append('=').append(entry.getValue().get())
+                    .append('/').append(failed == null ? 0 : failed.get()).append(" failed");
+        }
+        System.out.println(line);
+    }
+
+    public long getViolations() {
+        long total = 0;
+        for (AtomicLong count : violations.values()) {
+            total += count.get();
+        }
+        return total;
+    }
+
+    // True when the query asks GET /api/users for one page instead of the whole list
+    private static boolean isPaged(String uri) {
+        String query;
+        try {
+            query = URI.create(uri).getRawQuery();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (query == null) {
+            return false;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (Endpoints.PAGE_PARAMS.contains(equals < 0 ? pair : pair.substring(0, equals))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pathOf(String uri) {
+        try {
+            String path = URI.create(uri).getRawPath();
+            return path == null || path.isEmpty() ? "/" : path;
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+}
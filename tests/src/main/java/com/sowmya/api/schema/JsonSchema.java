@@ -0,0 +1,425 @@
+package com.sowmya.api.schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sowmya.api.utils.UserJson;
+import com.sowmya.api.utils.UserValidator;
+
+// A JSON schema compiled once into a tree of checks, then run over the token stream of a document.
+// No tree is built for the validated JSON, a GET /api/users array of any size costs one pass and
+// memory for the current path only.
+// Supported keywords (draft-07 subset): type, properties, required, additionalProperties,
+// items, minItems, maxItems, minimum, maximum, minLength, maxLength, pattern, format
+// (date-time, email as the backend checks it), enum of strings and $ref to another schema by name.
+public final class JsonSchema {
+
+    private static final int MAX_ERRORS = 20;
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private static final int OBJECT = 1;
+    private static final int ARRAY = 2;
+    private static final int STRING = 4;
+    private static final int INTEGER = 8;
+    private static final int NUMBER = 16;
+    private static final int BOOLEAN = 32;
+    private static final int NULL = 64;
+    private static final int ANY = 127;
+
+    private int types = ANY;
+    private Map<String, JsonSchema> properties = Collections.emptyMap();
+    private Map<String, Integer> requiredIndex = Collections.emptyMap();
+    private List<String> required = Collections.emptyList();
+    private boolean additionalAllowed = true;
+    private JsonSchema additional;
+    private JsonSchema items;
+    private int minItems = -1;
+    private int maxItems = -1;
+    private Double minimum;
+    private Double maximum;
+    private int minLength = -1;
+    private int maxLength = -1;
+    private Pattern pattern;
+    private String format;
+    private List<String> enumValues;
+    // set for $ref, resolved on first use so schemas can refer to each other in any order
+    private String ref;
+    private Function<String, JsonSchema> resolver;
+    private volatile JsonSchema resolved;
+
+    private JsonSchema() {
+    }
+
+    // resolver: schema name -> compiled schema, used for $ref
+    public static JsonSchema compile(JsonNode node, Function<String, JsonSchema> resolver) {
+        JsonSchema schema = new JsonSchema();
+        schema.resolver = resolver;
+        if (node.has("$ref")) {
+            schema.ref = node.get("$ref").asText().replace(".schema.json", "");
+            return schema;
+        }
+        if (node.has("type")) {
+            schema.types = 0;
+            JsonNode type = node.get("type");
+            if (type.isArray()) {
+                for (JsonNode each : type) {
+                    schema.types |= typeBit(each.asText());
+                }
+            } else {
+                schema.types = typeBit(type.asText());
+            }
+        }
+        if (node.has("properties")) {
+            schema.properties = new HashMap<>();
+            for (Map.Entry<String, JsonNode> field : node.get("properties").properties()) {
+                schema.properties.put(field.getKey(), compile(field.getValue(), resolver));
+            }
+        }
+        if (node.has("required")) {
+            schema.required = new ArrayList<>();
+            schema.requiredIndex = new HashMap<>();
+            for (JsonNode name : node.get("required")) {
+                schema.requiredIndex.put(name.asText(), schema.required.size());
+                schema.required.add(name.asText());
+            }
+        }
+        JsonNode additional = node.get("additionalProperties");
+        if (additional != null) {
+            if (additional.isBoolean()) {
+                schema.additionalAllowed = additional.asBoolean();
+            } else {
+                schema.additional = compile(additional, resolver);
+            }
+        }
+        if (node.has("items")) {
+            schema.items = compile(node.get("items"), resolver);
+        }
+        schema.minItems = node.path("minItems").asInt(-1);
+        schema.maxItems = node.path("maxItems").asInt(-1);
+        schema.minimum = node.has("minimum") ? node.get("minimum").asDouble() : null;
+        schema.maximum = node.has("maximum") ? node.get("maximum").asDouble() : null;
+        schema.minLength = node.path("minLength").asInt(-1);
+        schema.maxLength = node.path("maxLength").asInt(-1);
+        schema.pattern = node.has("pattern") ? Pattern.compile(node.get("pattern").asText()) : null;
+        schema.format = node.has("format") ? node.get("format").asText() : null;
+        if (node.has("enum")) {
+            schema.enumValues = new ArrayList<>();
+            for (JsonNode value : node.get("enum")) {
+                schema.enumValues.add(value.asText());
+            }
+        }
+        return schema;
+    }
+
+    // Violations as "<json pointer>: message", empty when the document matches
+    public List<String> validate(byte[] json) {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return validate(parser);
+        } catch (IOException e) {
+            return Collections.singletonList("/: not valid JSON, " + e.getMessage());
+        }
+    }
+
+    public List<String> validate(InputStream json) {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return validate(parser);
+        } catch (IOException e) {
+            return Collections.singletonList("/: not valid JSON, " + e.getMessage());
+        }
+    }
+
+    private List<String> validate(JsonParser parser) throws IOException {
+        Context context = new Context();
+        if (parser.nextToken() == null) {
+            context.error("empty document");
+            return context.errors;
+        }
+        check(parser, context);
+        return context.errors;
+    }
+
+    public boolean isValid(byte[] json) {
+        return validate(json).isEmpty();
+    }
+
+    private JsonSchema target() {
+        if (ref == null) {
+            return this;
+        }
+        JsonSchema result = resolved;
+        if (result == null) {
+            result = resolver.apply(ref).target();
+            resolved = result;
+        }
+        return result;
+    }
+
+    // Parser is on the first token of the value, leaves it on the last token of the value
+    private void check(JsonParser parser, Context context) throws IOException {
+        JsonSchema schema = target();
+        JsonToken token = parser.currentToken();
+        switch (token) {
+            case START_OBJECT:
+                if (!schema.allows(OBJECT, context, "object")) {
+                    parser.skipChildren();
+                    return;
+                }
+                schema.checkObject(parser, context);
+                return;
+            case START_ARRAY:
+                if (!schema.allows(ARRAY, context, "array")) {
+                    parser.skipChildren();
+                    return;
+                }
+                schema.checkArray(parser, context);
+                return;
+            case VALUE_STRING:
+                if (schema.allows(STRING, context, "string")) {
+                    schema.checkString(parser.getText(), context);
+                }
+                return;
+            case VALUE_NUMBER_INT:
+                if (schema.allows(INTEGER | NUMBER, context, "integer")) {
+                    schema.checkNumber(parser.getDoubleValue(), context);
+                }
+                return;
+            case VALUE_NUMBER_FLOAT: {
+                double value = parser.getDoubleValue();
+                boolean integral = value == Math.rint(value) && !Double.isInfinite(value);
+                if (schema.allows(integral ? INTEGER | NUMBER : NUMBER, context, "number")) {
+                    schema.checkNumber(value, context);
+                }
+                return;
+            }
+            case VALUE_TRUE:
+            case VALUE_FALSE:
+                schema.allows(BOOLEAN, context, "boolean");
+                return;
+            case VALUE_NULL:
+                schema.allows(NULL, context, "null");
+                return;
+            default:
+                context.error("unexpected token " + token);
+        }
+    }
+
+    private boolean allows(int actual, Context context, String name) {
+        if ((types & actual) != 0) {
+            return true;
+        }
+        context.error("expected " + typeNames() + " but was " + name);
+        return false;
+    }
+
+    private void checkObject(JsonParser parser, Context context) throws IOException {
+        boolean[] seen = required.isEmpty() ? null : new boolean[required.size()];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            JsonSchema child = properties.get(name);
+            if (child == null) {
+                child = additional;
+            }
+            if (seen != null) {
+                Integer index = requiredIndex.get(name);
+                if (index != null) {
+                    seen[index] = true;
+                }
+            }
+            if (child == null) {
+                if (!additionalAllowed && !properties.containsKey(name)) {
+                    context.error("unexpected property '" + name + "'");
+                }
+                parser.skipChildren();
+                continue;
+            }
+            context.path.addLast(name);
+            child.check(parser, context);
+            context.path.removeLast();
+        }
+        if (seen != null) {
+            for (int i = 0; i < seen.length; i++) {
+                if (!seen[i]) {
+                    context.error("missing required property '" + required.get(i) + "'");
+                }
+            }
+        }
+    }
+
+    private void checkArray(JsonParser parser, Context context) throws IOException {
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (items != null && !context.full()) {
+                context.path.addLast(count);
+                items.check(parser, context);
+                context.path.removeLast();
+            } else {
+                parser.skipChildren();
+            }
+            count++;
+        }
+        if (minItems >= 0 && count < minItems) {
+            context.error("expected at least " + minItems + " items but found " + count);
+        }
+        if (maxItems >= 0 && count > maxItems) {
+            context.error("expected at most " + maxItems + " items but found " + count);
+        }
+    }
+
+    private void checkString(String value, Context context) {
+        if (minLength >= 0 && value.length() < minLength) {
+            context.error("shorter than " + minLength + " characters");
+        }
+        if (maxLength >= 0 && value.length() > maxLength) {
+            context.error("longer than " + maxLength + " characters");
+        }
+        if (pattern != null && !pattern.matcher(value).find()) {
+            context.error("'" + value + "' does not match " + pattern.pattern());
+        }
+        if (enumValues != null && !enumValues.contains(value)) {
+            context.error("'" + value + "' is not one of " + enumValues);
+        }
+        if ("date-time".equals(format)) {
+            if (!isDateTime(value)) {
+                context.error("'" + value + "' is not a date-time");
+            }
+        } else if ("email".equals(format) && !UserValidator.isValidEmail(value)) {
+            context.error("'" + value + "' is not an email");
+        }
+    }
+
+    private void checkNumber(double value, Context context) {
+        if (minimum != null && value < minimum) {
+            context.error(value + " is below the minimum " + minimum);
+        }
+        if (maximum != null && value > maximum) {
+            context.error(value + " is above the maximum " + maximum);
+        }
+    }
+
+    // RFC 3339 date-time, e.g. 2024-06-10T08:00:00.000Z. The common shape is checked by hand, a list of
+    // 50k users carries 100k timestamps, and only values that pass it go through java.time.
+    static boolean isDateTime(String value) {
+        int length = value.length();
+        if (length < 20 || value.charAt(4) != '-' || value.charAt(7) != '-'
+                || (value.charAt(10) != 'T' && value.charAt(10) != 't')
+                || value.charAt(13) != ':' || value.charAt(16) != ':') {
+            return false;
+        }
+        if (!digits(value, 0, 4) || !digits(value, 5, 7) || !digits(value, 8, 10) || !digits(value, 11, 13)
+                || !digits(value, 14, 16) || !digits(value, 17, 19)) {
+            return false;
+        }
+        if (value.charAt(length - 1) == 'Z' && value.charAt(19) == '.' && digits(value, 20, length - 1)
+                && length > 21) {
+            int month = number(value, 5, 7);
+            int day = number(value, 8, 10);
+            return month >= 1 && month <= 12 && day >= 1 && day <= 28 && number(value, 11, 13) < 24
+                    && number(value, 14, 16) < 60 && number(value, 17, 19) < 60;
+        }
+        try {
+            OffsetDateTime.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    private static boolean digits(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int number(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            result = result * 10 + value.charAt(i) - '0';
+        }
+        return result;
+    }
+
+    private String typeNames() {
+        List<String> names = new ArrayList<>();
+        String[] all = { "object", "array", "string", "integer", "number", "boolean", "null" };
+        for (int i = 0; i < all.length; i++) {
+            if ((types & (1 << i)) != 0) {
+                names.add(all[i]);
+            }
+        }
+        return String.join("|", names);
+    }
+
+    private static int typeBit(String type) {
+        switch (type) {
+            case "object":
+                return OBJECT;
+            case "array":
+                return ARRAY;
+            case "string":
+                return STRING;
+            case "integer":
+                return INTEGER;
+            case "number":
+                return NUMBER | INTEGER;
+            case "boolean":
+                return BOOLEAN;
+            case "null":
+                return NULL;
+            default:
+                throw new IllegalArgumentException("Unknown schema type " + type);
+        }
+    }
+
+    // Current JSON pointer and the violations found so far
+    private static final class Context {
+
+        private final Deque<Object> path = new ArrayDeque<>();
+        private final List<String> errors = new ArrayList<>();
+
+        void error(String message) {
+            if (errors.size() < MAX_ERRORS) {
+                StringBuilder pointer = new StringBuilder();
+                for (Object segment : path) {
+                    pointer.append('/').append(segment);
+                }
+                errors.add((pointer.length() == 0 ? "/" : pointer.toString()) + ": " + message);
+            }
+        }
+
+        boolean full() {
+            return errors.size() >= MAX_ERRORS;
+        }
+    }
+
+    static JsonSchema load(String resource, Function<String, JsonSchema> resolver) {
+        try (InputStream in = JsonSchema.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Not able to find schema " + resource);
+            }
+            return compile(UserJson.mapper().readTree(in), resolver);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read schema " + resource, e);
+        }
+    }
+}
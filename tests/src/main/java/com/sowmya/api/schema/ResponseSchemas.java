@@ -0,0 +1,55 @@
+package com.sowmya.api.schema;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.restassured.response.Response;
+
+// Contracts for the API responses, compiled once from /schemas/<name>.schema.json and shared by all threads.
+public final class ResponseSchemas {
+
+    public static final String USER = "user";
+    public static final String USER_LIST = "user-list";
+    public static final String USER_PAGE = "user-page";
+    public static final String LOGIN = "login";
+    public static final String VERIFY = "verify";
+    public static final String DELETE = "delete";
+    public static final String BULK = "bulk";
+    public static final String MESSAGE = "message";
+    public static final String HEALTH = "health";
+    public static final String ERROR = "error";
+
+    private static final ConcurrentMap<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private ResponseSchemas() {
+    }
+
+    public static JsonSchema get(String name) {
+        JsonSchema schema = SCHEMAS.get(name);
+        if (schema == null) {
+            // compiled outside computeIfAbsent, a $ref may load another schema while this one compiles
+            schema = JsonSchema.load("/schemas/" + name + ".schema.json", ResponseSchemas::get);
+            JsonSchema existing = SCHEMAS.putIfAbsent(name, schema);
+            if (existing != null) {
+                schema = existing;
+            }
+        }
+        return schema;
+    }
+
+    public static List<String> validate(byte[] body, String name) {
+        return get(name).validate(body);
+    }
+
+    public static void assertValid(Response response, String name) {
+        assertValid(response.asByteArray(), name);
+    }
+
+    public static void assertValid(byte[] body, String name) {
+        List<String> errors = validate(body, name);
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Response does not match the " + name + " schema: " + String.join("; ", errors));
+        }
+    }
+}
@@ -0,0 +1,672 @@
+package com.sowmya.api.stub;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserQuery;
+import com.sowmya.api.utils.UserJson;
+import com.sowmya.api.utils.UserValidator;
+
+// The routes of backend/server.js, independent of any transport.
+// Same status codes, error messages, check order and JSON as the Express app: auth before the
+// handler, 404 "User not found" before validation on PUT, Express' HTML 404 for unknown routes,
+// 500 "Something went wrong!" for a body that is not JSON, and weak ETags with 304 on If-None-Match.
+// GET /api/users with paging parameters answers one page (see Endpoints.PAGE_LIMIT) with the same
+// order, cursors and 400s as the backend's listPage. The bulk routes on /api/users/bulk answer every
+// item with the status and body of its single-user route, applied in order.
+// Used by UserApiStubServer (HTTP) and MockApiRouter (Playwright routing).
+public class UserApi {
+
+    public static final String JSON = "application/json; charset=utf-8";
+    private static final String HTML = "text/html; charset=utf-8";
+    private static final long SESSION_MS = 24L * 60 * 60 * 1000;
+    private static final DateTimeFormatter ISO = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+    private static final TypeReference<Map<String, Object>> BODY_TYPE = new TypeReference<Map<String, Object>>(){};
+    private static final List<String> PAGE_SORTS = Arrays.asList(UserQuery.SORT_ID, UserQuery.SORT_NAME,
+            UserQuery.SORT_EMAIL, UserQuery.SORT_AGE, UserQuery.SORT_CREATED_AT);
+
+    private final UserStore store;
+    private final Map<String, String> passwords = new ConcurrentHashMap<>();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public UserApi(UserStore store) {
+        this.store = store;
+    }
+
+    public UserStore getStore() {
+        return store;
+    }
+
+    // Accounts that can log in, the backend ships with admin / password123 (role admin)
+    public UserApi addAccount(String username, String password) {
+        passwords.put(username, password);
+        return this;
+    }
+
+    // Registers a session without a login call, e.g. for a stored browser state
+    public void addSession(String token, String username) {
+        sessions.put(token, new Session(username, Long.MAX_VALUE));
+    }
+
+    public Reply handle(String method, String path, Map<String, String> headers, byte[] body) {
+        Reply reply;
+        try {
+            reply = route(method.toUpperCase(Locale.ROOT), normalize(path), query(path), headers, body);
+        } catch (IOException e) {
+            // express.json() rejects the body and the app's error handler answers 500
+            reply = error(500, "Something went wrong!");
+        }
+        return conditional(method, headers, reply);
+    }
+
+    private Reply route(String method, String path, Map<String, String> query, Map<String, String> headers,
+            byte[] rawBody) throws IOException {
+        // express.json() runs for every request, before routing
+        Map<String, Object> body = body(headers, rawBody);
+        String lower = path.toLowerCase(Locale.ROOT);
+        String usersPrefix = Endpoints.GET_ALL_USER + "/";
+
+        if (lower.equals(Endpoints.LOGIN) && method.equals("POST")) {
+            return login(body);
+        }
+        if (lower.equals(Endpoints.LOGOUT) && method.equals("POST")) {
+            String token = token(headers);
+            if (token != null) {
+                sessions.remove(token);
+            }
+            return json(200, map("message", "Logged out successfully"));
+        }
+        if (lower.equals("/" + Endpoints.VERIFY_TOKEN) && isGet(method)) {
+            return authenticated(headers, session -> json(200, map("user", session.user())));
+        }
+        if (lower.equals(Endpoints.HEALTH_CHECK) && isGet(method)) {
+            return json(200, map("status", "OK", "timestamp", now()));
+        }
+        if (lower.equals(Endpoints.GET_ALL_USER)) {
+            if (isGet(method) && !Collections.disjoint(query.keySet(), Endpoints.PAGE_PARAMS)) {
+                return authenticated(headers, session -> page(query));
+            }
+            if (isGet(method)) {
+                return authenticated(headers, session -> new Reply(200, JSON, UserJson.writeUsers(store.list())));
+            }
+            if (method.equals("POST")) {
+                return authenticated(headers, session -> reply(createItem(body)));
+            }
+        }
+        if (lower.equals(Endpoints.BULK_CREATE_USERS)) {
+            // Express matches these before /api/users/:id, a GET still goes to the id route
+            if (method.equals("POST")) {
+                return authenticated(headers, session -> bulk(body, "users", item -> createItem(object(item))));
+            }
+            if (method.equals("PUT")) {
+                return authenticated(headers, session -> bulk(body, "users", item -> {
+                    Map<String, Object> user = object(item);
+                    Object id = user.get("id");
+                    return updateItem(id instanceof String ? (String) id : null, user);
+                }));
+            }
+            if (method.equals("DELETE")) {
+                return authenticated(headers, session -> bulk(body, "ids",
+                        id -> deleteItem(id instanceof String ? (String) id : null)));
+            }
+        }
+        if (lower.startsWith(usersPrefix) && path.indexOf('/', usersPrefix.length()) < 0
+                && path.length() > usersPrefix.length()) {
+            String id = path.substring(usersPrefix.length());
+            if (isGet(method)) {
+                return authenticated(headers, session -> {
+                    User user = store.get(id);
+                    return user == null ? error(404, "User not found") : new Reply(200, JSON, UserJson.writeUser(user));
+                });
+            }
+            if (method.equals("PUT")) {
+                return authenticated(headers, session -> reply(updateItem(id, body)));
+            }
+            if (method.equals("DELETE")) {
+                return authenticated(headers, session -> {
+                    User deleted = store.remove(id);
+                    return deleted == null ? error(404, "User not found")
+                            : json(200, map("message", "User deleted successfully", "user", deleted));
+                });
+            }
+        }
+        return notFound(method, path);
+    }
+
+    private Reply login(Map<String, Object> body) {
+        Object username = body.get("username");
+        Object password = body.get("password");
+        if (!UserValidator.isTruthy(username) || !UserValidator.isTruthy(password)) {
+            return error(400, "Username and password are required");
+        }
+        String expected = passwords.get(String.valueOf(username));
+        if (expected == null || !expected.equals(password)) {
+            return error(401, "Invalid username or password");
+        }
+        String token = System.currentTimeMillis() + randomBase36(16);
+        long expiresAt = System.currentTimeMillis() + SESSION_MS;
+        Session session = new Session(String.valueOf(username), expiresAt);
+        sessions.put(token, session);
+        return json(200, map("token", token, "user", session.user(), "expiresAt", expiresAt));
+    }
+
+    // {"status": 201, "user": ...} or {"status": 400, "error": ...}, the answer of POST /api/users
+    private Map<String, Object> createItem(Map<String, Object> body) {
+        String error = UserValidator.validate(body);
+        if (error != null) {
+            return failed(400, error);
+        }
+        String now = now();
+        User user = new User();
+        user.setId(System.currentTimeMillis() + randomBase36(9));
+        setName(user, body.get("name"));
+        user.setEmail((String) body.get("email"));
+        user.setAge(UserValidator.storedAge(body.containsKey("age"), body.get("age")));
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        if (!store.insert(user)) {
+            return failed(400, UserValidator.EMAIL_EXISTS);
+        }
+        return map("status", 201, "user", user);
+    }
+
+    private Map<String, Object> updateItem(String id, Map<String, Object> body) {
+        User current = id == null ? null : store.get(id);
+        if (current == null) {
+            return failed(404, "User not found");
+        }
+        String error = UserValidator.validate(body);
+        if (error != null) {
+            return failed(400, error);
+        }
+        User user = UserStore.copy(current);
+        setName(user, body.get("name"));
+        user.setEmail((String) body.get("email"));
+        user.setAge(UserValidator.storedAge(body.containsKey("age"), body.get("age")));
+        user.setUpdatedAt(now());
+        if (!store.replace(user)) {
+            // either the email is taken or the user was deleted meanwhile
+            return store.get(id) == null ? failed(404, "User not found") : failed(400, UserValidator.EMAIL_EXISTS);
+        }
+        return map("status", 200, "user", user);
+    }
+
+    private Map<String, Object> deleteItem(String id) {
+        User deleted = id == null ? null : store.remove(id);
+        return deleted == null ? failed(404, "User not found") : map("status", 200, "user", deleted);
+    }
+
+    // Applies every item of body[field] in order, {"results": [...], "succeeded": n, "failed": n}
+    private static Reply bulk(Map<String, Object> body, String field, Function<Object, Map<String, Object>> apply) {
+        Object items = body.get(field);
+        if (!(items instanceof List)) {
+            return error(400, field + " must be an array");
+        }
+        if (((List<?>) items).size() > Endpoints.MAX_BULK_ITEMS) {
+            return error(400, "At most " + Endpoints.MAX_BULK_ITEMS + " " + field + " per request");
+        }
+        List<Map<String, Object>> results = new ArrayList<>();
+        int succeeded = 0;
+        for (Object item : (List<?>) items) {
+            Map<String, Object> result = apply.apply(item);
+            results.add(result);
+            if ((Integer) result.get("status") < 300) {
+                succeeded++;
+            }
+        }
+        return json(200, map("results", results, "succeeded", succeeded, "failed", results.size() - succeeded));
+    }
+
+    // A bulk item that is not a JSON object counts as an empty one, like the backend's asObject
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> object(Object item) {
+        return item instanceof Map ? (Map<String, Object>) item : Collections.<String, Object>emptyMap();
+    }
+
+    // The single-user answer for a createItem / updateItem result
+    private static Reply reply(Map<String, Object> item) {
+        int status = (Integer) item.get("status");
+        Object user = item.get("user");
+        return user != null ? new Reply(status, JSON, UserJson.writeUser((User) user))
+                : error(status, (String) item.get("error"));
+    }
+
+    private static Map<String, Object> failed(int status, String error) {
+        return map("status", status, "error", error);
+    }
+
+    // Keeps the limit + 1 first matches after the cursor in a heap instead of sorting every user
+    private Reply page(Map<String, String> query) {
+        Integer limit = query.containsKey(Endpoints.PAGE_LIMIT) ? parseInteger(query.get(Endpoints.PAGE_LIMIT))
+                : Integer.valueOf(Endpoints.DEFAULT_PAGE_LIMIT);
+        if (limit == null || limit < 1 || limit > Endpoints.MAX_PAGE_LIMIT) {
+            return error(400, "limit must be an integer between 1 and " + Endpoints.MAX_PAGE_LIMIT);
+        }
+        String sort = query.get(Endpoints.PAGE_SORT);
+        if (sort == null || sort.isEmpty()) {
+            sort = UserQuery.SORT_ID;
+        }
+        if (!PAGE_SORTS.contains(sort)) {
+            return error(400, "sort must be one of " + String.join(", ", PAGE_SORTS));
+        }
+        String cursor = query.get(Endpoints.PAGE_CURSOR);
+        Position after = cursor == null ? null : Position.decode(cursor, sort);
+        if (cursor != null && after == null) {
+            return error(400, "Invalid cursor");
+        }
+        String minAgeParam = query.get(Endpoints.FILTER_MIN_AGE);
+        String maxAgeParam = query.get(Endpoints.FILTER_MAX_AGE);
+        Integer minAge = minAgeParam == null ? Integer.valueOf(Integer.MIN_VALUE) : parseInteger(minAgeParam);
+        Integer maxAge = maxAgeParam == null ? Integer.valueOf(Integer.MAX_VALUE) : parseInteger(maxAgeParam);
+        if (minAge == null || maxAge == null) {
+            return error(400, "minAge and maxAge must be integers");
+        }
+        boolean ageFilter = minAgeParam != null || maxAgeParam != null;
+        String namePrefix = lowerCase(query.get(Endpoints.FILTER_NAME_PREFIX));
+        String emailPrefix = lowerCase(query.get(Endpoints.FILTER_EMAIL_PREFIX));
+
+        // the largest of the kept positions on top
+        PriorityQueue<Position> first = new PriorityQueue<>(Comparator.reverseOrder());
+        for (User user : store.list()) {
+            if (!lowerCase(nameOf(user)).startsWith(namePrefix) || !lowerCase(user.getEmail()).startsWith(emailPrefix)
+                    || ageFilter && (!user.hasAge() || user.getAgeValue() < minAge || user.getAgeValue() > maxAge)) {
+                continue;
+            }
+            Position position = Position.of(user, sort);
+            if (after != null && position.compareTo(after) <= 0) {
+                continue;
+            }
+            if (first.size() <= limit) {
+                first.add(position);
+            } else if (position.compareTo(first.peek()) < 0) {
+                first.poll();
+                first.add(position);
+            }
+        }
+        boolean more = first.size() > limit;
+        if (more) {
+            first.poll();
+        }
+        Position[] page = first.toArray(new Position[0]);
+        Arrays.sort(page);
+        List<User> users = new ArrayList<>(page.length);
+        for (Position position : page) {
+            users.add(position.user);
+        }
+        String nextCursor = more ? page[page.length - 1].encode() : null;
+        return json(200, map("users", users, "nextCursor", nextCursor, "limit", limit));
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null || !value.matches("-?\\d+")) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // The backend stores the name as sent, a number or object too; those are kept as the additional
+    // property "name", which UserSerializer writes in the name's place
+    private static void setName(User user, Object name) {
+        if (name instanceof String) {
+            user.setName((String) name);
+            user.getAdditionalProperties().remove("name");
+        } else {
+            user.setName(null);
+            user.setAdditionalProperty("name", name);
+        }
+    }
+
+    // String(user.name), the backend's name for filters and sorting
+    private static String nameOf(User user) {
+        Object name = user.getName() != null ? user.getName() : user.getAdditionalProperties().get("name");
+        return name == null ? null : UserValidator.toJsString(name);
+    }
+
+    private static String lowerCase(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private Reply authenticated(Map<String, String> headers, Handler handler) {
+        String token = token(headers);
+        if (token == null) {
+            return error(401, "Access token required");
+        }
+        Session session = sessions.get(token);
+        if (session == null || session.expiresAt < System.currentTimeMillis()) {
+            return error(403, "Invalid or expired token");
+        }
+        return handler.handle(session);
+    }
+
+    // Express answers fresh GET / HEAD requests with 304 and no body
+    private static Reply conditional(String method, Map<String, String> headers, Reply reply) {
+        if (reply.status < 200 || reply.status >= 300 || reply.body.length == 0 || !JSON.equals(reply.contentType)) {
+            return reply;
+        }
+        String etag = etag(reply.body);
+        if (isGet(method.toUpperCase(Locale.ROOT)) && matches(header(headers, "if-none-match"), etag)) {
+            return new Reply(304, null, new byte[0], etag);
+        }
+        return new Reply(reply.status, reply.contentType, reply.body, etag);
+    }
+
+    // Same value as Express' default weak ETag: W/"<length hex>-<sha1 base64, 27 chars>"
+    static String etag(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-1").digest(body);
+            String base64 = Base64.getEncoder().encodeToString(hash).substring(0, 27);
+            return "W/\"" + Integer.toHexString(body.length) + "-" + base64 + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaque = etag.substring(2);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // express.json() only parses JSON content types, anything else leaves an empty body
+    private static Map<String, Object> body(Map<String, String> headers, byte[] body) throws IOException {
+        String contentType = header(headers, "content-type");
+        if (body == null || body.length == 0 || contentType == null
+                || !contentType.toLowerCase(Locale.ROOT).contains("json")) {
+            return Collections.emptyMap();
+        }
+        JsonNode node = UserJson.mapper().readTree(body);
+        if (node == null || !(node.isObject() || node.isArray())) {
+            // strict mode, only objects and arrays are accepted
+            throw new IOException("Unexpected JSON body");
+        }
+        if (node.isArray()) {
+            return Collections.emptyMap();
+        }
+        return UserJson.mapper().convertValue(node, BODY_TYPE);
+    }
+
+    // Bearer <token>, split on a single space like the backend
+    private static String token(Map<String, String> headers) {
+        String authorization = header(headers, "authorization");
+        if (authorization == null) {
+            return null;
+        }
+        String[] parts = authorization.split(" ");
+        return parts.length > 1 && !parts[1].isEmpty() ? parts[1] : null;
+    }
+
+    private static String header(Map<String, String> headers, String name) {
+        String value = headers.get(name);
+        if (value != null) {
+            return value;
+        }
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getKey() != null && header.getKey().equalsIgnoreCase(name)) {
+                return header.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isGet(String method) {
+        return method.equals("GET") || method.equals("HEAD");
+    }
+
+    // First value of each query parameter, like req.query
+    private static Map<String, String> query(String path) {
+        int start = path.indexOf('?');
+        if (start < 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> query = new HashMap<>();
+        for (String pair : path.substring(start + 1).split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int equals = pair.indexOf('=');
+            String name = decode(equals < 0 ? pair : pair.substring(0, equals));
+            query.putIfAbsent(name, equals < 0 ? "" : decode(pair.substring(equals + 1)));
+        }
+        return query;
+    }
+
+    private static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (IOException | IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    // Express routing ignores a single trailing slash
+    private static String normalize(String path) {
+        int query = path.indexOf('?');
+        String withoutQuery = query < 0 ? path : path.substring(0, query);
+        if (withoutQuery.length() > 1 && withoutQuery.endsWith("/")) {
+            return withoutQuery.substring(0, withoutQuery.length() - 1);
+        }
+        return withoutQuery;
+    }
+
+    // new Date().toISOString()
+    public static String now() {
+        return ISO.format(Instant.now());
+    }
+
+    private static String randomBase36(int length) {
+        StringBuilder random = new StringBuilder(length);
+        ThreadLocalRandom current = ThreadLocalRandom.current();
+        for (int i = 0; i < length; i++) {
+            random.append(Character.forDigit(current.nextInt(36), 36));
+        }
+        return random.toString();
+    }
+
+    private static Reply notFound(String method, String path) {
+        String html = "<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"utf-8\">\n<title>Error</title>\n"
+                + "</head>\n<body>\n<pre>Cannot " + method + " " + path + "</pre>\n</body>\n</html>\n";
+        return new Reply(404, HTML, html.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Map<String, Object> map(Object... keyValues) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return map;
+    }
+
+    private static Reply json(int status, Object body) {
+        try {
+            return new Reply(status, JSON, UserJson.mapper().writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to write response", e);
+        }
+    }
+
+    private static Reply error(int status, String message) {
+        return json(status, map("error", message));
+    }
+
+    private interface Handler {
+        Reply handle(Session session);
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private final long expiresAt;
+
+        Session(String username, long expiresAt) {
+            this.username = username;
+            this.expiresAt = expiresAt;
+        }
+
+        Map<String, Object> user() {
+            return map("username", username, "role", "admin");
+        }
+    }
+
+    // Where a user sits in a paged listing: sort key (null sorts last), then id.
+    // The cursor of a page is the position of its last user, base64url of [key, id].
+    private static final class Position implements Comparable<Position> {
+
+        private final Object key;
+        private final String id;
+        private final User user;
+
+        private Position(Object key, String id, User user) {
+            this.key = key;
+            this.id = id;
+            this.user = user;
+        }
+
+        static Position of(User user, String sort) {
+            Object key;
+            switch (sort) {
+                case UserQuery.SORT_NAME:
+                    key = nameOf(user);
+                    break;
+                case UserQuery.SORT_EMAIL:
+                    key = user.getEmail();
+                    break;
+                case UserQuery.SORT_AGE:
+                    key = user.hasAge() ? Integer.valueOf(user.getAgeValue()) : null;
+                    break;
+                case UserQuery.SORT_CREATED_AT:
+                    key = user.getCreatedAt();
+                    break;
+                default:
+                    key = user.getId();
+                    break;
+            }
+            return new Position(key, user.getId(), user);
+        }
+
+        // null unless the cursor holds a position of the same sort order
+        static Position decode(String cursor, String sort) {
+            try {
+                JsonNode position = UserJson.mapper().readTree(Base64.getUrlDecoder().decode(cursor));
+                if (position == null || !position.isArray() || position.size() != 2 || !position.get(1).isTextual()) {
+                    return null;
+                }
+                JsonNode key = position.get(0);
+                String id = position.get(1).asText();
+                if (key.isNull()) {
+                    return new Position(null, id, null);
+                }
+                if (sort.equals(UserQuery.SORT_AGE)) {
+                    return key.isNumber() ? new Position(key.asDouble(), id, null) : null;
+                }
+                return key.isTextual() ? new Position(key.asText(), id, null) : null;
+            } catch (IOException | IllegalArgumentException e) {
+                return null;
+            }
+        }
+
+        String encode() {
+            try {
+                return Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString(UserJson.mapper().writeValueAsBytes(Arrays.asList(key, id)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Not able to write cursor", e);
+            }
+        }
+
+        @Override
+        public int compareTo(Position other) {
+            if (key == null || other.key == null) {
+                if (key != other.key) {
+                    return key == null ? 1 : -1;
+                }
+            } else {
+                int byKey = key instanceof Number
+                        ? Double.compare(((Number) key).doubleValue(), ((Number) other.key).doubleValue())
+                        : ((String) key).compareTo((String) other.key);
+                if (byKey != 0) {
+                    return byKey;
+                }
+            }
+            return id.compareTo(other.id);
+        }
+    }
+
+    // Status, content type and body of one answer, body is empty for 304
+    public static final class Reply {
+
+        private final int status;
+        private final String contentType;
+        private final byte[] body;
+        private final String etag;
+
+        Reply(int status, String contentType, byte[] body) {
+            this(status, contentType, body, null);
+        }
+
+        Reply(int status, String contentType, byte[] body, String etag) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+}
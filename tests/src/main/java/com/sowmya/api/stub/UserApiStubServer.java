@@ -0,0 +1,167 @@
+package com.sowmya.api.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+// Java stand-in for the Node backend, serving UserApi over HTTP on a free loopback port.
+// Starts in milliseconds and keeps its users in memory, so every JVM (and every surefire fork)
+// can run its own copy. Selected for UserServiceHelper with backend.mode=stub.
+public class UserApiStubServer {
+
+    private final UserApi api;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public UserApiStubServer(UserApi api, int port) {
+        this.api = api;
+        // without TCP_NODELAY a keep-alive client waits out delayed ACKs between headers and body
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to start the stub server", e);
+        }
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(ConfigManager.getInstance().getInt("stub.server.threads", 16), runnable -> {
+            Thread thread = new Thread(runnable, "user-api-stub-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    // Server with an empty store and the configured login, on a free port
+    public static UserApiStubServer create() {
+        TestConfig config = ConfigManager.getInstance().getConfig();
+        UserApi api = new UserApi(new UserStore()).addAccount(config.getAuthUsername(), config.getAuthPassword());
+        return new UserApiStubServer(api, 0);
+    }
+
+    // One server per JVM, started on first use and stopped when the JVM exits
+    private static class Holder {
+        private static final UserApiStubServer SHARED = create().start();
+
+        static {
+            Runtime.getRuntime().addShutdownHook(new Thread(SHARED::stop, "user-api-stub-stop"));
+        }
+    }
+
+    public static UserApiStubServer shared() {
+        return Holder.SHARED;
+    }
+
+    public static boolean isEnabled() {
+        return "stub".equalsIgnoreCase(ConfigManager.getInstance().getConfig().getBackendMode());
+    }
+
+    public UserApiStubServer start() {
+        server.start();
+        System.out.println("User API stub listening on " + getBaseUrl() + ":" + getPort());
+        return this;
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getAddress().getHostAddress();
+    }
+
+    public UserApi getApi() {
+        return api;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Map<String, String> headers = new HashMap<>();
+            for (Map.Entry<String, List<String>> header : exchange.getRequestHeaders().entrySet()) {
+                headers.put(header.getKey().toLowerCase(Locale.ROOT), String.join(", ", header.getValue()));
+            }
+            Headers responseHeaders = exchange.getResponseHeaders();
+            responseHeaders.set("Access-Control-Allow-Origin", "*");
+            responseHeaders.set("Access-Control-Expose-Headers", "X-Request-Id,Server-Timing");
+
+            String method = exchange.getRequestMethod();
+            if ("OPTIONS".equalsIgnoreCase(method)) {
+                // cors() preflight
+                responseHeaders.set("Access-Control-Allow-Methods", "GET,HEAD,PUT,PATCH,POST,DELETE");
+                String requested = headers.get("access-control-request-headers");
+                if (requested != null) {
+                    responseHeaders.set("Access-Control-Allow-Headers", requested);
+                }
+                exchange.sendResponseHeaders(204, -1);
+                return;
+            }
+
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = readAll(in);
+            }
+            // the raw query goes along for the paged listing, UserApi decodes it
+            String query = exchange.getRequestURI().getRawQuery();
+            String path = exchange.getRequestURI().getPath() + (query == null ? "" : "?" + query);
+            long start = System.nanoTime();
+            UserApi.Reply reply = api.handle(method, path, headers, body);
+            // same as the backend: the caller's request id back, and the time spent handling the call
+            String requestId = headers.get("x-request-id");
+            if (requestId != null) {
+                responseHeaders.set("X-Request-Id", requestId);
+            }
+            responseHeaders.set("Server-Timing",
+                    String.format(Locale.ROOT, "app;dur=%.2f", (System.nanoTime() - start) / 1_000_000.0));
+
+            if (reply.getContentType() != null) {
+                responseHeaders.set("Content-Type", reply.getContentType());
+            }
+            if (reply.getEtag() != null) {
+                responseHeaders.set("ETag", reply.getEtag());
+            }
+            boolean noBody = reply.getStatus() == 304 || "HEAD".equalsIgnoreCase(method);
+            if (noBody) {
+                exchange.sendResponseHeaders(reply.getStatus(), -1);
+            } else {
+                exchange.sendResponseHeaders(reply.getStatus(), reply.getBody().length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(reply.getBody());
+                }
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,129 @@
+package com.sowmya.api.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sowmya.api.model.User;
+
+// In-memory replacement for data/users.json.
+// Reads never lock: users are looked up by id and email through concurrent indexes and listed in
+// insertion order, like the backend's array. Writes are serialized so the email uniqueness check
+// and the change it guards happen atomically. Stored User objects are never modified, an update
+// stores a new copy, so a reader never sees a half written user.
+public class UserStore {
+
+    private final ConcurrentHashMap<String, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> idByEmail = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, User> inOrder = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    public User get(String id) {
+        Entry entry = byId.get(id);
+        return entry == null ? null : entry.user;
+    }
+
+    public User getByEmail(String email) {
+        String id = idByEmail.get(email);
+        return id == null ? null : get(id);
+    }
+
+    // True when another user than exceptId already has this email
+    public boolean emailTaken(String email, String exceptId) {
+        String id = idByEmail.get(email);
+        return id != null && !id.equals(exceptId);
+    }
+
+    public List<User> list() {
+        return new ArrayList<>(inOrder.values());
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Adds the user unless its email is taken, returns false in that case.
+    // A user with the id of a stored one takes its place.
+    public synchronized boolean insert(User user) {
+        if (user.getEmail() != null && emailTaken(user.getEmail(), user.getId())) {
+            return false;
+        }
+        Entry current = byId.get(user.getId());
+        long position = current != null ? current.position : sequence.incrementAndGet();
+        byId.put(user.getId(), new Entry(position, user));
+        inOrder.put(position, user);
+        if (current != null && current.user.getEmail() != null && !current.user.getEmail().equals(user.getEmail())) {
+            idByEmail.remove(current.user.getEmail(), user.getId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+        return true;
+    }
+
+    // Replaces the stored user with the same id, keeping its position.
+    // Returns false when the user is gone or the new email belongs to someone else.
+    public synchronized boolean replace(User user) {
+        Entry current = byId.get(user.getId());
+        if (current == null || (user.getEmail() != null && emailTaken(user.getEmail(), user.getId()))) {
+            return false;
+        }
+        byId.put(user.getId(), new Entry(current.position, user));
+        inOrder.put(current.position, user);
+        String oldEmail = current.user.getEmail();
+        if (oldEmail != null && !oldEmail.equals(user.getEmail())) {
+            idByEmail.remove(oldEmail, user.getId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.put(user.getEmail(), user.getId());
+        }
+        return true;
+    }
+
+    public synchronized User remove(String id) {
+        Entry entry = byId.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        inOrder.remove(entry.position);
+        if (entry.user.getEmail() != null) {
+            idByEmail.remove(entry.user.getEmail(), id);
+        }
+        return entry.user;
+    }
+
+    public synchronized void clear() {
+        byId.clear();
+        idByEmail.clear();
+        inOrder.clear();
+    }
+
+    // Copy of a user, for callers that want to change it before replace()
+    public static User copy(User source) {
+        User user = new User();
+        user.setId(source.getId());
+        user.setName(source.getName());
+        user.setEmail(source.getEmail());
+        user.setAge(source.getAge());
+        user.setCreatedAt(source.getCreatedAt());
+        user.setUpdatedAt(source.getUpdatedAt());
+        for (Map.Entry<String, Object> extra : source.getAdditionalProperties().entrySet()) {
+            user.setAdditionalProperty(extra.getKey(), extra.getValue());
+        }
+        return user;
+    }
+
+    private static final class Entry {
+
+        private final long position;
+        private final User user;
+
+        Entry(long position, User user) {
+            this.position = position;
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.sowmya.api.timing;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+// CPU time and allocated bytes of the current thread, from the JVM's ThreadMXBean (0 where the JVM
+// can't measure them). RequestTimingFilter takes them around every API call and adds them to the
+// thread's in-call totals, so a test can tell the cost of the calls (RestAssured, Groovy, Jackson,
+// HttpClient) from the cost of its own code.
+public final class ClientCost {
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final com.sun.management.ThreadMXBean HOTSPOT = THREADS instanceof com.sun.management.ThreadMXBean
+            ? (com.sun.management.ThreadMXBean) THREADS : null;
+    private static final boolean CPU = THREADS.isCurrentThreadCpuTimeSupported();
+    private static final boolean ALLOCATION = HOTSPOT != null && HOTSPOT.isThreadAllocatedMemorySupported();
+    // cpu nanos, allocated bytes and calls made by this thread inside RequestTimingFilter
+    private static final ThreadLocal<long[]> IN_CALLS = ThreadLocal.withInitial(() -> new long[3]);
+
+    static {
+        if (CPU && !THREADS.isThreadCpuTimeEnabled()) {
+            THREADS.setThreadCpuTimeEnabled(true);
+        }
+        if (ALLOCATION && !HOTSPOT.isThreadAllocatedMemoryEnabled()) {
+            HOTSPOT.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    private ClientCost() {
+    }
+
+    public static boolean isSupported() {
+        return CPU && ALLOCATION;
+    }
+
+    public static long cpuNanos() {
+        return CPU ? THREADS.getCurrentThreadCpuTime() : 0;
+    }
+
+    public static long allocatedBytes() {
+        return ALLOCATION ? HOTSPOT.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    // Totals of the calls made by this thread so far: {cpu nanos, allocated bytes, calls}
+    public static long[] inCalls() {
+        return IN_CALLS.get().clone();
+    }
+
+    static void addCall(long cpuNanos, long allocatedBytes) {
+        long[] totals = IN_CALLS.get();
+        totals[0] += cpuNanos;
+        totals[1] += allocatedBytes;
+        totals[2]++;
+    }
+}
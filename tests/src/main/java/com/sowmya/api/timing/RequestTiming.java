@@ -0,0 +1,109 @@
+package com.sowmya.api.timing;
+
+// Where the time of one API call went, filled by RequestTimingFilter and its HttpClient hooks.
+// client: RestAssured and HttpClient building the request and leasing a connection, connect excluded
+// connect: opening a new connection, 0 when a keep-alive connection was reused
+// ttfb: from sending the request until the response headers arrived (upload, server time, network)
+// server: the backend's own processing time from its Server-Timing header, -1 when it sent none
+// download: reading the response body after the headers
+// cpu / allocated: what the call cost the calling thread, 0 without timing.client.cost
+public class RequestTiming {
+
+    private final String requestId;
+    private final String method;
+    private final String endpoint;
+    long startNanos;
+    long connectNanos;
+    long sendNanos;
+    long headersNanos;
+    long endNanos;
+    boolean reused;
+    int status;
+    long serverMicros = -1;
+    long cpuNanos;
+    long allocatedBytes;
+
+    RequestTiming(String requestId, String method, String endpoint) {
+        this.requestId = requestId;
+        this.method = method;
+        this.endpoint = endpoint;
+    }
+
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    // The path as written by the caller, e.g. /api/users/{id}
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    // True when the call went out on a keep-alive connection opened by an earlier call
+    public boolean isReused() {
+        return reused;
+    }
+
+    public long getClientMicros() {
+        long until = sendNanos != 0 ? sendNanos : headersNanos != 0 ? headersNanos : endNanos;
+        return Math.max(0, until - startNanos - connectNanos) / 1_000;
+    }
+
+    public long getConnectMicros() {
+        return connectNanos / 1_000;
+    }
+
+    public long getTtfbMicros() {
+        return headersNanos == 0 || sendNanos == 0 ? 0 : (headersNanos - sendNanos) / 1_000;
+    }
+
+    public long getServerMicros() {
+        return serverMicros;
+    }
+
+    // Time to first byte the server can't account for: upload, network and queueing
+    public long getNetworkMicros() {
+        return serverMicros < 0 ? -1 : Math.max(0, getTtfbMicros() - serverMicros);
+    }
+
+    public long getDownloadMicros() {
+        return headersNanos == 0 ? 0 : (endNanos - headersNanos) / 1_000;
+    }
+
+    public long getCpuNanos() {
+        return cpuNanos;
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    public long getTotalMicros() {
+        return (endNanos - startNanos) / 1_000;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder line = new StringBuilder();
+        line.append(requestId).append(' ').append(method).append(' ').append(endpoint).append(' ').append(status)
+                .append(String.format(" total %.1f ms: client %.1f, connect %.1f%s, ttfb %.1f",
+                        getTotalMicros() / 1000.0, getClientMicros() / 1000.0, getConnectMicros() / 1000.0,
+                        reused ? " (reused)" : "", getTtfbMicros() / 1000.0));
+        if (serverMicros >= 0) {
+            line.append(String.format(" (server %.1f, network %.1f)", serverMicros / 1000.0,
+                    getNetworkMicros() / 1000.0));
+        }
+        line.append(String.format(", download %.1f", getDownloadMicros() / 1000.0));
+        if (cpuNanos > 0) {
+            line.append(String.format(", client CPU %.1f ms, %d KB allocated", cpuNanos / 1e6, allocatedBytes / 1024));
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,311 @@
+package com.sowmya.api.timing;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.Header;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.protocol.HttpContext;
+
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+// RestAssured filter that sends a unique X-Request-Id with every call and splits its time into
+// client / connect / time to first byte / download (see RequestTiming). The split points come from the
+// HttpClient: the connection managers below time the TCP connects, the interceptors added by
+// instrument() run once the request is about to be sent and once the response headers are in, and
+// RestAssured has read the body when the filter chain returns.
+// Calls slower than timing.log.slow.ms are logged with their id (0 logs every call), the backend echoes
+// the id and reports its own time in Server-Timing, so a slow call can be found on both sides.
+// With timing.client.cost the CPU time and allocations of the calling thread are taken as well (see
+// ClientCost), so the averages per endpoint printed when the JVM exits show whether a call costs more
+// on the client than on the server.
+// RestAssured 4.x only works with the deprecated httpclient 4 client and connection classes, they are
+// written out in full instead of imported so the suppression covers them.
+@SuppressWarnings("deprecation")
+public class RequestTimingFilter implements Filter {
+
+    public static final String REQUEST_ID = "X-Request-Id";
+
+    private static volatile RequestTimingFilter installed;
+    // the call in flight on this thread, for the HttpClient interceptors
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<RequestTiming> LAST = new ThreadLocal<>();
+
+    private final long slowMicros;
+    private final boolean cost;
+    private final String run = Long.toString(System.currentTimeMillis(), 36)
+            + Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private volatile boolean printed;
+
+    public RequestTimingFilter(long slowMillis, boolean cost) {
+        this.slowMicros = slowMillis * 1_000;
+        this.cost = cost;
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.getInstance().getBoolean("timing.enabled", false);
+    }
+
+    // Adds a filter for timing.enabled / timing.log.slow.ms / timing.client.cost to RestAssured's
+    // global filters, once per JVM
+    public static void installIfEnabled() {
+        if (installed != null || !isEnabled()) {
+            return;
+        }
+        synchronized (RequestTimingFilter.class) {
+            if (installed != null) {
+                return;
+            }
+            ConfigManager config = ConfigManager.getInstance();
+            RequestTimingFilter filter = new RequestTimingFilter(config.getLong("timing.log.slow.ms", 1000),
+                    config.getBoolean("timing.client.cost", true));
+            RestAssured.filters(filter);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (!filter.printed) {
+                    filter.printStats();
+                }
+            }, "request-timing-stats"));
+            installed = filter;
+        }
+    }
+
+    // Adds the connect / first byte interceptors, they do nothing for calls outside the filter
+    public static <T extends org.apache.http.impl.client.AbstractHttpClient> T instrument(T client) {
+        client.addRequestInterceptor((request, context) -> {
+            RequestTiming timing = CURRENT.get();
+            if (timing != null && timing.sendNanos == 0) {
+                timing.sendNanos = System.nanoTime();
+                timing.reused = isReused(context);
+            }
+        });
+        client.addResponseInterceptor((response, context) -> {
+            RequestTiming timing = CURRENT.get();
+            if (timing != null) {
+                // the last one wins when HttpClient follows a redirect
+                timing.headersNanos = System.nanoTime();
+                timing.serverMicros = serverMicros(response);
+            }
+        });
+        return client;
+    }
+
+    // Keep-alive pool whose TCP connects are timed for the call in flight
+    public static org.apache.http.impl.conn.PoolingClientConnectionManager newPooledConnectionManager() {
+        return new org.apache.http.impl.conn.PoolingClientConnectionManager() {
+            @Override
+            protected org.apache.http.conn.ClientConnectionOperator createConnectionOperator(
+                    org.apache.http.conn.scheme.SchemeRegistry schemes) {
+                return new TimedConnectionOperator(schemes);
+            }
+        };
+    }
+
+    // RestAssured's default, a connection per client, with the connect timed
+    public static org.apache.http.impl.conn.BasicClientConnectionManager newConnectionManager() {
+        return new org.apache.http.impl.conn.BasicClientConnectionManager() {
+            @Override
+            protected org.apache.http.conn.ClientConnectionOperator createConnectionOperator(
+                    org.apache.http.conn.scheme.SchemeRegistry schemes) {
+                return new TimedConnectionOperator(schemes);
+            }
+        };
+    }
+
+    // The timing of the last call made by this thread, null before the first one
+    public static RequestTiming lastOnThisThread() {
+        return LAST.get();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification request, FilterableResponseSpecification responseSpec,
+            FilterContext context) {
+        String path = request.getUserDefinedPath();
+        RequestTiming timing = new RequestTiming(run + "-" + Long.toString(sequence.incrementAndGet(), 36),
+                request.getMethod(), path == null || path.isEmpty() ? "/" : path);
+        request.header(REQUEST_ID, timing.getRequestId());
+        CURRENT.set(timing);
+        long cpu = cost ? ClientCost.cpuNanos() : 0;
+        long allocated = cost ? ClientCost.allocatedBytes() : 0;
+        timing.startNanos = System.nanoTime();
+        try {
+            Response response = context.next(request, responseSpec);
+            timing.endNanos = System.nanoTime();
+            timing.status = response.getStatusCode();
+            return response;
+        } finally {
+            if (timing.endNanos == 0) {
+                timing.endNanos = System.nanoTime();
+            }
+            if (cost) {
+                timing.cpuNanos = ClientCost.cpuNanos() - cpu;
+                timing.allocatedBytes = ClientCost.allocatedBytes() - allocated;
+                ClientCost.addCall(timing.cpuNanos, timing.allocatedBytes);
+            }
+            CURRENT.remove();
+            LAST.set(timing);
+            record(timing);
+        }
+    }
+
+    private void record(RequestTiming timing) {
+        endpoints.computeIfAbsent(timing.getMethod() + " " + timing.getEndpoint(), key -> new EndpointStats())
+                .add(timing);
+        if (timing.getTotalMicros() >= slowMicros) {
+            System.out.println("Request " + timing);
+        }
+    }
+
+    // Prints the stats of the installed filter now, e.g. when a suite finishes, instead of at exit
+    // where surefire may no longer pass the output on
+    public static void printInstalledStats() {
+        RequestTimingFilter filter = installed;
+        if (filter != null) {
+            filter.printStats();
+        }
+    }
+
+    public void printStats() {
+        printed = true;
+        EndpointStats all = new EndpointStats();
+        for (Map.Entry<String, EndpointStats> entry : new TreeMap<>(endpoints).entrySet()) {
+            System.out.println("Request timing " + entry.getKey() + ": " + entry.getValue());
+            all.addAll(entry.getValue());
+        }
+        if (cost && all.count > 0 && all.serverCount > 0) {
+            // the load generator is the bottleneck when a call costs it more CPU than the server spends on it
+            System.out.println(String.format("Client vs server: %.2f ms client CPU and %.1f KB allocated per call,"
+                    + " %.2f ms server time per call", all.cpu / 1e6 / all.count, all.allocated / 1024.0 / all.count,
+                    all.server / 1000.0 / all.serverCount));
+        }
+    }
+
+    private static boolean isReused(HttpContext context) {
+        Object connection = context.getAttribute(org.apache.http.protocol.ExecutionContext.HTTP_CONNECTION);
+        // the request being sent isn't counted yet
+        return connection instanceof HttpConnection
+                && ((HttpConnection) connection).getMetrics().getRequestCount() > 0;
+    }
+
+    // app;dur=1.25 from Server-Timing, in micros
+    private static long serverMicros(HttpResponse response) {
+        Header header = response.getFirstHeader("Server-Timing");
+        if (header == null) {
+            return -1;
+        }
+        String value = header.getValue();
+        int dur = value.indexOf("dur=");
+        if (dur < 0) {
+            return -1;
+        }
+        int end = dur + 4;
+        while (end < value.length() && (Character.isDigit(value.charAt(end)) || value.charAt(end) == '.')) {
+            end++;
+        }
+        try {
+            return (long) (Double.parseDouble(value.substring(dur + 4, end)) * 1000);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static class TimedConnectionOperator
+            extends org.apache.http.impl.conn.DefaultClientConnectionOperator {
+
+        TimedConnectionOperator(org.apache.http.conn.scheme.SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public void openConnection(org.apache.http.conn.OperatedClientConnection connection, HttpHost target,
+                InetAddress local, HttpContext context, org.apache.http.params.HttpParams params) throws IOException {
+            long start = System.nanoTime();
+            try {
+                super.openConnection(connection, target, local, context, params);
+            } finally {
+                RequestTiming timing = CURRENT.get();
+                if (timing != null) {
+                    // DNS, TCP and, for https, the TLS handshake
+                    timing.connectNanos += System.nanoTime() - start;
+                }
+            }
+        }
+    }
+
+    private static class EndpointStats {
+
+        private long count;
+        private long client;
+        private long connect;
+        private long ttfb;
+        private long server;
+        private long serverCount;
+        private long download;
+        private long reused;
+        private long cpu;
+        private long allocated;
+        private long slowest = -1;
+        private String slowestId;
+
+        synchronized void add(RequestTiming timing) {
+            count++;
+            client += timing.getClientMicros();
+            connect += timing.getConnectMicros();
+            ttfb += timing.getTtfbMicros();
+            download += timing.getDownloadMicros();
+            if (timing.getServerMicros() >= 0) {
+                server += timing.getServerMicros();
+                serverCount++;
+            }
+            if (timing.isReused()) {
+                reused++;
+            }
+            cpu += timing.getCpuNanos();
+            allocated += timing.getAllocatedBytes();
+            if (timing.getTotalMicros() > slowest) {
+                slowest = timing.getTotalMicros();
+                slowestId = timing.getRequestId();
+            }
+        }
+
+        synchronized void addAll(EndpointStats other) {
+            synchronized (other) {
+                count += other.count;
+                server += other.server;
+                serverCount += other.serverCount;
+                cpu += other.cpu;
+                allocated += other.allocated;
+            }
+        }
+
+        @Override
+        public synchronized String toString() {
+            String line = String.format("%d calls (%d reused), avg client %.2f ms, connect %.2f ms, ttfb %.2f ms",
+                    count, reused, client / 1000.0 / count, connect / 1000.0 / count, ttfb / 1000.0 / count);
+            if (serverCount > 0) {
+                line += String.format(" (server %.2f ms)", server / 1000.0 / serverCount);
+            }
+            line += String.format(", download %.2f ms", download / 1000.0 / count);
+            if (cpu > 0) {
+                line += String.format(", client CPU %.2f ms, %.1f KB allocated", cpu / 1e6 / count,
+                        allocated / 1024.0 / count);
+            }
+            return line + String.format(", slowest %.1f ms (%s)", slowest / 1000.0, slowestId);
+        }
+    }
+}
@@ -2,57 +2,133 @@ package com.sowmya.api.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
 
 public class ConfigManager {
 
-    private static ConfigManager manager;
-    private static final Properties prop = new Properties();
-    
+    // System property / environment variable that selects a profile, e.g. -Dprofile=load
+    public static final String PROFILE_PROPERTY = "profile";
+    public static final String PROFILE_ENV = "TEST_PROFILE";
+
+    private final String profile;
+    private final Map<String, String> values;
+    private final TestConfig config;
+
+    // Layers, lowest first: config.properties, config-<profile>.properties, environment, system properties.
+    // Everything is resolved once here, lookups afterwards are plain map reads.
     private ConfigManager () throws IOException{
 
-        InputStream inputStream = ConfigManager.class.getResourceAsStream("/config.properties");
-        System.out.println("Loading configuration from: " + inputStream);
-        prop.load(inputStream);
-    }
+        Properties prop = new Properties();
+        load(prop, "/config.properties");
+
+        profile = firstNonEmpty(System.getProperty(PROFILE_PROPERTY), System.getenv(PROFILE_ENV));
+        if (profile != null) {
+            load(prop, "/config-" + profile.toLowerCase(Locale.ROOT) + ".properties");
+        }
+
+        Map<String, String> resolved = new HashMap<>();
+        for (String key : prop.stringPropertyNames()) {
+            resolved.put(key, prop.getProperty(key).trim());
+        }
+        for (String key : prop.stringPropertyNames()) {
+            String envValue = System.getenv(toEnvName(key));
+            if (envValue != null) {
+                resolved.put(key, envValue.trim());
+            }
+        }
+        Properties systemProperties = System.getProperties();
+        for (String key : systemProperties.stringPropertyNames()) {
+            resolved.put(key, systemProperties.getProperty(key));
+        }
 
-    public void loadProperties() throws IOException {
+        values = Collections.unmodifiableMap(resolved);
+        config = new TestConfig(this);
+        System.out.println("Loaded configuration, profile: " + (profile == null ? "default" : profile));
+    }
 
-        InputStream inputStream = ConfigManager.class.getResourceAsStream("/config.properties");
-        if (inputStream != null) {
+    private static void load(Properties prop, String resource) throws IOException {
+        try (InputStream inputStream = ConfigManager.class.getResourceAsStream(resource)) {
+            if (inputStream == null) {
+                throw new IOException("Not able to find " + resource);
+            }
             prop.load(inputStream);
-            inputStream.close();
-        } else {
-            throw new IOException("Not able to find config.properties");
         }
     }
-    
-    public static ConfigManager getInstance(){
 
-        if (manager == null){
-            synchronized (ConfigManager.class){
-                try{
-                manager = new ConfigManager();
-                }catch(IOException e){
-                    e.printStackTrace();
-                }
-                }
+    // browser.headless -> BROWSER_HEADLESS, base_url -> BASE_URL
+    static String toEnvName(String key) {
+        return key.replace('.', '_').replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+
+    private static String firstNonEmpty(String first, String second) {
+        if (first != null && !first.trim().isEmpty()) {
+            return first.trim();
+        }
+        if (second != null && !second.trim().isEmpty()) {
+            return second.trim();
+        }
+        return null;
+    }
 
+    // Initialization-on-demand holder, the JVM guarantees safe publication of INSTANCE
+    private static class Holder {
+        private static final ConfigManager INSTANCE = create();
+
+        private static ConfigManager create() {
+            try {
+                return new ConfigManager();
+            } catch (IOException e) {
+                throw new IllegalStateException("Not able to load configuration", e);
             }
-            return manager;
         }
+    }
+
+    public static ConfigManager getInstance(){
+        return Holder.INSTANCE;
+    }
+
+    // Typed, immutable view of the settings used by helpers and tests
+    public TestConfig getConfig() {
+        return config;
+    }
+
+    // Active profile name, or null when running with the defaults only
+    public String getProfile() {
+        return profile;
+    }
+
     public String geString(String key) {
-            return System.getProperty(key, prop.getProperty(key));
+            return values.get(key);
     }
 
     public String getProperty(String key, String defaultValue) {
-        String systemProperty = System.getProperty(key);
-        if (systemProperty != null) {
-            return systemProperty;
-        }
-        return prop.getProperty(key, defaultValue);
+        String value = values.get(key);
+        return value != null ? value : defaultValue;
     }
-        
-}
 
+    public int getInt(String key, int defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Integer.parseInt(value);
+    }
+
+    public long getLong(String key, long defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Long.parseLong(value);
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        String value = values.get(key);
+        return value == null || value.isEmpty() ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+}
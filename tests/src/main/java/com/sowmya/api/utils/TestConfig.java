@@ -0,0 +1,147 @@
+package com.sowmya.api.utils;
+
+// Immutable, typed snapshot of the settings every run needs.
+// Built once by ConfigManager so hot paths never parse strings again.
+public final class TestConfig {
+
+    private final String profile;
+    private final String baseUrl;
+    private final int backendPort;
+    private final int frontendPort;
+    private final String backendMode;
+    private final int httpPoolSize;
+    private final int fixturePoolSize;
+    private final int fixturePoolThreads;
+    private final String authUsername;
+    private final String authPassword;
+
+    private final boolean browserHeadless;
+    private final double browserSlowMo;
+    private final double browserTimeout;
+
+    private final boolean screenshotEnabled;
+    private final String screenshotPath;
+    private final boolean screenshotAlways;
+    private final int screenshotRingSize;
+
+    private final boolean retryEnabled;
+    private final int retryCount;
+
+    TestConfig(ConfigManager manager) {
+        this.profile = manager.getProfile() == null ? "default" : manager.getProfile();
+        this.baseUrl = manager.getProperty("base_url", "http://localhost");
+        this.backendPort = manager.getInt("backend_port", 5000);
+        this.frontendPort = manager.getInt("frontend_port", 3000);
+        this.backendMode = manager.getProperty("backend.mode", "live");
+        this.httpPoolSize = manager.getInt("http.pool.size", 0);
+        this.fixturePoolSize = manager.getInt("fixture.pool.size", 8);
+        this.fixturePoolThreads = manager.getInt("fixture.pool.threads", 8);
+        this.authUsername = manager.getProperty("auth_username", "admin");
+        this.authPassword = manager.getProperty("auth_password", "password123");
+        this.browserHeadless = manager.getBoolean("browser.headless", true);
+        this.browserSlowMo = manager.getDouble("browser.slowmo", 0);
+        this.browserTimeout = manager.getDouble("browser.timeout", 10000);
+        this.screenshotEnabled = manager.getBoolean("screenshot.enabled", true);
+        this.screenshotPath = manager.getProperty("screenshot.path", "target/screenshots");
+        this.screenshotAlways = manager.getBoolean("screenshot.always", false);
+        this.screenshotRingSize = manager.getInt("screenshot.ring.size", 8);
+        this.retryEnabled = manager.getBoolean("retry.enabled", false);
+        this.retryCount = manager.getInt("retry.count", 0);
+    }
+
+    public String getProfile() {
+        return profile;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getBackendPort() {
+        return backendPort;
+    }
+
+    public int getFrontendPort() {
+        return frontendPort;
+    }
+
+    // live uses the Node backend on backend_port, stub an in-process UserApiStubServer
+    public String getBackendMode() {
+        return backendMode;
+    }
+
+    public boolean isStubBackend() {
+        return "stub".equalsIgnoreCase(backendMode);
+    }
+
+    // Threads for helpers that create / change / delete users in parallel. Only the stub gets more
+    // than one: the Node backend rewrites its whole users.json per change and takes one at a time.
+    public int writerThreads(int configured) {
+        return isStubBackend() ? Math.max(1, configured) : 1;
+    }
+
+    public int getHttpPoolSize() {
+        return httpPoolSize;
+    }
+
+    public int getFixturePoolSize() {
+        return fixturePoolSize;
+    }
+
+    public int getFixturePoolThreads() {
+        return fixturePoolThreads;
+    }
+
+    public String getFrontendUrl() {
+        return baseUrl + ":" + frontendPort;
+    }
+
+    public String getBackendUrl() {
+        return baseUrl + ":" + backendPort;
+    }
+
+    public String getAuthUsername() {
+        return authUsername;
+    }
+
+    public String getAuthPassword() {
+        return authPassword;
+    }
+
+    public boolean isBrowserHeadless() {
+        return browserHeadless;
+    }
+
+    public double getBrowserSlowMo() {
+        return browserSlowMo;
+    }
+
+    public double getBrowserTimeout() {
+        return browserTimeout;
+    }
+
+    public boolean isScreenshotEnabled() {
+        return screenshotEnabled;
+    }
+
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+
+    // Persist the screenshots of passing tests too, by default only failures are written
+    public boolean isScreenshotAlways() {
+        return screenshotAlways;
+    }
+
+    public int getScreenshotRingSize() {
+        return screenshotRingSize;
+    }
+
+    public boolean isRetryEnabled() {
+        return retryEnabled;
+    }
+
+    public int getRetryCount() {
+        return retryCount;
+    }
+}
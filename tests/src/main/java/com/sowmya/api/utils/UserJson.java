@@ -0,0 +1,93 @@
+package com.sowmya.api.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sowmya.api.model.BulkResult;
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserPage;
+
+// Shared, pre-built Jackson readers and writers for user payloads.
+// ObjectReader / ObjectWriter are immutable and thread safe, so they are built once and reused.
+public final class UserJson {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final ObjectReader USER_READER = MAPPER.readerFor(User.class);
+    private static final ObjectReader USER_LIST_READER = MAPPER.readerFor(new TypeReference<List<User>>(){});
+    private static final ObjectReader PAGE_READER = MAPPER.readerFor(UserPage.class);
+    private static final ObjectReader BULK_RESULT_READER = MAPPER.readerFor(BulkResult.class);
+    private static final ObjectWriter USER_WRITER = MAPPER.writerFor(User.class);
+    private static final ObjectWriter USER_LIST_WRITER = MAPPER.writerFor(new TypeReference<List<User>>(){});
+
+    private UserJson() {
+    }
+
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    public static User readUser(byte[] json) {
+        try {
+            return USER_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to parse user", e);
+        }
+    }
+
+    public static List<User> readUsers(byte[] json) {
+        try {
+            return USER_LIST_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to parse user list", e);
+        }
+    }
+
+    public static List<User> readUsers(InputStream json) {
+        try {
+            return USER_LIST_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to parse user list", e);
+        }
+    }
+
+    public static UserPage readPage(byte[] json) {
+        try {
+            return PAGE_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to parse user page", e);
+        }
+    }
+
+    public static BulkResult readBulkResult(byte[] json) {
+        try {
+            return BULK_RESULT_READER.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to parse bulk result", e);
+        }
+    }
+
+    public static byte[] writeUser(User user) {
+        try {
+            return USER_WRITER.writeValueAsBytes(user);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write user", e);
+        }
+    }
+
+    public static byte[] writeUsers(List<User> users) {
+        try {
+            return USER_LIST_WRITER.writeValueAsBytes(users);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write user list", e);
+        }
+    }
+}
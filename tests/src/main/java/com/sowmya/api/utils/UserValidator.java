@@ -0,0 +1,179 @@
+package com.sowmya.api.utils;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+// Java copy of the create / update validation in backend/server.js (isValidEmail, isValidAge and
+// the required-field checks), including JavaScript truthiness and Number() coercion, so stand-ins
+// and oracles answer exactly like the Node backend. Request bodies are the maps Jackson parses JSON into.
+public final class UserValidator {
+
+    public static final String NAME_AND_EMAIL_REQUIRED = "Name and email are required";
+    public static final String INVALID_EMAIL = "Email must contain @ symbol and be in valid format";
+    public static final String INVALID_AGE = "Age must be a valid number between 0 and 150, or omitted entirely";
+    public static final String EMAIL_EXISTS = "Email already exists";
+
+    // /^[^\s@]+@[^\s@]+\.[^\s@]+$/ with JavaScript's definition of \s
+    private static final String JS_SPACE = "\\t\\n\\u000B\\f\\r \\u00A0\\u1680\\u2000-\\u200A\\u2028\\u2029\\u202F\\u205F\\u3000\\uFEFF";
+    private static final Pattern EMAIL = Pattern.compile("^[^" + JS_SPACE + "@]+@[^" + JS_SPACE + "@]+\\.[^" + JS_SPACE + "@]+$");
+    private static final Pattern DECIMAL = Pattern.compile("[+-]?(\\d+\\.?\\d*|\\.\\d+)([eE][+-]?\\d+)?");
+    private static final Pattern JS_TRIM = Pattern.compile("^[" + JS_SPACE + "]+|[" + JS_SPACE + "]+$");
+
+    private UserValidator() {
+    }
+
+    // Error message the backend would answer with for a POST / PUT body, or null when the body is accepted.
+    // Email uniqueness is not checked here, it needs the store.
+    public static String validate(Map<String, Object> body) {
+        Object name = body.get("name");
+        Object email = body.get("email");
+        if (!isTruthy(name) || !isTruthy(email)) {
+            return NAME_AND_EMAIL_REQUIRED;
+        }
+        if (!isValidEmail(email)) {
+            return INVALID_EMAIL;
+        }
+        if (!isValidAge(body.containsKey("age"), body.get("age"))) {
+            return INVALID_AGE;
+        }
+        return null;
+    }
+
+    public static boolean isValidEmail(Object email) {
+        if (!isTruthy(email) || !(email instanceof String) || !((String) email).contains("@")) {
+            return false;
+        }
+        return EMAIL.matcher((String) email).matches();
+    }
+
+    // present=false is JavaScript undefined, which is allowed
+    public static boolean isValidAge(boolean present, Object age) {
+        if (!present) {
+            return true;
+        }
+        if (age == null || "".equals(age)) {
+            return false;
+        }
+        double number = toNumber(age);
+        if (Double.isNaN(number)) {
+            return false;
+        }
+        return number == Math.rint(number) && !Double.isInfinite(number) && number >= 0 && number <= 150;
+    }
+
+    // Value the backend stores for a valid age: Number(age)
+    public static Integer storedAge(boolean present, Object age) {
+        return present ? (int) toNumber(age) : null;
+    }
+
+    // JavaScript truthiness for values Jackson produces
+    public static boolean isTruthy(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof String) {
+            return !((String) value).isEmpty();
+        }
+        if (value instanceof Number) {
+            double number = ((Number) value).doubleValue();
+            return number != 0 && !Double.isNaN(number);
+        }
+        // arrays and objects are always truthy
+        return true;
+    }
+
+    // JavaScript Number(value) for values Jackson produces
+    public static double toNumber(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        if (value instanceof String) {
+            return stringToNumber((String) value);
+        }
+        if (value instanceof List) {
+            // arrays convert through their join(",") string
+            return stringToNumber(join((List<?>) value));
+        }
+        // plain objects become "[object Object]"
+        return Double.NaN;
+    }
+
+    // JavaScript String(value) for values Jackson produces
+    public static String toJsString(Object value) {
+        if (value instanceof List) {
+            return join((List<?>) value);
+        }
+        if (value instanceof Map) {
+            return "[object Object]";
+        }
+        if (value instanceof Double && ((Double) value) == Math.rint((Double) value) && !Double.isInfinite((Double) value)) {
+            return String.valueOf(((Double) value).longValue());
+        }
+        return String.valueOf(value);
+    }
+
+    private static String join(List<?> values) {
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                joined.append(',');
+            }
+            Object value = values.get(i);
+            if (value instanceof List) {
+                joined.append(join((List<?>) value));
+            } else if (value instanceof Map) {
+                joined.append("[object Object]");
+            } else if (value instanceof Double && ((Double) value) == Math.rint((Double) value)
+                    && !Double.isInfinite((Double) value)) {
+                joined.append(((Double) value).longValue());
+            } else if (value != null) {
+                joined.append(value);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static double stringToNumber(String value) {
+        String text = JS_TRIM.matcher(value).replaceAll("");
+        if (text.isEmpty()) {
+            return 0;
+        }
+        switch (text) {
+            case "Infinity":
+            case "+Infinity":
+                return Double.POSITIVE_INFINITY;
+            case "-Infinity":
+                return Double.NEGATIVE_INFINITY;
+            default:
+                break;
+        }
+        if (text.length() > 2 && text.charAt(0) == '0') {
+            char prefix = Character.toLowerCase(text.charAt(1));
+            int radix = prefix == 'x' ? 16 : prefix == 'o' ? 8 : prefix == 'b' ? 2 : 0;
+            if (radix != 0) {
+                String digits = text.substring(2);
+                for (int i = 0; i < digits.length(); i++) {
+                    if (digits.charAt(i) > 127 || Character.digit(digits.charAt(i), radix) < 0) {
+                        return Double.NaN;
+                    }
+                }
+                return new BigInteger(digits, radix).doubleValue();
+            }
+        }
+        if (!DECIMAL.matcher(text).matches()) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(text);
+    }
+}
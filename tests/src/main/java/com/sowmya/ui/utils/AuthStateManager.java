@@ -0,0 +1,100 @@
+package com.sowmya.ui.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+import com.sowmya.api.utils.UserJson;
+
+import io.restassured.response.Response;
+
+// Logs in once per run through the API and saves a Playwright storage state that seeds the
+// localStorage entries AuthContext reads on mount (authToken and user).
+// Contexts created with this state open straight on the authenticated UserApp page.
+public class AuthStateManager {
+
+    private static final AuthStateManager INSTANCE = new AuthStateManager();
+
+    private final TestConfig config = ConfigManager.getInstance().getConfig();
+    private final Path statePath = Paths.get("target", "auth", "storage-state.json");
+    private volatile boolean created;
+
+    private AuthStateManager() {
+    }
+
+    public static AuthStateManager getInstance() {
+        return INSTANCE;
+    }
+
+    // Storage state file for the configured user, created on first call
+    public Path getStorageState() {
+        if (!created) {
+            synchronized (this) {
+                if (!created) {
+                    createStorageState();
+                    created = true;
+                }
+            }
+        }
+        return statePath;
+    }
+
+    private void createStorageState() {
+        try {
+            ObjectMapper mapper = UserJson.mapper();
+            JsonNode login = MockApiRouter.isEnabled() ? mockLogin(mapper) : apiLogin(mapper);
+
+            Map<String, Object> token = new LinkedHashMap<>();
+            token.put("name", "authToken");
+            token.put("value", login.get("token").asText());
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("name", "user");
+            user.put("value", mapper.writeValueAsString(login.get("user")));
+
+            Map<String, Object> origin = new LinkedHashMap<>();
+            origin.put("origin", config.getFrontendUrl());
+            origin.put("localStorage", List.of(token, user));
+
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("cookies", Collections.emptyList());
+            state.put("origins", List.of(origin));
+
+            Files.createDirectories(statePath.getParent());
+            mapper.writeValue(statePath.toFile(), state);
+            System.out.println("Saved authenticated browser state to " + statePath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to write browser storage state", e);
+        }
+    }
+
+    private JsonNode apiLogin(ObjectMapper mapper) throws IOException {
+        Response response = new UserServiceHelper().loginUser(config.getAuthUsername(), config.getAuthPassword());
+        if (response.getStatusCode() != 200) {
+            throw new IllegalStateException("API login failed with status " + response.getStatusCode()
+                    + ", check if backend is running");
+        }
+        return mapper.readTree(response.asByteArray());
+    }
+
+    // With the mocked backend there is nothing to log in to, MockApiRouter accepts MOCK_TOKEN
+    private JsonNode mockLogin(ObjectMapper mapper) {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("username", config.getAuthUsername());
+        user.put("role", "admin");
+        Map<String, Object> login = new LinkedHashMap<>();
+        login.put("token", MockApiRouter.MOCK_TOKEN);
+        login.put("user", user);
+        return mapper.valueToTree(login);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sowmya.ui.utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+// Browsers shared by every UI test class in the run.
+// Playwright objects must stay on the thread that created them, so the pool keeps one
+// Playwright + Chromium per test thread and reuses it for every class and method that thread runs.
+// Tests get isolation from a fresh BrowserContext each, which is cheap compared to a browser launch.
+public class BrowserPool {
+
+    private static final BrowserPool INSTANCE = new BrowserPool();
+
+    private final TestConfig config = ConfigManager.getInstance().getConfig();
+    private final ThreadLocal<Session> sessions = new ThreadLocal<>();
+    private final Queue<Session> allSessions = new ConcurrentLinkedQueue<>();
+
+    private BrowserPool() {
+    }
+
+    public static BrowserPool getInstance() {
+        return INSTANCE;
+    }
+
+    // Browser owned by the calling thread, launched on first use
+    public Browser browser() {
+        Session session = sessions.get();
+        if (session == null || !session.browser.isConnected()) {
+            session = new Session(Playwright.create());
+            sessions.set(session);
+            allSessions.add(session);
+        }
+        return session.browser;
+    }
+
+    public BrowserContext newContext() {
+        return newContext(defaultContextOptions());
+    }
+
+    public BrowserContext newContext(Browser.NewContextOptions options) {
+        BrowserContext context = browser().newContext(options);
+        context.setDefaultTimeout(config.getBrowserTimeout());
+        return context;
+    }
+
+    public Browser.NewContextOptions defaultContextOptions() {
+        return new Browser.NewContextOptions().setViewportSize(1280, 720);
+    }
+
+    public int size() {
+        return allSessions.size();
+    }
+
+    // Closes every pooled browser, called once at the end of the suite
+    public void shutdown() {
+        Session session;
+        while ((session = allSessions.poll()) != null) {
+            session.close();
+        }
+    }
+
+    private final class Session {
+
+        private final Playwright playwright;
+        private final Browser browser;
+
+        Session(Playwright playwright) {
+            this.playwright = playwright;
+            this.browser = playwright.chromium().launch(
+                new BrowserType.LaunchOptions()
+                    .setHeadless(config.isBrowserHeadless())
+                    .setSlowMo(config.getBrowserSlowMo())
+                );
+        }
+
+        void close() {
+            try {
+                browser.close();
+            } catch (Exception e) {
+                System.out.println("Failed to close browser:" + e.getMessage());
+            }
+            try {
+                playwright.close();
+            } catch (Exception e) {
+                System.out.println("Failed to close playwright:" + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.sowmya.ui.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.model.User;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+import io.restassured.response.Response;
+
+// Repeats the API calls a UI test made, directly through UserServiceHelper, and returns the
+// average response time per "METHOD /api/path" key as used by HarAnalyzer.
+// Calls that change data work on a temporary user that is removed again, every login sample logs its
+// own session out again; logout itself is not repeated because it would end the shared session.
+public class DirectApiTimer {
+
+    // har.compare.<millis><n>@, digits only so LeakedUserSweeper's pattern matches leftovers
+    private static final AtomicLong TEMPORARY_USERS = new AtomicLong();
+
+    private final UserServiceHelper helper = new UserServiceHelper();
+    private final TestConfig config = ConfigManager.getInstance().getConfig();
+    private final int samples;
+
+    public DirectApiTimer(int samples) {
+        this.samples = Math.max(1, samples);
+    }
+
+    public Map<String, Double> measure(Iterable<String> keys) {
+        if (helper.getAuthToken() == null) {
+            helper.autheticateUser(config.getAuthUsername(), config.getAuthPassword());
+        }
+        Map<String, Double> results = new LinkedHashMap<>();
+        for (String key : keys) {
+            results.put(key, measure(key));
+        }
+        return results;
+    }
+
+    // Average in milliseconds, NaN when the call is not repeated
+    public double measure(String key) {
+        double total = 0;
+        for (int i = 0; i < samples; i++) {
+            double time = sample(key);
+            if (Double.isNaN(time)) {
+                return Double.NaN;
+            }
+            total += time;
+        }
+        return total / samples;
+    }
+
+    private double sample(String key) {
+        switch (key) {
+            case "GET /api/health":
+                return time(helper::healthCheck);
+            case "GET /api/auth/verify":
+                return time(helper::verifyToken);
+            case "POST /api/auth/login": {
+                Response login = helper.loginUser(config.getAuthUsername(), config.getAuthPassword());
+                if (login.getStatusCode() == 200) {
+                    new UserServiceHelper().useOwnToken(login.jsonPath().getString("token")).logoutUser();
+                }
+                return login.getTimeIn(TimeUnit.NANOSECONDS) / 1_000_000.0;
+            }
+            case "GET /api/users":
+                return time(helper::getAllUsersResponse);
+            case "POST /api/users": {
+                Response created = helper.createUser(temporaryUser());
+                double time = created.getTimeIn(TimeUnit.NANOSECONDS) / 1_000_000.0;
+                removeUser(created);
+                return time;
+            }
+            case "GET /api/users/{id}":
+                return withTemporaryUser(id -> time(() -> helper.getUserById(id)));
+            case "PUT /api/users/{id}":
+                return withTemporaryUser(id -> time(() -> helper.updateUser(id, temporaryUser())));
+            case "DELETE /api/users/{id}": {
+                String id = createTemporaryUser();
+                return id == null ? Double.NaN : time(() -> helper.deleteUser(id));
+            }
+            default:
+                return Double.NaN;
+        }
+    }
+
+    private double withTemporaryUser(Function<String, Double> call) {
+        String id = createTemporaryUser();
+        if (id == null) {
+            return Double.NaN;
+        }
+        try {
+            return call.apply(id);
+        } finally {
+            helper.deleteUser(id);
+        }
+    }
+
+    private String createTemporaryUser() {
+        Response created = helper.createUser(temporaryUser());
+        return created.getStatusCode() == 201 ? created.jsonPath().getString("id") : null;
+    }
+
+    private void removeUser(Response created) {
+        if (created.getStatusCode() == 201) {
+            helper.deleteUser(created.jsonPath().getString("id"));
+        }
+    }
+
+    private static User temporaryUser() {
+        User user = new User();
+        user.setName("Har Compare");
+        user.setEmail("har.compare." + System.currentTimeMillis() + TEMPORARY_USERS.incrementAndGet() + "@example.com");
+        user.setAge(30);
+        return user;
+    }
+
+    private static double time(Supplier<Response> call) {
+        return call.get().getTimeIn(TimeUnit.NANOSECONDS) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,261 @@
+package com.sowmya.ui.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sowmya.api.utils.UserJson;
+
+// Reads a HAR recorded by Playwright and breaks every /api call of the frontend down into
+// DNS, connect, send, wait (time to first byte) and receive time.
+// Every call is reported on its own, then grouped per endpoint (ids in the path replaced by {id}) and
+// set side by side with the same calls made directly from Java (see DirectApiTimer) to split browser
+// from backend time.
+public class HarAnalyzer {
+
+    private static final Pattern USER_ID = Pattern.compile("(/api/users/)[^/]+$");
+
+    private HarAnalyzer() {
+    }
+
+    public static List<ApiCall> parse(Path har) {
+        try {
+            JsonNode entries = UserJson.mapper().readTree(har.toFile()).path("log").path("entries");
+            List<ApiCall> calls = new ArrayList<>();
+            for (JsonNode entry : entries) {
+                String url = entry.path("request").path("url").asText();
+                String path = URI.create(url).getPath();
+                if (path == null || !path.startsWith("/api/")) {
+                    continue;
+                }
+                String method = entry.path("request").path("method").asText();
+                if ("OPTIONS".equals(method)) {
+                    continue;
+                }
+                JsonNode timings = entry.path("timings");
+                calls.add(new ApiCall(method, url, endpoint(path), entry.path("response").path("status").asInt(),
+                        timing(timings, "blocked"), timing(timings, "dns"), timing(timings, "connect"),
+                        timing(timings, "send"), timing(timings, "wait"), timing(timings, "receive"),
+                        entry.path("time").asDouble()));
+            }
+            return calls;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Not able to read HAR " + har, e);
+        }
+    }
+
+    // Averages per "METHOD /api/path", in the order the endpoints were first called
+    public static Map<String, Summary> summarize(List<ApiCall> calls) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        for (ApiCall call : calls) {
+            summaries.computeIfAbsent(call.getKey(), key -> new Summary(call)).add(call);
+        }
+        return summaries;
+    }
+
+    // Every call in order, then the averages per endpoint with the direct Java timing when given
+    // (NaN = not measured)
+    public static List<String> report(List<ApiCall> calls, Map<String, Summary> summaries, Map<String, Double> directMs) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format(Locale.ROOT, "%-6s %-50s %6s %8s %8s %8s %8s %8s %8s %9s",
+                "method", "url", "status", "blocked", "dns", "connect", "send", "wait", "receive", "browser"));
+        for (ApiCall call : calls) {
+            lines.add(String.format(Locale.ROOT, "%-6s %-50s %6d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f",
+                    call.method, call.url, call.status, call.blocked, call.dns, call.connect, call.send,
+                    call.wait, call.receive, call.total));
+        }
+        lines.add("");
+        lines.add(String.format(Locale.ROOT, "%-28s %5s %8s %8s %8s %8s %8s %8s %9s %9s",
+                "endpoint", "calls", "blocked", "dns", "connect", "send", "wait", "receive", "browser", "direct"));
+        for (Summary summary : summaries.values()) {
+            Double direct = directMs.get(summary.key);
+            lines.add(String.format(Locale.ROOT, "%-28s %5d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %9.1f %9s",
+                    summary.key, summary.count, summary.avg(summary.blocked), summary.avg(summary.dns),
+                    summary.avg(summary.connect), summary.avg(summary.send), summary.avg(summary.wait),
+                    summary.avg(summary.receive), summary.avg(summary.total),
+                    direct == null || direct.isNaN() ? "n/a" : String.format(Locale.ROOT, "%.1f", direct)));
+        }
+        return lines;
+    }
+
+    // One "call" row per /api call (url, status, its phases), then one "endpoint" row per endpoint with
+    // the call count, average phases and direct timing; columns that don't apply to a row stay empty
+    public static void writeCsv(Path file, List<ApiCall> calls, Map<String, Summary> summaries,
+            Map<String, Double> directMs) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("row,method,url,status,calls,blocked_ms,dns_ms,connect_ms,send_ms,wait_ms,receive_ms,browser_ms,direct_ms");
+        for (ApiCall call : calls) {
+            lines.add(String.format(Locale.ROOT, "call,%s,%s,%d,1,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,",
+                    call.method, csv(call.url), call.status, call.blocked, call.dns, call.connect, call.send,
+                    call.wait, call.receive, call.total));
+        }
+        for (Summary summary : summaries.values()) {
+            Double direct = directMs.get(summary.key);
+            lines.add(String.format(Locale.ROOT, "endpoint,%s,%s,,%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,%s",
+                    summary.method, csv(summary.endpoint), summary.count, summary.avg(summary.blocked),
+                    summary.avg(summary.dns), summary.avg(summary.connect), summary.avg(summary.send),
+                    summary.avg(summary.wait), summary.avg(summary.receive), summary.avg(summary.total),
+                    direct == null || direct.isNaN() ? "" : String.format(Locale.ROOT, "%.2f", direct)));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+    }
+
+    // Query strings may hold commas and quotes
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    static String endpoint(String path) {
+        return USER_ID.matcher(path).replaceFirst("$1{id}");
+    }
+
+    // HAR uses -1 for phases that did not happen, e.g. dns and connect on a reused connection
+    private static double timing(JsonNode timings, String name) {
+        double value = timings.path(name).asDouble(-1);
+        return value < 0 ? 0 : value;
+    }
+
+    public static final class ApiCall {
+
+        private final String method;
+        private final String url;
+        private final String endpoint;
+        private final int status;
+        private final double blocked;
+        private final double dns;
+        private final double connect;
+        private final double send;
+        private final double wait;
+        private final double receive;
+        private final double total;
+
+        ApiCall(String method, String url, String endpoint, int status, double blocked, double dns,
+                double connect, double send, double wait, double receive, double total) {
+            this.method = method;
+            this.url = url;
+            this.endpoint = endpoint;
+            this.status = status;
+            this.blocked = blocked;
+            this.dns = dns;
+            this.connect = connect;
+            this.send = send;
+            this.wait = wait;
+            this.receive = receive;
+            this.total = total;
+        }
+
+        public String getKey() {
+            return method + " " + endpoint;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public double getBlocked() {
+            return blocked;
+        }
+
+        public double getDns() {
+            return dns;
+        }
+
+        public double getConnect() {
+            return connect;
+        }
+
+        public double getSend() {
+            return send;
+        }
+
+        public double getWait() {
+            return wait;
+        }
+
+        public double getReceive() {
+            return receive;
+        }
+
+        public double getTotal() {
+            return total;
+        }
+    }
+
+    public static final class Summary {
+
+        private final String key;
+        private final String method;
+        private final String endpoint;
+        private int count;
+        private double blocked;
+        private double dns;
+        private double connect;
+        private double send;
+        private double wait;
+        private double receive;
+        private double total;
+
+        Summary(ApiCall first) {
+            this.key = first.getKey();
+            this.method = first.method;
+            this.endpoint = first.endpoint;
+        }
+
+        void add(ApiCall call) {
+            count++;
+            blocked += call.blocked;
+            dns += call.dns;
+            connect += call.connect;
+            send += call.send;
+            wait += call.wait;
+            receive += call.receive;
+            total += call.total;
+        }
+
+        private double avg(double sum) {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getAvgWait() {
+            return avg(wait);
+        }
+
+        public double getAvgTotal() {
+            return avg(total);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.sowmya.ui.utils;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import com.sowmya.api.model.User;
+import com.sowmya.api.stub.UserApi;
+import com.sowmya.api.stub.UserStore;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+import com.sowmya.api.utils.TestDataManager;
+import com.sowmya.api.utils.UserJson;
+
+// Serves the /api/* calls of the frontend from memory through Playwright routing, so UI tests
+// run without the Node backend and UI timings exclude backend file I/O.
+// Users are seeded from Testdata.json (or a given list), the routes themselves are UserApi, the same
+// stand-in UserApiStubServer serves. An optional artificial latency is applied to every call; the
+// route handler runs on the test thread, so the delay also holds back other browser events.
+public class MockApiRouter {
+
+    // Token used for the stored login state when the backend is mocked
+    public static final String MOCK_TOKEN = "mock-session-token";
+
+    private final UserApi api;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final Random random = new Random(42);
+
+    public MockApiRouter(List<User> seedUsers, long latencyMs, long jitterMs) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        TestConfig config = ConfigManager.getInstance().getConfig();
+        api = new UserApi(new UserStore()).addAccount(config.getAuthUsername(), config.getAuthPassword());
+        api.addSession(MOCK_TOKEN, config.getAuthUsername());
+
+        long id = System.currentTimeMillis();
+        for (User seed : seedUsers) {
+            User user = UserStore.copy(seed);
+            if (user.getId() == null) {
+                user.setId(Long.toString(id++, 36));
+            }
+            if (user.getCreatedAt() == null) {
+                user.setCreatedAt(UserApi.now());
+            }
+            if (user.getUpdatedAt() == null) {
+                user.setUpdatedAt(user.getCreatedAt());
+            }
+            api.getStore().insert(user);
+        }
+    }
+
+    // Router seeded with the valid users from Testdata.json and latency from mock.api.* config
+    public static MockApiRouter fromTestData() {
+        return withUsers(TestDataManager.getInstance().getValidUsers());
+    }
+
+    public static MockApiRouter withUsers(List<User> users) {
+        ConfigManager config = ConfigManager.getInstance();
+        return new MockApiRouter(users,
+                config.getLong("mock.api.latency.ms", 0),
+                config.getLong("mock.api.latency.jitter.ms", 0));
+    }
+
+    public static boolean isEnabled() {
+        return "mock".equalsIgnoreCase(ConfigManager.getInstance().getProperty("ui.backend.mode", "live"));
+    }
+
+    public void install(BrowserContext context) {
+        context.route("**/api/**", this::handle);
+    }
+
+    // Logs every page of the context in with MOCK_TOKEN, for contexts created without a storage state
+    public void installSession(BrowserContext context) {
+        try {
+            String user = UserJson.mapper().writeValueAsString(sessionUser());
+            context.addInitScript("localStorage.setItem('authToken', '" + MOCK_TOKEN + "');"
+                    + "localStorage.setItem('user', " + UserJson.mapper().writeValueAsString(user) + ");");
+        } catch (IOException e) {
+            throw new IllegalStateException("Not able to write mock session", e);
+        }
+    }
+
+    public int size() {
+        return api.getStore().size();
+    }
+
+    private void handle(Route route) {
+        Request request = route.request();
+        if ("OPTIONS".equals(request.method())) {
+            // CORS preflight, the frontend calls the API on another port
+            route.fulfill(new Route.FulfillOptions().setStatus(204).setHeaders(corsHeaders()));
+            return;
+        }
+        delay();
+
+        UserApi.Reply reply = api.handle(request.method(), path(request.url()), request.headers(), request.postDataBuffer());
+        Map<String, String> headers = corsHeaders();
+        if (reply.getContentType() != null) {
+            headers.put("Content-Type", reply.getContentType());
+        }
+        if (reply.getEtag() != null) {
+            headers.put("ETag", reply.getEtag());
+        }
+        route.fulfill(new Route.FulfillOptions()
+                .setStatus(reply.getStatus())
+                .setHeaders(headers)
+                .setBodyBytes(reply.getBody()));
+    }
+
+    private void delay() {
+        long delay = latencyMs + (jitterMs > 0 ? (long) (random.nextDouble() * jitterMs) : 0);
+        if (delay <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Map<String, Object> sessionUser() {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("username", ConfigManager.getInstance().getConfig().getAuthUsername());
+        user.put("role", "admin");
+        return user;
+    }
+
+    // Path and query, UserApi needs the query for the paged listing
+    private static String path(String url) {
+        int start = url.indexOf("/api/");
+        String path = start < 0 ? url : url.substring(start);
+        int fragment = path.indexOf('#');
+        return fragment < 0 ? path : path.substring(0, fragment);
+    }
+
+    private static Map<String, String> corsHeaders() {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("Access-Control-Allow-Origin", "*");
+        headers.put("Access-Control-Allow-Headers", "Content-Type, Authorization");
+        headers.put("Access-Control-Allow-Methods", "GET,HEAD,PUT,PATCH,POST,DELETE");
+        return headers;
+    }
+}
@@ -0,0 +1,105 @@
+package com.sowmya.ui.utils;
+
+import java.util.Collections;
+import java.util.List;
+
+// Browser side performance numbers captured for one page or UI step.
+// Timings are in milliseconds, a negative value means the browser did not report the metric.
+public class PageMetrics {
+
+    private final String label;
+    private final double lcp;
+    private final double cls;
+    private final double inp;
+    private final double fid;
+    private final double ttfb;
+    private final double domContentLoaded;
+    private final double load;
+    private final double longTaskTotal;
+    private final List<ResourceTiming> resources;
+
+    public PageMetrics(String label, double lcp, double cls, double inp, double fid, double ttfb,
+            double domContentLoaded, double load, double longTaskTotal, List<ResourceTiming> resources) {
+        this.label = label;
+        this.lcp = lcp;
+        this.cls = cls;
+        this.inp = inp;
+        this.fid = fid;
+        this.ttfb = ttfb;
+        this.domContentLoaded = domContentLoaded;
+        this.load = load;
+        this.longTaskTotal = longTaskTotal;
+        this.resources = Collections.unmodifiableList(resources);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public double getLcp() {
+        return lcp;
+    }
+
+    public double getCls() {
+        return cls;
+    }
+
+    public double getInp() {
+        return inp;
+    }
+
+    public double getFid() {
+        return fid;
+    }
+
+    public double getTtfb() {
+        return ttfb;
+    }
+
+    public double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public double getLoad() {
+        return load;
+    }
+
+    public double getLongTaskTotal() {
+        return longTaskTotal;
+    }
+
+    public List<ResourceTiming> getResources() {
+        return resources;
+    }
+
+    public static class ResourceTiming {
+
+        private final String name;
+        private final String initiatorType;
+        private final double duration;
+        private final double transferSize;
+
+        public ResourceTiming(String name, String initiatorType, double duration, double transferSize) {
+            this.name = name;
+            this.initiatorType = initiatorType;
+            this.duration = duration;
+            this.transferSize = transferSize;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getInitiatorType() {
+            return initiatorType;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        public double getTransferSize() {
+            return transferSize;
+        }
+    }
+}
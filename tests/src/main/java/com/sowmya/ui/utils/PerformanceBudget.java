@@ -0,0 +1,64 @@
+package com.sowmya.ui.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Upper limits for the captured page metrics, read from perf.budget.* in the active profile.
+// A budget of 0 or less switches that check off.
+public class PerformanceBudget {
+
+    private final double lcpMs;
+    private final double cls;
+    private final double inpMs;
+    private final double fidMs;
+    private final double ttfbMs;
+    private final double loadMs;
+    private final double resourceMs;
+
+    public PerformanceBudget(double lcpMs, double cls, double inpMs, double fidMs, double ttfbMs,
+            double loadMs, double resourceMs) {
+        this.lcpMs = lcpMs;
+        this.cls = cls;
+        this.inpMs = inpMs;
+        this.fidMs = fidMs;
+        this.ttfbMs = ttfbMs;
+        this.loadMs = loadMs;
+        this.resourceMs = resourceMs;
+    }
+
+    public static PerformanceBudget fromConfig() {
+        ConfigManager config = ConfigManager.getInstance();
+        return new PerformanceBudget(
+                config.getDouble("perf.budget.lcp.ms", 2500),
+                config.getDouble("perf.budget.cls", 0.1),
+                config.getDouble("perf.budget.inp.ms", 200),
+                config.getDouble("perf.budget.fid.ms", 100),
+                config.getDouble("perf.budget.ttfb.ms", 800),
+                config.getDouble("perf.budget.load.ms", 4000),
+                config.getDouble("perf.budget.resource.ms", 2000));
+    }
+
+    // Human readable list of every metric over budget, empty when the page is within budget
+    public List<String> check(PageMetrics metrics) {
+        List<String> violations = new ArrayList<>();
+        check(violations, metrics.getLabel(), "LCP", metrics.getLcp(), lcpMs, "ms");
+        check(violations, metrics.getLabel(), "CLS", metrics.getCls(), cls, "");
+        check(violations, metrics.getLabel(), "INP", metrics.getInp(), inpMs, "ms");
+        check(violations, metrics.getLabel(), "FID", metrics.getFid(), fidMs, "ms");
+        check(violations, metrics.getLabel(), "TTFB", metrics.getTtfb(), ttfbMs, "ms");
+        check(violations, metrics.getLabel(), "load", metrics.getLoad(), loadMs, "ms");
+        for (PageMetrics.ResourceTiming resource : metrics.getResources()) {
+            check(violations, metrics.getLabel(), resource.getName(), resource.getDuration(), resourceMs, "ms");
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String label, String metric, double value,
+            double budget, String unit) {
+        if (budget > 0 && value >= 0 && value > budget) {
+            violations.add(String.format("%s: %s %.2f%s over budget %.2f%s", label, metric, value, unit, budget, unit));
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.sowmya.ui.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotType;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+// Keeps the most recent screenshots of the running test in memory and writes them only when
+// the test fails (or for every test with screenshot.always=true).
+// Step frames are viewport JPEGs, the browser encodes them and nothing touches the disk unless
+// persist() is called. Files are written on a background thread, the test thread never waits for I/O.
+public class ScreenshotService {
+
+    private static final ScreenshotService INSTANCE = new ScreenshotService();
+    private static final int JPEG_QUALITY = 70;
+
+    private final TestConfig config = ConfigManager.getInstance().getConfig();
+    private final ThreadLocal<ArrayDeque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScreenshotService() {
+    }
+
+    public static ScreenshotService getInstance() {
+        return INSTANCE;
+    }
+
+    // Adds a frame of the current viewport to the calling thread's ring, dropping the oldest when full
+    public void capture(Page page, String name) {
+        int ringSize = config.getScreenshotRingSize();
+        if (!config.isScreenshotEnabled() || ringSize <= 0) {
+            return;
+        }
+        try {
+            byte[] image = page.screenshot(new Page.ScreenshotOptions()
+                    .setType(ScreenshotType.JPEG)
+                    .setQuality(JPEG_QUALITY));
+            add(new Frame(name, "jpg", image), ringSize);
+        } catch (Exception e) {
+            System.out.println("Failed to take screenshot:" + e.getMessage());
+        }
+    }
+
+    // Full page PNG of the final state, taken when a test fails
+    public void captureFailure(Page page, String name) {
+        if (!config.isScreenshotEnabled()) {
+            return;
+        }
+        try {
+            byte[] image = page.screenshot(new Page.ScreenshotOptions().setFullPage(true));
+            add(new Frame(name, "png", image), Math.max(1, config.getScreenshotRingSize() + 1));
+        } catch (Exception e) {
+            System.out.println("Failed to take failure screenshot:" + e.getMessage());
+        }
+    }
+
+    // Hands the buffered frames of the calling thread to the writer, under <screenshot.path>/<testName>/
+    public void persist(String testName) {
+        ArrayDeque<Frame> ring = frames.get();
+        if (ring.isEmpty()) {
+            return;
+        }
+        List<Frame> toWrite = new ArrayList<>(ring);
+        ring.clear();
+        Path directory = Paths.get(config.getScreenshotPath(), testName);
+        pending.incrementAndGet();
+        writer.execute(() -> {
+            try {
+                Files.createDirectories(directory);
+                int index = 1;
+                for (Frame frame : toWrite) {
+                    String file = String.format("%02d_%s.%s", index++, frame.name, frame.extension);
+                    Files.write(directory.resolve(file), frame.image);
+                }
+                System.out.println("Saved " + toWrite.size() + " screenshots to " + directory);
+            } catch (IOException e) {
+                System.out.println("Failed to write screenshots:" + e.getMessage());
+            } finally {
+                pending.decrementAndGet();
+            }
+        });
+    }
+
+    // Drops the buffered frames of the calling thread, used when a test passed
+    public void discard() {
+        frames.get().clear();
+    }
+
+    // Waits for queued writes, called once at the end of the suite
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.out.println("Screenshot writer still busy, " + pending.get() + " tests not written");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void add(Frame frame, int ringSize) {
+        ArrayDeque<Frame> ring = frames.get();
+        while (ring.size() >= ringSize) {
+            ring.pollFirst();
+        }
+        ring.addLast(frame);
+    }
+
+    private static final class Frame {
+
+        private final String name;
+        private final String extension;
+        private final byte[] image;
+
+        Frame(String name, String extension, byte[] image) {
+            this.name = name.replaceAll("[^A-Za-z0-9_.-]", "_");
+            this.extension = extension;
+            this.image = image;
+        }
+    }
+}
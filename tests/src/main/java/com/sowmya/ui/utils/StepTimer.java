@@ -0,0 +1,129 @@
+package com.sowmya.ui.utils;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Records how long each named UI step (login, add, edit, delete, logout, ...) takes.
+// Durations are kept per step across all tests and threads of the run and can be
+// printed or written as CSV at the end of the suite.
+public class StepTimer {
+
+    private static final StepTimer INSTANCE = new StepTimer();
+
+    private final Map<String, Samples> steps = new ConcurrentHashMap<>();
+
+    private StepTimer() {
+    }
+
+    public static StepTimer getInstance() {
+        return INSTANCE;
+    }
+
+    public void time(String step, Runnable action) {
+        time(step, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public <T> T time(String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean passed = false;
+        try {
+            T result = action.get();
+            passed = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            record(step, elapsed);
+            System.out.println(String.format("Step [%s] %s in %d ms", step,
+                    passed ? "finished" : "failed", elapsed / 1_000_000));
+        }
+    }
+
+    public void record(String step, long nanos) {
+        steps.computeIfAbsent(step, key -> new Samples()).add(nanos);
+    }
+
+    public void printSummary() {
+        for (Map.Entry<String, Samples> entry : new TreeMap<>(steps).entrySet()) {
+            Samples samples = entry.getValue();
+            System.out.println(String.format("Step %-24s count=%d avg=%dms p95=%dms max=%dms",
+                    entry.getKey(), samples.count(), samples.average() / 1_000_000,
+                    samples.percentile(95) / 1_000_000, samples.max() / 1_000_000));
+        }
+    }
+
+    public void writeCsv(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("step,count,min_ms,avg_ms,p50_ms,p95_ms,max_ms");
+            for (Map.Entry<String, Samples> entry : new TreeMap<>(steps).entrySet()) {
+                Samples samples = entry.getValue();
+                out.println(String.format("%s,%d,%.1f,%.1f,%.1f,%.1f,%.1f", entry.getKey(), samples.count(),
+                        samples.min() / 1e6, samples.average() / 1e6, samples.percentile(50) / 1e6,
+                        samples.percentile(95) / 1e6, samples.max() / 1e6));
+            }
+        }
+    }
+
+    public void reset() {
+        steps.clear();
+    }
+
+    private static final class Samples {
+
+        private long[] values = new long[8];
+        private int count;
+
+        synchronized void add(long nanos) {
+            if (count == values.length) {
+                values = Arrays.copyOf(values, count * 2);
+            }
+            values[count++] = nanos;
+        }
+
+        synchronized int count() {
+            return count;
+        }
+
+        synchronized long min() {
+            return count == 0 ? 0 : sorted()[0];
+        }
+
+        synchronized long max() {
+            return count == 0 ? 0 : sorted()[count - 1];
+        }
+
+        synchronized long average() {
+            long total = 0;
+            for (int i = 0; i < count; i++) {
+                total += values[i];
+            }
+            return count == 0 ? 0 : total / count;
+        }
+
+        synchronized long percentile(int percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long[] sorted = sorted();
+            int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, index))];
+        }
+
+        private long[] sorted() {
+            long[] sorted = Arrays.copyOf(values, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.sowmya.ui.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+
+// Collects Web Vitals (LCP, CLS, INP, FID), navigation timing and resource timing from the page.
+// install() adds PerformanceObservers to every page of a context before the app scripts run,
+// capture() reads what they saw so far plus the resource entries since the previous capture.
+// Navigation timing and LCP belong to a document load, so only the first capture after a navigation
+// reports them (-1 afterwards); later captures of SPA steps would otherwise repeat the same values.
+public class WebVitalsCollector {
+
+    private static final String OBSERVER_SCRIPT = String.join("\n",
+        "(() => {",
+        "  const perf = window.__perfMetrics = { lcp: -1, cls: 0, inp: -1, fid: -1, longTasks: 0 };",
+        "  const observe = (type, callback, options) => {",
+        "    try {",
+        "      new PerformanceObserver(list => list.getEntries().forEach(callback))",
+        "        .observe(Object.assign({ type: type, buffered: true }, options || {}));",
+        "    } catch (e) { /* entry type not supported by this browser */ }",
+        "  };",
+        "  observe('largest-contentful-paint', e => { perf.lcp = e.renderTime || e.loadTime || e.startTime; });",
+        "  observe('layout-shift', e => { if (!e.hadRecentInput) { perf.cls += e.value; } });",
+        "  observe('first-input', e => { perf.fid = e.processingStart - e.startTime; });",
+        "  observe('event', e => { if (e.interactionId) { perf.inp = Math.max(perf.inp, e.duration); } },",
+        "    { durationThreshold: 16 });",
+        "  observe('longtask', e => { perf.longTasks += e.duration; });",
+        "})();");
+
+    private static final String CAPTURE_SCRIPT = String.join("\n",
+        "() => {",
+        "  const perf = window.__perfMetrics = window.__perfMetrics",
+        "    || { lcp: -1, cls: -1, inp: -1, fid: -1, longTasks: -1 };",
+        "  const fresh = !perf.navigationReported;",
+        "  perf.navigationReported = true;",
+        "  const nav = fresh ? performance.getEntriesByType('navigation')[0] : undefined;",
+        "  const resources = performance.getEntriesByType('resource').map(r => ({",
+        "    name: r.name, initiatorType: r.initiatorType, duration: r.duration, transferSize: r.transferSize || 0",
+        "  }));",
+        "  performance.clearResourceTimings();",
+        "  return {",
+        "    lcp: fresh ? perf.lcp : -1, cls: perf.cls, inp: perf.inp, fid: perf.fid, longTasks: perf.longTasks,",
+        "    ttfb: nav ? nav.responseStart - nav.startTime : -1,",
+        "    domContentLoaded: nav ? nav.domContentLoadedEventEnd - nav.startTime : -1,",
+        "    load: nav && nav.loadEventEnd > 0 ? nav.loadEventEnd - nav.startTime : -1,",
+        "    resources: resources",
+        "  };",
+        "}");
+
+    public void install(BrowserContext context) {
+        context.addInitScript(OBSERVER_SCRIPT);
+    }
+
+    @SuppressWarnings("unchecked")
+    public PageMetrics capture(Page page, String label) {
+        Map<String, Object> raw = (Map<String, Object>) page.evaluate(CAPTURE_SCRIPT);
+
+        List<PageMetrics.ResourceTiming> resources = new ArrayList<>();
+        for (Map<String, Object> resource : (List<Map<String, Object>>) raw.get("resources")) {
+            resources.add(new PageMetrics.ResourceTiming(
+                    String.valueOf(resource.get("name")),
+                    String.valueOf(resource.get("initiatorType")),
+                    number(resource.get("duration")),
+                    number(resource.get("transferSize"))));
+        }
+        return new PageMetrics(label,
+                number(raw.get("lcp")), number(raw.get("cls")), number(raw.get("inp")), number(raw.get("fid")),
+                number(raw.get("ttfb")), number(raw.get("domContentLoaded")), number(raw.get("load")),
+                number(raw.get("longTasks")), resources);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+}
@@ -0,0 +1,154 @@
+package com.sowmya.ui.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserJson;
+
+// Aggregates PageMetrics for the run and across runs.
+// The run summary goes to target/web-vitals.json; every sample is also appended to a history CSV
+// (perf.history.file, kept outside target so it survives mvn clean) and summarised over past runs.
+// Resource timings are aggregated per initiator type: resource.<type> holds every entry's duration
+// and transferKb the bytes a capture downloaded.
+public class WebVitalsReport {
+
+    private static final WebVitalsReport INSTANCE = new WebVitalsReport();
+    private static final String[] METRICS = {"lcp", "cls", "inp", "fid", "ttfb", "load", "longTasks"};
+
+    private final Map<String, Map<String, List<Double>>> samples = new TreeMap<>();
+    private final String runId = Instant.now().toString();
+
+    private WebVitalsReport() {
+    }
+
+    public static WebVitalsReport getInstance() {
+        return INSTANCE;
+    }
+
+    public synchronized void add(PageMetrics metrics) {
+        Map<String, List<Double>> byMetric = samples.computeIfAbsent(metrics.getLabel(), key -> new LinkedHashMap<>());
+        double[] values = values(metrics);
+        for (int i = 0; i < METRICS.length; i++) {
+            if (values[i] >= 0) {
+                byMetric.computeIfAbsent(METRICS[i], key -> new ArrayList<>()).add(values[i]);
+            }
+        }
+        if (metrics.getResources().isEmpty()) {
+            return;
+        }
+        double transferred = 0;
+        for (PageMetrics.ResourceTiming resource : metrics.getResources()) {
+            if (resource.getDuration() >= 0) {
+                byMetric.computeIfAbsent("resource." + resource.getInitiatorType(), key -> new ArrayList<>())
+                        .add(resource.getDuration());
+            }
+            transferred += Math.max(0, resource.getTransferSize());
+        }
+        byMetric.computeIfAbsent("transferKb", key -> new ArrayList<>()).add(transferred / 1024);
+    }
+
+    public synchronized void write() throws IOException {
+        if (samples.isEmpty()) {
+            return;
+        }
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runId", runId);
+        summary.put("pages", summarise(samples));
+        Path runFile = Paths.get("target", "web-vitals.json");
+        Files.createDirectories(runFile.getParent());
+        UserJson.mapper().writerWithDefaultPrettyPrinter().writeValue(runFile.toFile(), summary);
+
+        Path history = Paths.get(ConfigManager.getInstance().getProperty("perf.history.file",
+                "perf-history/web-vitals.csv"));
+        appendHistory(history);
+        printHistorySummary(history);
+    }
+
+    private void appendHistory(Path history) throws IOException {
+        if (history.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(history.toAbsolutePath().getParent());
+        }
+        boolean newFile = !Files.exists(history);
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(history, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            if (newFile) {
+                out.println("run,label,metric,value");
+            }
+            for (Map.Entry<String, Map<String, List<Double>>> page : samples.entrySet()) {
+                for (Map.Entry<String, List<Double>> metric : page.getValue().entrySet()) {
+                    for (Double value : metric.getValue()) {
+                        out.println(runId + "," + page.getKey().replace(',', ';') + "," + metric.getKey() + "," + value);
+                    }
+                }
+            }
+        }
+    }
+
+    // p75 per page and metric over every run in the history file, the way field data is usually judged
+    private void printHistorySummary(Path history) throws IOException {
+        Map<String, Map<String, List<Double>>> allRuns = new TreeMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(history, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length != 4) {
+                    continue;
+                }
+                allRuns.computeIfAbsent(columns[1], key -> new LinkedHashMap<>())
+                        .computeIfAbsent(columns[2], key -> new ArrayList<>())
+                        .add(Double.parseDouble(columns[3]));
+            }
+        }
+        for (Map.Entry<String, Map<String, List<Double>>> page : allRuns.entrySet()) {
+            StringBuilder line = new StringBuilder("Web vitals history p75 ").append(page.getKey()).append(':');
+            for (Map.Entry<String, List<Double>> metric : page.getValue().entrySet()) {
+                line.append(String.format(" %s=%.2f", metric.getKey(), percentile(metric.getValue(), 75)));
+            }
+            System.out.println(line);
+        }
+    }
+
+    private static Map<String, Object> summarise(Map<String, Map<String, List<Double>>> data) {
+        Map<String, Object> pages = new LinkedHashMap<>();
+        for (Map.Entry<String, Map<String, List<Double>>> page : data.entrySet()) {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Double>> metric : page.getValue().entrySet()) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("count", metric.getValue().size());
+                stats.put("p50", percentile(metric.getValue(), 50));
+                stats.put("p75", percentile(metric.getValue(), 75));
+                stats.put("p95", percentile(metric.getValue(), 95));
+                stats.put("max", percentile(metric.getValue(), 100));
+                metrics.put(metric.getKey(), stats);
+            }
+            pages.put(page.getKey(), metrics);
+        }
+        return pages;
+    }
+
+    private static double percentile(List<Double> values, int percentile) {
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+
+    private static double[] values(PageMetrics metrics) {
+        return new double[] {metrics.getLcp(), metrics.getCls(), metrics.getInp(), metrics.getFid(),
+                metrics.getTtfb(), metrics.getLoad(), metrics.getLongTaskTotal()};
+    }
+}
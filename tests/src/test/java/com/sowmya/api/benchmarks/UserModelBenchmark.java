@@ -0,0 +1,189 @@
+package com.sowmya.api.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sowmya.api.model.User;
+import com.sowmya.api.utils.UserJson;
+
+// Compares the compact User model against the previous annotation driven bean.
+// Reports nanoseconds and allocated bytes per user for parsing and writing a large user list.
+// Run with: mvn test -Pbenchmark -Dtest=UserModelBenchmark, wire compatibility is checked by TestUserJson
+public class UserModelBenchmark {
+
+    private static final int USER_COUNT = Integer.getInteger("benchmark.users", 50_000);
+    private static final int ROUNDS = Integer.getInteger("benchmark.rounds", 12);
+    private static final int WARMUP_ROUNDS = 4;
+
+    private final ObjectMapper legacyMapper = new ObjectMapper();
+    private byte[] payload;
+
+    @BeforeClass(alwaysRun = true)
+    public void setUp() throws Exception {
+        List<Map<String, Object>> users = new ArrayList<>(USER_COUNT);
+        for (int i = 0; i < USER_COUNT; i++) {
+            Map<String, Object> user = new LinkedHashMap<>();
+            user.put("id", "1717171717171" + Integer.toString(i, 36));
+            user.put("name", "Bench User " + i);
+            user.put("email", "bench.user." + i + "@bench.com");
+            if (i % 10 != 0) {
+                user.put("age", i % 100);
+            }
+            user.put("createdAt", "2025-08-01T10:15:30.000Z");
+            user.put("updatedAt", "2025-08-02T10:15:30.000Z");
+            users.add(user);
+        }
+        payload = legacyMapper.writeValueAsBytes(users);
+    }
+
+    @Test(groups = "benchmark", description = "Parse cost per user, compact vs legacy")
+    public void benchmarkParse() throws Exception {
+        TypeReference<List<LegacyUser>> legacyType = new TypeReference<List<LegacyUser>>(){};
+
+        Measurement legacy = new Measurement("legacy parse");
+        Measurement compact = new Measurement("compact parse");
+        for (int round = 0; round < ROUNDS; round++) {
+            legacy.start();
+            List<LegacyUser> legacyUsers = legacyMapper.readValue(payload, legacyType);
+            legacy.stop();
+            Assert.assertEquals(legacyUsers.size(), USER_COUNT);
+
+            compact.start();
+            List<User> users = UserJson.readUsers(payload);
+            compact.stop();
+            Assert.assertEquals(users.size(), USER_COUNT);
+        }
+        legacy.print();
+        compact.print();
+    }
+
+    @Test(groups = "benchmark", description = "Write cost per user, compact vs legacy")
+    public void benchmarkWrite() throws Exception {
+        List<LegacyUser> legacyUsers = legacyMapper.readValue(payload, new TypeReference<List<LegacyUser>>(){});
+        List<User> users = UserJson.readUsers(payload);
+
+        Measurement legacy = new Measurement("legacy write");
+        Measurement compact = new Measurement("compact write");
+        for (int round = 0; round < ROUNDS; round++) {
+            legacy.start();
+            legacyMapper.writeValueAsBytes(legacyUsers);
+            legacy.stop();
+
+            compact.start();
+            UserJson.writeUsers(users);
+            compact.stop();
+        }
+        legacy.print();
+        compact.print();
+    }
+
+    @Test(groups = "benchmark", description = "Retained heap per user, compact vs legacy")
+    public void benchmarkRetainedSize() throws Exception {
+        long before = usedHeap();
+        List<LegacyUser> legacyUsers = legacyMapper.readValue(payload, new TypeReference<List<LegacyUser>>(){});
+        long legacyBytes = usedHeap() - before;
+        Assert.assertEquals(legacyUsers.size(), USER_COUNT);
+        legacyUsers = null;
+
+        before = usedHeap();
+        List<User> users = UserJson.readUsers(payload);
+        long compactBytes = usedHeap() - before;
+        Assert.assertEquals(users.size(), USER_COUNT);
+
+        System.out.println(String.format("legacy retained: %.1f bytes/user", (double) legacyBytes / USER_COUNT));
+        System.out.println(String.format("compact retained: %.1f bytes/user", (double) compactBytes / USER_COUNT));
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Collects wall time and thread allocated bytes over a number of rounds, skipping the warm up rounds
+    private static final class Measurement {
+
+        private static final com.sun.management.ThreadMXBean THREADS =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        private final String name;
+        private long startNanos;
+        private long startBytes;
+        private long totalNanos;
+        private long totalBytes;
+        private int rounds;
+
+        Measurement(String name) {
+            this.name = name;
+        }
+
+        void start() {
+            startBytes = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+            startNanos = System.nanoTime();
+        }
+
+        void stop() {
+            long nanos = System.nanoTime() - startNanos;
+            long bytes = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - startBytes;
+            if (rounds++ < WARMUP_ROUNDS) {
+                return;
+            }
+            totalNanos += nanos;
+            totalBytes += bytes;
+        }
+
+        void print() {
+            long measured = Math.max(1, (long) (rounds - WARMUP_ROUNDS) * USER_COUNT);
+            System.out.println(String.format("%s: %.1f ns/user, %.1f allocated bytes/user",
+                    name, (double) totalNanos / measured, (double) totalBytes / measured));
+        }
+    }
+
+    // Copy of the previous annotation driven User model, the benchmark baseline and TestUserJson's reference
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonPropertyOrder({"id", "name", "email", "age", "createdAt", "updatedAt"})
+    public static class LegacyUser {
+
+        @JsonProperty("id")
+        public String id;
+        @JsonProperty("name")
+        public String name;
+        @JsonProperty("email")
+        public String email;
+        @JsonProperty("age")
+        public Object age;
+        @JsonProperty("createdAt")
+        public String createdAt;
+        @JsonProperty("updatedAt")
+        public String updatedAt;
+        @JsonIgnore
+        private Map<String, Object> additionalProperties = new LinkedHashMap<String, Object>();
+
+        @JsonAnyGetter
+        public Map<String, Object> getAdditionalProperties() {
+            return additionalProperties;
+        }
+
+        @JsonAnySetter
+        public void setAdditionalProperty(String name, Object value) {
+            additionalProperties.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.sowmya.api.tests;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import com.sowmya.api.timing.ClientCost;
+import com.sowmya.api.timing.RequestTimingFilter;
+import com.sowmya.api.utils.ConfigManager;
+
+// CPU time and allocations of every test method on its own thread, and the part of them spent inside
+// API calls (RequestTimingFilter), so a test that burns the client in its own code shows up next to one
+// that only waits on the server. Written to target/client-cost.csv, the most expensive
+// timing.client.cost.top methods are printed when the suite finishes.
+// Calls made from other threads (fixture pool, fuzzer workers) count for the endpoint stats only.
+// Registered through META-INF/services/org.testng.ITestNGListener.
+public class ClientCostRecorder implements IInvokedMethodListener, ISuiteListener {
+
+    private static final boolean ENABLED = RequestTimingFilter.isEnabled()
+            && ConfigManager.getInstance().getBoolean("timing.client.cost", true) && ClientCost.isSupported();
+
+    // {cpu, allocated, in-call cpu, in-call allocated, calls} at the start of the method on this thread
+    private final ThreadLocal<long[]> started = new ThreadLocal<>();
+    // {invocations, cpu, allocated, in-call cpu, in-call allocated, calls} per class#method
+    private final Map<String, long[]> methods = new TreeMap<>();
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult result) {
+        if (ENABLED && method.isTestMethod()) {
+            long[] inCalls = ClientCost.inCalls();
+            started.set(new long[] {ClientCost.cpuNanos(), ClientCost.allocatedBytes(), inCalls[0], inCalls[1],
+                    inCalls[2]});
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        long[] start = started.get();
+        if (start == null || !method.isTestMethod()) {
+            return;
+        }
+        started.remove();
+        long cpu = ClientCost.cpuNanos() - start[0];
+        long allocated = ClientCost.allocatedBytes() - start[1];
+        long[] inCalls = ClientCost.inCalls();
+        String key = method.getTestMethod().getRealClass().getSimpleName() + "#"
+                + method.getTestMethod().getMethodName();
+        synchronized (this) {
+            long[] totals = methods.computeIfAbsent(key, name -> new long[6]);
+            totals[0]++;
+            totals[1] += cpu;
+            totals[2] += allocated;
+            totals[3] += inCalls[0] - start[2];
+            totals[4] += inCalls[1] - start[3];
+            totals[5] += inCalls[2] - start[4];
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (methods.isEmpty()) {
+            return;
+        }
+        String fork = System.getProperty("schedule.fork");
+        Path file = Paths.get("target", fork == null ? "client-cost.csv" : "client-cost-fork-" + fork + ".csv");
+        try {
+            Files.createDirectories(file.getParent());
+            try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+                out.println("method,invocations,cpu_ms,allocated_kb,in_calls_cpu_ms,in_calls_allocated_kb,calls");
+                for (Map.Entry<String, long[]> entry : methods.entrySet()) {
+                    long[] t = entry.getValue();
+                    out.println(String.format("%s,%d,%.2f,%d,%.2f,%d,%d", entry.getKey(), t[0], t[1] / 1e6,
+                            t[2] / 1024, t[3] / 1e6, t[4] / 1024, t[5]));
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Failed to write client cost:" + e.getMessage());
+        }
+
+        List<Map.Entry<String, long[]>> byCpu = new ArrayList<>(methods.entrySet());
+        byCpu.sort((a, b) -> Long.compare(b.getValue()[1], a.getValue()[1]));
+        int top = ConfigManager.getInstance().getInt("timing.client.cost.top", 10);
+        System.out.println("Client cost per test method (" + file + "), top " + Math.min(top, byCpu.size())
+                + " by CPU:");
+        for (Map.Entry<String, long[]> entry : byCpu.subList(0, Math.min(top, byCpu.size()))) {
+            long[] t = entry.getValue();
+            System.out.println(String.format("  %s: %.1f ms CPU, %.1f MB allocated, %d calls using %.0f%% of it",
+                    entry.getKey(), t[1] / 1e6, t[2] / 1048576.0, t[5], t[1] == 0 ? 0 : 100.0 * t[3] / t[1]));
+        }
+        methods.clear();
+    }
+}
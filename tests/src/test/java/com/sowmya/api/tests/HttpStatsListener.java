@@ -0,0 +1,18 @@
+package com.sowmya.api.tests;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.sowmya.api.cache.ConditionalGetCache;
+import com.sowmya.api.timing.RequestTimingFilter;
+
+// Prints the request timing and response cache stats when a suite finishes, surefire may no longer
+// pass on what a JVM shutdown hook prints. Registered through META-INF/services/org.testng.ITestNGListener.
+public class HttpStatsListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        RequestTimingFilter.printInstalledStats();
+        ConditionalGetCache.printInstalledStats();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sowmya.api.tests;
+
+import java.nio.file.Path;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.sowmya.api.helpers.LeakedUserSweeper;
+import com.sowmya.api.ledger.CreatedUserLedger;
+
+// Removes users leaked by earlier, crashed runs before a suite starts (sweep.on.start=true),
+// matched by email and, with ledger.file set, every user of the ledger not deleted yet; in both cases
+// only users older than sweep.min.age.minutes. The ledgers of the forks of a forked run are swept too.
+// Registered through META-INF/services/org.testng.ITestNGListener like UserFixturePoolListener.
+public class LeakedUserSweepListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (!LeakedUserSweeper.isEnabled()) {
+            return;
+        }
+        try {
+            LeakedUserSweeper sweeper = LeakedUserSweeper.fromConfig();
+            sweeper.sweep().print();
+            if (CreatedUserLedger.isEnabled()) {
+                sweeper.sweep(CreatedUserLedger.shared()).print();
+                for (Path file : CreatedUserLedger.forkFiles()) {
+                    if (file.equals(CreatedUserLedger.sharedFile().toAbsolutePath())) {
+                        continue;
+                    }
+                    try (CreatedUserLedger ledger = CreatedUserLedger.open(file)) {
+                        sweeper.sweep(ledger).print();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // no backend yet (e.g. UI tests against mocked routes), nothing to sweep
+            System.out.println("Leaked user sweep skipped:" + e.getMessage());
+        }
+    }
+}
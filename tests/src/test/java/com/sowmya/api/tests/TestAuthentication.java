@@ -9,6 +9,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.schema.ResponseSchemas;
 import com.sowmya.api.utils.TestDataManager;
 
 import io.restassured.response.Response;
@@ -36,11 +37,8 @@ public class TestAuthentication {
 
         Assert.assertEquals(response.getStatusCode(), 200, "Expected status code 200 for valid login");
        
-        // Verify the response contails required fields
-        Assert.assertNotNull(response.jsonPath().getString("token"), "Token should not be null");
-        Assert.assertNotNull(response.jsonPath().getString("user.username"), "Username should not be null");
-        Assert.assertNotNull(response.jsonPath().getString("user.role"), "User role should not be null");
-        Assert.assertNotNull(response.jsonPath().getString("expiresAt"), "ExpiresAt should not be null");
+        // Verify the response contails required fields: token, user.username, user.role, expiresAt
+        ResponseSchemas.assertValid(response, ResponseSchemas.LOGIN);
         
         // Verify username matches
         Assert.assertEquals(response.jsonPath().getString("user.username"), 
@@ -0,0 +1,146 @@
+package com.sowmya.api.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.model.BulkResult;
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserSnapshot;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserValidator;
+
+import io.restassured.response.Response;
+
+public class TestBulkUsers {
+
+    // more than one chunk of bulk.chunk.size
+    private static final int USERS = 1200;
+
+    private final String run = "bulk" + Long.toString(System.nanoTime(), 36);
+    private final List<String> created = new ArrayList<>();
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeClass
+    public void setUp() {
+        userServiceHelper = new UserServiceHelper();
+        String token = userServiceHelper.loginUser(ConfigManager.getInstance().geString("auth_username"),
+                ConfigManager.getInstance().geString("auth_password")).jsonPath().getString("token");
+        Assert.assertNotNull(token, "Authentication failed");
+        userServiceHelper.useOwnToken(token);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (!created.isEmpty()) {
+            userServiceHelper.deleteUsers(created);
+        }
+    }
+
+    @Test(priority = 1)
+    public void testCreateManyUsersInChunks() {
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(user("Bulk User " + i, run + "." + i + "@bulk.com", 20 + i % 50));
+        }
+        long start = System.nanoTime();
+        BulkResult result = userServiceHelper.createUsers(users);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Created " + result.getSucceeded() + " users in bulk in " + millis + " ms");
+        for (User user : result.getUsers()) {
+            created.add(user.getId());
+        }
+
+        Assert.assertEquals(result.getSucceeded(), USERS);
+        Assert.assertEquals(result.getFailed(), 0);
+        Assert.assertEquals(result.getResults().size(), USERS);
+        // results come back in request order
+        Assert.assertEquals(result.getResults().get(USERS - 1).getUser().getEmail(),
+                run + "." + (USERS - 1) + "@bulk.com");
+        Assert.assertEquals(result.getResults().get(0).getStatus(), 201);
+
+        UserSnapshot snapshot = userServiceHelper.getUserSnapshot();
+        Assert.assertTrue(snapshot.containsId(created.get(0)));
+        Assert.assertTrue(snapshot.containsId(created.get(USERS - 1)));
+    }
+
+    @Test(priority = 2)
+    public void testEveryItemGetsItsOwnResult() {
+        String email = run + ".mixed@bulk.com";
+        BulkResult result = userServiceHelper.createUsers(Arrays.asList(
+                user("Mixed User", email, 30),
+                user("Bad Email", "not-an-email", 30),
+                user("Same Email", email, 31)));
+        for (User user : result.getUsers()) {
+            created.add(user.getId());
+        }
+        Assert.assertEquals(result.getSucceeded(), 1);
+        Assert.assertEquals(result.getFailed(), 2);
+        Assert.assertEquals(result.getResults().get(0).getStatus(), 201);
+        Assert.assertEquals(result.getResults().get(1).getStatus(), 400);
+        Assert.assertEquals(result.getResults().get(1).getError(), UserValidator.INVALID_EMAIL);
+        // the first item of the batch already took the email
+        Assert.assertEquals(result.getResults().get(2).getError(), UserValidator.EMAIL_EXISTS);
+    }
+
+    @Test(priority = 3)
+    public void testUpdateAndDeleteInBulk() {
+        Assert.assertFalse(created.size() < 3, "testCreateManyUsersInChunks should have created users");
+        List<Map<String, Object>> updates = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Map<String, Object> update = user("Renamed " + i, run + ".renamed." + i + "@bulk.com", 40);
+            update.put("id", created.get(i));
+            updates.add(update);
+        }
+        Map<String, Object> missing = user("Nobody", run + ".nobody@bulk.com", 40);
+        missing.put("id", "does-not-exist");
+        updates.add(missing);
+
+        BulkResult updated = userServiceHelper.updateUsers(updates);
+        Assert.assertEquals(updated.getSucceeded(), 2);
+        Assert.assertEquals(updated.getResults().get(1).getUser().getName(), "Renamed 1");
+        Assert.assertEquals(updated.getResults().get(2).getStatus(), 404);
+        Assert.assertEquals(userServiceHelper.getUserById(created.get(0)).jsonPath().getString("name"), "Renamed 0");
+
+        List<String> ids = new ArrayList<>(created.subList(0, 2));
+        ids.add("does-not-exist");
+        BulkResult deleted = userServiceHelper.deleteUsers(ids);
+        Assert.assertEquals(deleted.getSucceeded(), 2);
+        Assert.assertEquals(deleted.getResults().get(2).getStatus(), 404);
+        Assert.assertEquals(userServiceHelper.getUserById(created.get(0)).getStatusCode(), 404);
+        created.subList(0, 2).clear();
+    }
+
+    @Test(priority = 4)
+    public void testOversizedOrMalformedBatchIsRejected() {
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int i = 0; i <= Endpoints.MAX_BULK_ITEMS; i++) {
+            users.add(user("Too Many " + i, run + ".many." + i + "@bulk.com", 30));
+        }
+        Response tooMany = userServiceHelper.bulkCreateUsers(users);
+        Assert.assertEquals(tooMany.getStatusCode(), 400);
+        Assert.assertEquals(tooMany.jsonPath().getString("error"),
+                "At most " + Endpoints.MAX_BULK_ITEMS + " users per request");
+
+        Response noIds = userServiceHelper.bulkDeleteUsers(null);
+        Assert.assertEquals(noIds.getStatusCode(), 400);
+        Assert.assertEquals(noIds.jsonPath().getString("error"), "ids must be an array");
+    }
+
+    private static Map<String, Object> user(String name, String email, int age) {
+        Map<String, Object> user = new HashMap<>();
+        user.put("name", name);
+        user.put("email", email);
+        user.put("age", age);
+        return user;
+    }
+}
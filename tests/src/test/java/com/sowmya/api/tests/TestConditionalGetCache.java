@@ -0,0 +1,121 @@
+package com.sowmya.api.tests;
+
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.cache.ConditionalGetCache;
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.stub.UserApiStubServer;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+public class TestConditionalGetCache {
+
+    private UserApiStubServer server;
+    private String token;
+
+    @BeforeClass
+    public void setUp() {
+        server = UserApiStubServer.create().start();
+        token = login();
+        for (int i = 0; i < 3; i++) {
+            Response created = request(null).contentType(ContentType.JSON)
+                    .body(Map.of("name", "Cached User " + i, "email", "cached" + i + "@stub.com", "age", 30 + i))
+                    .post(Endpoints.CREATE_USER);
+            Assert.assertEquals(created.getStatusCode(), 201);
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.stop();
+    }
+
+    private String login() {
+        return RestAssured.given().baseUri(server.getBaseUrl()).port(server.getPort())
+                .contentType(ContentType.JSON)
+                .body(Map.of("username", "admin", "password", "password123"))
+                .post(Endpoints.LOGIN).jsonPath().getString("token");
+    }
+
+    private RequestSpecification request(ConditionalGetCache cache) {
+        RequestSpecification request = RestAssured.given().baseUri(server.getBaseUrl()).port(server.getPort())
+                .auth().oauth2(token);
+        // without the global filters, http.cache.enabled would put a second cache in front of this one
+        return cache == null ? request : request.noFilters().filter(cache);
+    }
+
+    @Test(priority = 1)
+    public void testUnchangedListIsServedFromCache() {
+        ConditionalGetCache cache = new ConditionalGetCache(16, 1 << 20);
+        Response first = request(cache).get(Endpoints.GET_ALL_USER);
+        Response second = request(cache).get(Endpoints.GET_ALL_USER);
+
+        Assert.assertEquals(second.getStatusCode(), 200);
+        Assert.assertEquals(second.asString(), first.asString());
+        Assert.assertEquals(second.jsonPath().getList("$").size(), 3);
+        Assert.assertEquals(second.getHeader("ETag"), first.getHeader("ETag"));
+        Assert.assertEquals(cache.getHits(), 1);
+        Assert.assertEquals(cache.getBytesSaved(), first.asByteArray().length);
+
+        // a change on the server gives a new ETag and a full answer
+        String id = first.jsonPath().getString("[0].id");
+        request(null).contentType(ContentType.JSON)
+                .body(Map.of("name", "Cached User 0", "email", "cached0@stub.com", "age", 99))
+                .put("/api/users/" + id);
+        Response changed = request(cache).get(Endpoints.GET_ALL_USER);
+        Assert.assertEquals(changed.getStatusCode(), 200);
+        Assert.assertNotEquals(changed.getHeader("ETag"), first.getHeader("ETag"));
+        Assert.assertEquals(changed.jsonPath().getInt("[0].age"), 99);
+        Assert.assertEquals(cache.getHits(), 1);
+        cache.printStats();
+    }
+
+    @Test(priority = 2)
+    public void testEntriesAreKeptPerToken() {
+        ConditionalGetCache cache = new ConditionalGetCache(16, 1 << 20);
+        request(cache).get(Endpoints.GET_ALL_USER);
+        String previous = token;
+        token = login();
+        try {
+            request(cache).get(Endpoints.GET_ALL_USER);
+            Assert.assertEquals(cache.getHits(), 0, "Another token must not be answered from the first one's entry");
+            Assert.assertEquals(cache.size(), 2);
+        } finally {
+            token = previous;
+        }
+    }
+
+    @Test(priority = 3)
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        ConditionalGetCache cache = new ConditionalGetCache(2, 1 << 20);
+        String[] ids = request(null).get(Endpoints.GET_ALL_USER).jsonPath().getList("id").toArray(new String[0]);
+        request(cache).get("/api/users/" + ids[0]);
+        request(cache).get("/api/users/" + ids[1]);
+        request(cache).get("/api/users/" + ids[0]);
+        request(cache).get("/api/users/" + ids[2]);
+
+        Assert.assertEquals(cache.getEvicted(), 1);
+        Assert.assertEquals(cache.getHits(), 1);
+        request(cache).get("/api/users/" + ids[0]);
+        Assert.assertEquals(cache.getHits(), 2, "The entry used last should still be there");
+        request(cache).get("/api/users/" + ids[1]);
+        Assert.assertEquals(cache.getHits(), 2, "The least recently used entry should be gone");
+    }
+
+    @Test(priority = 4)
+    public void testCallersOwnRevalidationIsPassedThrough() {
+        ConditionalGetCache cache = new ConditionalGetCache(16, 1 << 20);
+        String etag = request(cache).get(Endpoints.GET_ALL_USER).getHeader("ETag");
+        Response notModified = request(cache).header("If-None-Match", etag).get(Endpoints.GET_ALL_USER);
+        Assert.assertEquals(notModified.getStatusCode(), 304);
+        Assert.assertEquals(cache.getHits(), 0);
+    }
+}
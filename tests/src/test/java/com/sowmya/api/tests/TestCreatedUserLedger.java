@@ -0,0 +1,128 @@
+package com.sowmya.api.tests;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.helpers.LeakedUserSweeper;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.ledger.CreatedUserLedger;
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.response.Response;
+
+public class TestCreatedUserLedger {
+
+    private Path directory;
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("ledger");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Test(priority = 1)
+    public void testRecordsSurviveReopenAcrossSegments() {
+        // more than one 64 MB segment of records
+        int users = 600_000;
+        Path file = directory.resolve("many.ledger");
+        long start = System.nanoTime();
+        try (CreatedUserLedger ledger = CreatedUserLedger.open(file)) {
+            for (int i = 0; i < users; i++) {
+                Assert.assertEquals(ledger.append("1760000000000" + i, "load.user." + i + "@ork.com"), i);
+            }
+            // found through the off-heap id index, grown well past its first size by now
+            Assert.assertEquals(ledger.find("1760000000000" + 523_999), 523_999);
+            Assert.assertEquals(ledger.find("missing"), -1);
+            Assert.assertTrue(ledger.markDeleted("17600000000007"));
+            Assert.assertFalse(ledger.markDeleted("17600000000007"));
+        }
+        System.out.println("Wrote " + users + " ledger records in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        try (CreatedUserLedger ledger = CreatedUserLedger.open(file)) {
+            Assert.assertEquals(ledger.size(), users);
+            Assert.assertEquals(ledger.count(), users - 1);
+            Assert.assertTrue(ledger.isDeleted(7));
+            Assert.assertEquals(ledger.getId(users - 1), "1760000000000" + (users - 1));
+            Assert.assertEquals(ledger.getEmail(524_287), "load.user.524287@ork.com");
+            // appends continue after the last record
+            Assert.assertEquals(ledger.append("next", "next@ork.com"), users);
+        }
+    }
+
+    @Test(priority = 2)
+    public void testTornRecordIsSkipped() throws IOException {
+        Path file = directory.resolve("torn.ledger");
+        CreatedUserLedger crashed = CreatedUserLedger.open(file);
+        for (int i = 0; i < 10; i++) {
+            crashed.append("id" + i, "user" + i + "@ork.com");
+        }
+        String longEmail = String.join("", Collections.nCopies(30, "abc")) + "@ork.com";
+        crashed.append("long", longEmail);
+        // never closed, like a JVM killed mid-run; record 4 lost its state byte
+        try (RandomAccessFile raw = new RandomAccessFile(file.toFile(), "rw")) {
+            raw.seek(5L * CreatedUserLedger.RECORD_BYTES);
+            raw.write(0);
+        }
+
+        try (CreatedUserLedger ledger = CreatedUserLedger.open(file)) {
+            Assert.assertEquals(ledger.size(), 11);
+            Assert.assertEquals(ledger.count(), 10);
+            Assert.assertFalse(ledger.isLive(4));
+            Assert.assertEquals(ledger.getId(9), "id9");
+            Assert.assertTrue(ledger.isEmailTruncated(10));
+            Assert.assertEquals(ledger.getEmail(10).getBytes(StandardCharsets.UTF_8).length,
+                    CreatedUserLedger.EMAIL_BYTES);
+        }
+    }
+
+    @Test(priority = 3)
+    public void testSweepDeletesUsersOfTheLedger() throws InterruptedException {
+        UserServiceHelper helper = new UserServiceHelper();
+        String token = helper.loginUser(ConfigManager.getInstance().geString("auth_username"),
+                ConfigManager.getInstance().geString("auth_password")).jsonPath().getString("token");
+        helper.useOwnToken(token);
+        String run = Long.toString(System.nanoTime(), 36);
+        try (CreatedUserLedger ledger = CreatedUserLedger.open(directory.resolve("run.ledger"))) {
+            for (int i = 0; i < 20; i++) {
+                Response created = helper.createUser(Map.of("name", "Ledger User " + i,
+                        "email", "ledger." + run + "." + i + "@ork.com"));
+                Assert.assertEquals(created.getStatusCode(), 201, created.asString());
+                ledger.appendUser(created.asByteArray());
+            }
+            // one of them already gone
+            helper.deleteUser(ledger.getId(3));
+
+            LeakedUserSweeper sweeper = LeakedUserSweeper.fromConfig();
+            Assert.assertEquals(sweeper.countMissing(ledger), 1);
+            // just created, a run in progress must keep its users
+            LeakedUserSweeper.Result recent = sweeper.minAgeMinutes(60).sweep(ledger);
+            Assert.assertEquals(recent.getKept(), 20);
+            Assert.assertEquals(recent.getDeleted(), 0);
+
+            LeakedUserSweeper.Result result = sweeper.minAgeMinutes(0).sweep(ledger);
+            result.print();
+            Assert.assertEquals(result.getDeleted(), 19);
+            Assert.assertEquals(result.getGone(), 1);
+            Assert.assertEquals(ledger.count(), 0);
+            Assert.assertEquals(sweeper.countMissing(ledger), 0);
+        }
+    }
+}
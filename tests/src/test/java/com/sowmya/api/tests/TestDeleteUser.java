@@ -1,23 +1,21 @@
 package com.sowmya.api.tests;
 
-import java.util.List;
-
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.sowmya.api.helpers.UserFixturePool;
 import com.sowmya.api.helpers.UserServiceHelper;
 import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserSnapshot;
 import com.sowmya.api.utils.ConfigManager;
-import com.sowmya.api.utils.TestDataManager;
 
 import io.restassured.response.Response;
 
 public class TestDeleteUser {
 
     private UserServiceHelper userServiceHelper;
-    private TestDataManager testDataManager;
     private String authToken;
 
     
@@ -25,7 +23,6 @@ public class TestDeleteUser {
     @BeforeClass
     public void setUp() {
         userServiceHelper = new UserServiceHelper();
-        testDataManager = TestDataManager.getInstance();
         
         // Authenticate before runiing tests
         String username = ConfigManager.getInstance().geString("auth_username");
@@ -42,15 +39,9 @@ public class TestDeleteUser {
 
     @Test(priority = 1)
     public void testDeleteExistingUser() {
-        // Create a user to delete
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(0);
-
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String userId = createdUser.getId();
+        // Take a user to delete from the fixture pool
+        User testUser = UserFixturePool.getInstance().take();
+        String userId = testUser.getId();
 
         // Delete the created user
         Response deleteResponse = userServiceHelper.deleteUser(userId);
@@ -95,15 +86,9 @@ public class TestDeleteUser {
 
     @Test(priority = 4)
     public void testDeleteUserWithoutAuthentication() {
-        // Create new user 
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(1);
-
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String userId = createdUser.getId();
+        // Take a user to delete from the fixture pool
+        User testUser = UserFixturePool.getInstance().take();
+        String userId = testUser.getId();
 
         // Remove auth token temporarily
         userServiceHelper.setAuthToken(null);
@@ -122,19 +107,10 @@ public class TestDeleteUser {
 
     @Test(priority = 5)
     public void testDeleteMultipleUsers() {
-        // Create multiple users to delete
-        List<User> validUsers = testDataManager.getValidUsers();
-        String userId1 , userId2 ;
-
-        // Create first user
-        Response createResponse1 = userServiceHelper.createUser(validUsers.get(0));
-        Assert.assertEquals(createResponse1.getStatusCode(), 201, "Expected status code 201 for user creation");
-        userId1 = createResponse1.as(User.class).getId();
-
-        // Create second user
-        Response createResponse2 = userServiceHelper.createUser(validUsers.get(1));
-        Assert.assertEquals(createResponse2.getStatusCode(), 201, "Expected status code 201 for user creation");
-        userId2 = createResponse2.as(User.class).getId();
+        // Take multiple users to delete from the fixture pool
+        UserFixturePool fixtures = UserFixturePool.getInstance();
+        String userId1 = fixtures.take().getId();
+        String userId2 = fixtures.take().getId();
 
         // Delete first user
         Response deleteResponse1 = userServiceHelper.deleteUser(userId1);
@@ -154,15 +130,9 @@ public class TestDeleteUser {
 
     @Test(priority = 6)
     public void testDeleteUserReturnedData(){
-        // Create a user to delete
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(2);
-
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String userId = createdUser.getId();
+        // Take a user to delete from the fixture pool
+        User testUser = UserFixturePool.getInstance().take();
+        String userId = testUser.getId();
 
         // Delete the created user
         Response deleteResponse = userServiceHelper.deleteUser(userId);
@@ -180,15 +150,9 @@ public class TestDeleteUser {
 
     @Test(priority = 7)
     public void testDeleteSameUserAgain() {
-        // Create a user to delete
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(1);
-
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String userId = createdUser.getId();
+        // Take a user to delete from the fixture pool
+        User testUser = UserFixturePool.getInstance().take();
+        String userId = testUser.getId();
 
         // Delete the created user
         Response deleteResponse1 = userServiceHelper.deleteUser(userId);
@@ -204,37 +168,28 @@ public class TestDeleteUser {
 
     @Test(priority = 9)
     public void testDeleteUserFromList() {
-        // Create multiple users to delete
-        List<User> validUsers = testDataManager.getValidUsers();
-        
-        // Create first user
-        Response createResponse1 = userServiceHelper.createUser(validUsers.get(0));
-        String userId1 = createResponse1.as(User.class).getId();
-
-        // Create second user
-        Response createResponse2 = userServiceHelper.createUser(validUsers.get(1));
-        String userId2 = createResponse2.as(User.class).getId();
-
-        //create third user
-        Response createResponse3 = userServiceHelper.createUser(validUsers.get(2));
-        String userId3 = createResponse3.as(User.class).getId();
+        // Take multiple users to delete from the fixture pool
+        UserFixturePool fixtures = UserFixturePool.getInstance();
+        String userId1 = fixtures.take().getId();
+        String userId2 = fixtures.take().getId();
+        String userId3 = fixtures.take().getId();
 
-        // Get all users and verify count
-        List<User> allUsers1 = userServiceHelper.getAllUsers();
-        int initialCount = allUsers1.size();
+        // Get all users and verify the three are listed
+        UserSnapshot allUsers1 = userServiceHelper.getUserSnapshot();
+        Assert.assertTrue(allUsers1.containsId(userId1) && allUsers1.containsId(userId2) && allUsers1.containsId(userId3),
+                          "Users to delete should be present in the list");
 
         // Delete middle user
         Response deleteResponse = userServiceHelper.deleteUser(userId2);
         Assert.assertEquals(deleteResponse.getStatusCode(), 200, "Expected status code 200 for first user deletion");
 
-        // Get all users again and verify count
-        List<User> allUsers2 = userServiceHelper.getAllUsers();
-        Assert.assertEquals(allUsers2.size(), initialCount - 1, "User count should decrease by 1");
+        // Get all users again; no exact count, other classes create and delete users in parallel under -Pforks
+        UserSnapshot allUsers2 = userServiceHelper.getUserSnapshot();
 
         // Verify the deleted user is not in the list
-        final String deletedUserId = userId2;
-        boolean deleteUserFound = allUsers2.stream().anyMatch(user -> user.getId().equals(deletedUserId));
-        Assert.assertFalse(deleteUserFound, "Deleted user should not be present in the list");
+        Assert.assertFalse(allUsers2.containsId(userId2), "Deleted user should not be present in the list");
+        Assert.assertTrue(allUsers2.containsId(userId1) && allUsers2.containsId(userId3),
+                          "Remaining users should still be present in the list");
 
 
         // Clean up by deleting remaining users
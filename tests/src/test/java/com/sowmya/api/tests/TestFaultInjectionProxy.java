@@ -0,0 +1,164 @@
+package com.sowmya.api.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.proxy.FaultInjectionProxy;
+import com.sowmya.api.proxy.FaultRule;
+import com.sowmya.api.proxy.LatencyDistribution;
+import com.sowmya.api.stub.UserApiStubServer;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+public class TestFaultInjectionProxy {
+
+    private UserApiStubServer backend;
+    private String token;
+
+    @BeforeClass
+    public void setUp() {
+        backend = UserApiStubServer.create().start();
+        token = RestAssured.given().baseUri(backend.getBaseUrl()).port(backend.getPort())
+                .contentType(ContentType.JSON)
+                .body(Map.of("username", "admin", "password", "password123"))
+                .post(Endpoints.LOGIN)
+                .jsonPath().getString("token");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        backend.stop();
+    }
+
+    private FaultInjectionProxy proxy(FaultRule... rules) {
+        return new FaultInjectionProxy("127.0.0.1", backend.getPort(), 0, 42, Arrays.asList(rules)).start();
+    }
+
+    private static RequestSpecification through(FaultInjectionProxy proxy) {
+        return RestAssured.given().baseUri(proxy.getBaseUrl()).port(proxy.getPort());
+    }
+
+    @Test(priority = 1)
+    public void testPassThroughWithoutMatchingRule() {
+        FaultInjectionProxy proxy = proxy(FaultRule.route("DELETE /api/health").errors(1, 500));
+        try {
+            Response created = through(proxy).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("name", "Proxy User", "email", "proxy.user@stub.com", "age", 40))
+                    .post(Endpoints.CREATE_USER);
+            Assert.assertEquals(created.getStatusCode(), 201);
+            Response fetched = through(proxy).auth().oauth2(token).get("/api/users/" + created.jsonPath().getString("id"));
+            Assert.assertEquals(fetched.getStatusCode(), 200);
+            Assert.assertEquals(fetched.jsonPath().getString("email"), "proxy.user@stub.com");
+        } finally {
+            proxy.stop();
+        }
+    }
+
+    @Test(priority = 2)
+    public void testLatencyAndErrorsPerRoute() {
+        FaultRule slow = FaultRule.route("GET /api/health").latency(LatencyDistribution.fixed(200));
+        FaultRule failing = FaultRule.route("GET /api/users/**").errors(1, 503);
+        FaultInjectionProxy proxy = proxy(slow, failing);
+        try {
+            long start = System.nanoTime();
+            Assert.assertEquals(through(proxy).get(Endpoints.HEALTH_CHECK).getStatusCode(), 200);
+            Assert.assertTrue((System.nanoTime() - start) / 1_000_000 >= 200, "Health check should be delayed");
+
+            Assert.assertEquals(through(proxy).auth().oauth2(token).get(Endpoints.GET_ALL_USER).getStatusCode(), 503);
+            Assert.assertEquals(failing.getErrors(), 1);
+        } finally {
+            proxy.stop();
+        }
+    }
+
+    @Test(priority = 3)
+    public void testResetBeforeResponse() {
+        FaultInjectionProxy proxy = proxy(FaultRule.route("GET /api/health").resets(1, -1));
+        try {
+            through(proxy).get(Endpoints.HEALTH_CHECK);
+            Assert.fail("Expected the connection to be reset");
+        } catch (Exception e) {
+            // expected, the client sees a reset / empty response
+        } finally {
+            proxy.stop();
+        }
+    }
+
+    @Test(priority = 4)
+    public void testSameSeedGivesSameFaults() {
+        Assert.assertEquals(statuses(), statuses(), "Same seed should inject the same faults in the same order");
+    }
+
+    @Test(priority = 5)
+    public void testBodyWithoutLengthEndsWithTheConnection() throws IOException {
+        try (ServerSocket upstream = new ServerSocket(0)) {
+            Thread server = new Thread(() -> {
+                try (Socket connection = upstream.accept()) {
+                    readHead(connection.getInputStream());
+                    connection.getOutputStream().write("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\n\r\nno length"
+                            .getBytes(StandardCharsets.US_ASCII));
+                } catch (IOException e) {
+                    // the test fails on the client side
+                }
+            });
+            server.start();
+            FaultInjectionProxy proxy = new FaultInjectionProxy("127.0.0.1", upstream.getLocalPort(), 0, 42,
+                    new ArrayList<FaultRule>()).start();
+            try (Socket client = new Socket("127.0.0.1", proxy.getPort())) {
+                client.setSoTimeout(5000);
+                OutputStream out = client.getOutputStream();
+                out.write("GET /raw HTTP/1.1\r\nHost: localhost\r\nConnection: keep-alive\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                out.flush();
+                // read to the end: times out if the proxy keeps the client connection open
+                ByteArrayOutputStream received = new ByteArrayOutputStream();
+                InputStream in = client.getInputStream();
+                byte[] buffer = new byte[1024];
+                for (int read; (read = in.read(buffer)) != -1; ) {
+                    received.write(buffer, 0, read);
+                }
+                Assert.assertTrue(new String(received.toByteArray(), StandardCharsets.US_ASCII).endsWith("\r\n\r\nno length"));
+            } finally {
+                proxy.stop();
+            }
+        }
+    }
+
+    private static void readHead(InputStream in) throws IOException {
+        for (int c, matched = 0; matched < 4 && (c = in.read()) != -1; ) {
+            matched = c == "\r\n\r\n".charAt(matched) ? matched + 1 : (c == '\r' ? 1 : 0);
+        }
+    }
+
+    private List<Integer> statuses() {
+        FaultInjectionProxy proxy = proxy(FaultRule.route("GET /api/health").errors(0.5, 503));
+        try {
+            List<Integer> statuses = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                statuses.add(through(proxy).get(Endpoints.HEALTH_CHECK).getStatusCode());
+            }
+            Assert.assertTrue(statuses.contains(503) && statuses.contains(200), "Expected a mix of faults: " + statuses);
+            return statuses;
+        } finally {
+            proxy.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sowmya.api.tests;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.helpers.LeakedUserSweeper;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.model.UserSnapshot;
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.response.Response;
+
+public class TestLeakedUserSweeper {
+
+    private static final int LEAKED = 40;
+
+    // a run of its own, so the sweep can't touch users of tests running next to this one
+    private final String run = "sweep" + Long.toString(System.nanoTime(), 36);
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeClass
+    public void setUp() {
+        userServiceHelper = new UserServiceHelper();
+        String token = userServiceHelper.loginUser(ConfigManager.getInstance().geString("auth_username"),
+                ConfigManager.getInstance().geString("auth_password")).jsonPath().getString("token");
+        Assert.assertNotNull(token, "Authentication failed");
+        userServiceHelper.useOwnToken(token);
+    }
+
+    @Test(priority = 1)
+    public void testSweepDeletesOnlyTaggedUsers() throws InterruptedException {
+        for (int i = 0; i < LEAKED; i++) {
+            Response created = userServiceHelper.createUser(Map.of("name", "Leaked User " + i,
+                    "email", "fixture." + run + "." + i + "@ork.com", "age", 30));
+            Assert.assertEquals(created.getStatusCode(), 201, created.asString());
+        }
+        Response kept = userServiceHelper.createUser(Map.of("name", "Kept User", "email", run + "@ork.com"));
+        Assert.assertEquals(kept.getStatusCode(), 201, kept.asString());
+
+        LeakedUserSweeper sweeper = LeakedUserSweeper.fromConfig(LeakedUserSweeper.runPattern(run));
+
+        // just created, a run in progress must keep its users
+        LeakedUserSweeper.Result recent = sweeper.minAgeMinutes(60).sweep();
+        Assert.assertEquals(recent.getKept(), LEAKED);
+        Assert.assertEquals(recent.getDeleted(), 0);
+
+        LeakedUserSweeper.Result result = sweeper.minAgeMinutes(0).sweep();
+        result.print();
+        Assert.assertEquals(result.getDeleted(), LEAKED);
+        Assert.assertEquals(result.getFailed(), 0);
+
+        UserSnapshot users = userServiceHelper.getUserSnapshot();
+        Assert.assertFalse(users.containsEmail("fixture." + run + ".0@ork.com"), "Tagged user should be deleted");
+        Assert.assertTrue(users.containsEmail(run + "@ork.com"), "Untagged user should be kept");
+        userServiceHelper.deleteUser(kept.jsonPath().getString("id"));
+    }
+
+    @Test(priority = 2)
+    public void testDefaultPatternMatchesTestData() {
+        Pattern pattern = Pattern.compile(LeakedUserSweeper.DEFAULT_PATTERN);
+        Assert.assertTrue(pattern.matcher("fixture.mvf7iif2k1.3@ork.com").matches());
+        Assert.assertTrue(pattern.matcher("fzmvf7iif2.12c-a.b@x.org").matches());
+        Assert.assertTrue(pattern.matcher("har.compare.123456@example.com").matches());
+        Assert.assertTrue(pattern.matcher("bulkmvf7iif2k1.7@bulk.com").matches());
+        Assert.assertTrue(pattern.matcher("pager.mvf7iif2k1.3@example.com").matches());
+        // untagged test domains may hold hand-made data or another run's users
+        Assert.assertFalse(pattern.matcher("updated1@example.com").matches());
+        Assert.assertFalse(pattern.matcher("proxy.user@stub.com").matches());
+        Assert.assertFalse(pattern.matcher("sam.doe@ork.com").matches());
+        Assert.assertFalse(pattern.matcher("fixture@ork.com").matches());
+    }
+}
@@ -1,5 +1,6 @@
 package com.sowmya.api.tests;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -9,6 +10,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import com.sowmya.api.helpers.UserFixturePool;
 import com.sowmya.api.helpers.UserServiceHelper;
 import com.sowmya.api.model.User;
 import com.sowmya.api.utils.ConfigManager;
@@ -21,6 +23,7 @@ public class TestPatchUser {
     private TestDataManager testDataManager;
     private String authToken;
     private String testUserId;
+    private UserFixturePool.Lease testUser;
 
     @BeforeClass
     public void setUp() {
@@ -33,12 +36,9 @@ public class TestPatchUser {
         authToken = userServiceHelper.autheticateUser(username, password);
         Assert.assertNotNull(authToken, "Authentication failed");
 
-        // create a test user tfor Patch operations
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(0);
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-        testUserId = createResponse.as(User.class).getId();
+        // lease a test user for Patch operations, the tests build on each other's changes
+        testUser = UserFixturePool.getInstance().leaseExclusive();
+        testUserId = testUser.getId();
 
     }
 
@@ -49,9 +49,9 @@ public class TestPatchUser {
 
     @AfterClass
     public void tearDown(){
-        // clean up the test user created
-        if (testUserId != null) {
-            userServiceHelper.deleteUser(testUserId);
+        // hand the test user back to the pool
+        if (testUser != null) {
+            testUser.release();
         }
     }
 
@@ -151,14 +151,9 @@ public class TestPatchUser {
 
     @Test(priority = 5)
     public void testUpdateUSerWithDuplicateEmail() {
-        // Create another user
-        List<User> validUsers = testDataManager.getValidUsers();
-        User anotherUser = validUsers.get(1);
-        Response createResponse = userServiceHelper.createUser(anotherUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String secondUserId = createdUser.getId();
+        // Lease another user
+        UserFixturePool.Lease anotherLease = UserFixturePool.getInstance().leaseExclusive();
+        User anotherUser = anotherLease.getUser();
 
         // Try to update the first user with the email of the second user
         Map<String, Object> updateData = Map.of(
@@ -172,8 +167,8 @@ public class TestPatchUser {
         Assert.assertTrue(response.getBody().asString().contains("Email already exists"), 
                                 "Expected error message for duplicate email");
 
-        // Clean up the second user created
-        userServiceHelper.deleteUser(secondUserId);
+        // Hand the second user back
+        anotherLease.release();
     }
 
     @Test(priority = 6)
@@ -220,13 +215,8 @@ public class TestPatchUser {
         Response getUserResponse = userServiceHelper.getUserById(testUserId);
         User currentUser = getUserResponse.as(User.class);
         String originalUpdatedAt = currentUser.getUpdatedAt();
-
-        // Wait a moment to ensure timestamp difference
-        try {
-            Thread.sleep(1000); // Sleep for 1 second
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        String originalCreatedAt = currentUser.getCreatedAt();
+        waitUntilAfter(Instant.parse(originalUpdatedAt));
 
         // Update user
         Map<String, Object> updateData = Map.of(
@@ -239,9 +229,9 @@ public class TestPatchUser {
         Assert.assertEquals(response.getStatusCode(), 200, "Expected status code 200 for user update");
 
         User updatedUser = response.as(User.class);
-        Assert.assertNotEquals(updatedUser.getUpdatedAt(), originalUpdatedAt, 
-            "UpdatedAt timestamp should change after update");
-        
+        Assert.assertTrue(Instant.parse(updatedUser.getUpdatedAt()).isAfter(Instant.parse(originalUpdatedAt)),
+            "UpdatedAt should be after " + originalUpdatedAt + " but was " + updatedUser.getUpdatedAt());
+        Assert.assertEquals(updatedUser.getCreatedAt(), originalCreatedAt, "CreatedAt should not change on update");
     }
 
     @DataProvider(name = "patchUserData")
@@ -253,5 +243,18 @@ public class TestPatchUser {
         }
         return data;
     }
-}
 
+    // Timestamps have millisecond precision: an update in the same millisecond keeps updatedAt equal.
+    // Waits (a few ms at most) until the clock is past the given time, so the update must move it.
+    private static void waitUntilAfter(Instant time) {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!Instant.now().isAfter(time.plusMillis(1)) && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -9,6 +9,7 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import com.sowmya.api.helpers.UserServiceHelper;
 import com.sowmya.api.model.User;
+import com.sowmya.api.schema.ResponseSchemas;
 import com.sowmya.api.utils.ConfigManager;
 import com.sowmya.api.utils.TestDataManager;
 import io.restassured.response.Response;
@@ -52,12 +53,10 @@ public class TestPostUser {
             "Expected status code 201 for user creation");
 
         // Verify response body
+        ResponseSchemas.assertValid(response, ResponseSchemas.USER);
         User createdUser = response.as(User.class);
-        Assert.assertNotNull(createdUser.getId(), "User ID should not be null");
         Assert.assertEquals(createdUser.getName(), testUser.getName(), "User name should match");
         Assert.assertEquals(createdUser.getEmail(), testUser.getEmail(), "User email should match");
-        Assert.assertNotNull(createdUser.getCreatedAt(),"CreatedAt should not be null");
-        Assert.assertNotNull(createdUser.getUpdatedAt(),"UpdatedAt should not be null");
 
         // Clean up - delete the created user
 
@@ -8,6 +8,7 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
+import com.sowmya.api.helpers.UserFixturePool;
 import com.sowmya.api.helpers.UserServiceHelper;
 import com.sowmya.api.model.User;
 import com.sowmya.api.utils.ConfigManager;
@@ -22,6 +23,7 @@ public  class TestPutUser {
     private TestDataManager testDataManager;
     private String authToken;
     private String testUserId;
+    private UserFixturePool.Lease testUser;
 
     @BeforeClass
     public void setUp() {
@@ -40,24 +42,19 @@ public  class TestPutUser {
     public void setUpMethod(){
         userServiceHelper.setAuthToken(authToken);
 
-        //Create a test user for each test method
-        List<User> validUsers = testDataManager.getValidUsers();
-        User testUser = validUsers.get(0);
-
-        Response createResponse = userServiceHelper.createUser(testUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201,"Failed to create test user");
-
-        User createdUser = createResponse.as(User.class);
-        testUserId = createdUser.getId();
+        //Lease a test user of its own for each test method
+        testUser = UserFixturePool.getInstance().leaseExclusive();
+        testUserId = testUser.getId();
         Assert.assertNotNull(testUserId,"Test user ID should not be null");
 
     }
 
     @AfterMethod
     public void tearDown(){
-        // clean up the test user after each test
-        if (testUserId != null) {
-            userServiceHelper.deleteUser(testUserId);
+        // the pool resets the test user and leases it again
+        if (testUser != null) {
+            testUser.release();
+            testUser = null;
             testUserId = null;
         }
     }
@@ -133,15 +130,9 @@ public  class TestPutUser {
 
     @Test(priority =5)
     public void testUpdateUserWithDuplicateEmail(){
-        // Create another user
-        List<User> validUsers = testDataManager.getValidUsers();
-        User anotherUser = validUsers.get(2);
-
-        Response createResponse = userServiceHelper.createUser(anotherUser);
-        Assert.assertEquals(createResponse.getStatusCode(), 201, "Expected status code 201 for user creation");
-
-        User createdUser = createResponse.as(User.class);
-        String anotherUserId = createdUser.getId();
+        // Lease another user
+        UserFixturePool.Lease anotherLease = UserFixturePool.getInstance().leaseExclusive();
+        User anotherUser = anotherLease.getUser();
 
         // Try to update the first user with the email of the second user
         try{
@@ -158,8 +149,8 @@ public  class TestPutUser {
                                 "Expected error message for duplicate email");
 
         }finally{
-             // Clean up the second user created
-            userServiceHelper.deleteUser(anotherUserId);
+             // Hand the second user back
+            anotherLease.release();
         }
     }
 
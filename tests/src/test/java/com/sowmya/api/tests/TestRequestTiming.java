@@ -0,0 +1,93 @@
+package com.sowmya.api.tests;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.cache.ConditionalGetCache;
+import com.sowmya.api.helpers.UserFixturePool;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.timing.ClientCost;
+import com.sowmya.api.timing.RequestTiming;
+import com.sowmya.api.timing.RequestTimingFilter;
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.response.Response;
+
+public class TestRequestTiming {
+
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeClass
+    public void setUp() {
+        userServiceHelper = new UserServiceHelper();
+        String token = userServiceHelper.loginUser(ConfigManager.getInstance().geString("auth_username"),
+                ConfigManager.getInstance().geString("auth_password")).jsonPath().getString("token");
+        Assert.assertNotNull(token, "Authentication failed");
+        userServiceHelper.useOwnToken(token);
+    }
+
+    @Test(priority = 1)
+    public void testEveryCallGetsItsOwnRequestId() {
+        if (!RequestTimingFilter.isEnabled()) {
+            throw new SkipException("timing.enabled=false");
+        }
+        String id = UserFixturePool.getInstance().leaseShared().getId();
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            Response response = userServiceHelper.getUserById(id);
+            RequestTiming timing = RequestTimingFilter.lastOnThisThread();
+            Assert.assertEquals(response.getHeader(RequestTimingFilter.REQUEST_ID), timing.getRequestId(),
+                    "The backend should echo the request id");
+            Assert.assertEquals(timing.getEndpoint(), "/api/users/{id}");
+            // the timing is taken on the wire, behind the response cache a revalidated user is a 304
+            Assert.assertTrue(timing.getStatus() == 200
+                    || timing.getStatus() == 304 && ConditionalGetCache.isEnabled(), timing.toString());
+            ids.add(timing.getRequestId());
+        }
+        Assert.assertEquals(ids.size(), 5, "Request ids should be unique");
+    }
+
+    @Test(priority = 2)
+    public void testPhasesAddUpToTheCall() {
+        if (!RequestTimingFilter.isEnabled()) {
+            throw new SkipException("timing.enabled=false");
+        }
+        userServiceHelper.healthCheck();
+        userServiceHelper.getAllUsersResponse();
+        RequestTiming timing = RequestTimingFilter.lastOnThisThread();
+        System.out.println("Request " + timing);
+
+        Assert.assertTrue(timing.getServerMicros() >= 0, "Server-Timing should be read: " + timing);
+        Assert.assertTrue(timing.getTtfbMicros() >= timing.getServerMicros(), timing.toString());
+        long phases = timing.getClientMicros() + timing.getConnectMicros() + timing.getTtfbMicros()
+                + timing.getDownloadMicros();
+        // each phase is rounded down to micros
+        Assert.assertTrue(Math.abs(phases - timing.getTotalMicros()) <= 4, timing.toString());
+        if (ConfigManager.getInstance().getConfig().getHttpPoolSize() > 0) {
+            Assert.assertTrue(timing.isReused(), "Second call should reuse the pooled connection: " + timing);
+            Assert.assertEquals(timing.getConnectMicros(), 0, timing.toString());
+        }
+    }
+
+    @Test(priority = 3)
+    public void testCallCostIsChargedToTheCallingThread() {
+        if (!RequestTimingFilter.isEnabled() || !ClientCost.isSupported()) {
+            throw new SkipException("timing.enabled=false or no per-thread CPU / allocation counters");
+        }
+        long[] before = ClientCost.inCalls();
+        userServiceHelper.getAllUsers();
+        RequestTiming timing = RequestTimingFilter.lastOnThisThread();
+        long[] after = ClientCost.inCalls();
+
+        Assert.assertTrue(timing.getCpuNanos() > 0, timing.toString());
+        Assert.assertTrue(timing.getAllocatedBytes() > 0, timing.toString());
+        Assert.assertEquals(after[0] - before[0], timing.getCpuNanos());
+        Assert.assertEquals(after[1] - before[1], timing.getAllocatedBytes());
+        Assert.assertEquals(after[2] - before[2], 1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.sowmya.api.tests;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.schema.ResponseSchemas;
+
+public class TestResponseSchemas {
+
+    private static final String USER = "{\"id\":\"1718000000000abc123def\",\"name\":\"Sam Doe\",\"email\":\"sam.doe@ork.com\","
+            + "\"age\":30,\"createdAt\":\"2024-06-10T08:00:00.000Z\",\"updatedAt\":\"2024-06-10T08:00:00.000Z\"}";
+
+    private static List<String> validate(String json, String schema) {
+        return ResponseSchemas.validate(json.getBytes(StandardCharsets.UTF_8), schema);
+    }
+
+    @Test(priority = 1)
+    public void testValidPayloads() {
+        Assert.assertEquals(validate(USER, ResponseSchemas.USER).size(), 0);
+        Assert.assertEquals(validate(USER.replace("\"age\":30,", ""), ResponseSchemas.USER).size(), 0,
+                "Age is optional");
+        Assert.assertEquals(validate("[" + USER + "," + USER + "]", ResponseSchemas.USER_LIST).size(), 0);
+        Assert.assertEquals(validate("[]", ResponseSchemas.USER_LIST).size(), 0);
+        Assert.assertEquals(validate("{\"token\":\"17180abc\",\"user\":{\"username\":\"admin\",\"role\":\"admin\"},"
+                + "\"expiresAt\":1718086400000}", ResponseSchemas.LOGIN).size(), 0);
+        Assert.assertEquals(validate("{\"message\":\"User deleted successfully\",\"user\":" + USER + "}",
+                ResponseSchemas.DELETE).size(), 0);
+        Assert.assertEquals(validate("{\"error\":\"User not found\"}", ResponseSchemas.ERROR).size(), 0);
+    }
+
+    @Test(priority = 2)
+    public void testViolationsNameThePath() {
+        List<String> errors = validate(USER.replace("\"name\":\"Sam Doe\",", "").replace("30", "151"),
+                ResponseSchemas.USER);
+        Assert.assertEquals(errors.size(), 2, errors.toString());
+        Assert.assertTrue(errors.contains("/age: 151.0 is above the maximum 150.0"), errors.toString());
+        Assert.assertTrue(errors.contains("/: missing required property 'name'"), errors.toString());
+
+        errors = validate("[" + USER + "," + USER.replace("sam.doe@ork.com", "sam.doe.ork.com") + "]",
+                ResponseSchemas.USER_LIST);
+        Assert.assertEquals(errors, List.of("/1/email: 'sam.doe.ork.com' is not an email"));
+
+        errors = validate("{\"token\":\"17180abc\",\"user\":{\"username\":\"admin\"},\"expiresAt\":\"tomorrow\"}",
+                ResponseSchemas.LOGIN);
+        Assert.assertTrue(errors.contains("/user: missing required property 'role'"), errors.toString());
+        Assert.assertTrue(errors.contains("/expiresAt: expected integer but was string"), errors.toString());
+
+        Assert.assertEquals(validate("{\"error\":\"x\",\"stack\":\"at ...\"}", ResponseSchemas.ERROR),
+                List.of("/: unexpected property 'stack'"));
+        Assert.assertEquals(validate("<html>Cannot GET /api/nope</html>", ResponseSchemas.ERROR).size(), 1);
+    }
+
+    @Test(priority = 3)
+    public void testLargeUserList() {
+        int count = 50_000;
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count * USER.length());
+        byte[] user = USER.getBytes(StandardCharsets.UTF_8);
+        out.write('[');
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(user, 0, user.length);
+        }
+        out.write(']');
+        byte[] body = out.toByteArray();
+
+        long start = System.nanoTime();
+        List<String> errors = ResponseSchemas.validate(body, ResponseSchemas.USER_LIST);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Validated " + count + " users (" + body.length / 1024 + " KB) in " + millis + " ms");
+        Assert.assertEquals(errors.size(), 0, errors.toString());
+
+        // a bad timestamp in the last element is still found: ...000Z"}] -> ...000x"}]
+        body[body.length - 4] = 'x';
+        errors = ResponseSchemas.validate(body, ResponseSchemas.USER_LIST);
+        Assert.assertEquals(errors.size(), 1, errors.toString());
+        Assert.assertTrue(errors.get(0).startsWith("/" + (count - 1) + "/updatedAt:"), errors.toString());
+    }
+}
@@ -0,0 +1,171 @@
+package com.sowmya.api.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.replay.TrafficJournal;
+import com.sowmya.api.replay.TrafficRecorder;
+import com.sowmya.api.replay.TrafficReplayer;
+import com.sowmya.api.stub.UserApiStubServer;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.specification.RequestSpecification;
+
+public class TestTrafficReplay {
+
+    @Test(priority = 1)
+    public void testRecordAndReplayWithRemappedIdsAndTokens() throws Exception {
+        Path journal = Files.createTempFile("traffic", ".umj");
+        UserApiStubServer recorded = UserApiStubServer.create().start();
+        UserApiStubServer replayTarget = UserApiStubServer.create().start();
+        try {
+            TrafficRecorder recorder = new TrafficRecorder(journal);
+            Thread reader = new Thread(() -> {
+                for (int i = 0; i < 5; i++) {
+                    request(recorded, recorder).get(Endpoints.HEALTH_CHECK);
+                }
+            });
+            reader.start();
+
+            String token = request(recorded, recorder).contentType(ContentType.JSON)
+                    .body(Map.of("username", "admin", "password", "password123"))
+                    .post(Endpoints.LOGIN).jsonPath().getString("token");
+            String id = request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("name", "Replay User", "email", "replay.user@stub.com", "age", 28))
+                    .post(Endpoints.CREATE_USER).jsonPath().getString("id");
+            request(recorded, recorder).auth().oauth2(token).get("/api/users/" + id);
+            request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("name", "Replay User 2", "email", "replay.user@stub.com"))
+                    .put("/api/users/" + id);
+            request(recorded, recorder).auth().oauth2(token).delete("/api/users/" + id);
+            request(recorded, recorder).auth().oauth2(token).get("/api/users/" + id);
+            reader.join();
+            recorder.close();
+
+            List<TrafficJournal.Entry> entries = TrafficJournal.read(journal);
+            Assert.assertEquals(entries.size(), 11, "Every request should be journaled");
+            Assert.assertTrue(entries.stream().anyMatch(entry -> entry.getPath().equals("/api/users/{#0}")),
+                    "Created id should be stored as a placeholder");
+            Assert.assertTrue(entries.stream().anyMatch(entry -> entry.getAuthorization().equals("Bearer {@0}")),
+                    "Login token should be stored as a placeholder");
+            Assert.assertEquals(entries.stream().mapToInt(TrafficJournal.Entry::getLane).distinct().count(), 2,
+                    "Two threads should give two lanes");
+
+            TrafficReplayer.Result result = new TrafficReplayer(replayTarget.getBaseUrl(), replayTarget.getPort(),
+                    TrafficReplayer.parseSpeed("max")).replay(journal);
+            result.print();
+            Assert.assertEquals(result.getRequests(), 11);
+            Assert.assertEquals(result.getStatusMatches(), 11, "Replay should get the recorded statuses");
+            Assert.assertEquals(replayTarget.getApi().getStore().size(), 0, "Replayed delete should hit the replayed user");
+        } finally {
+            recorded.stop();
+            replayTarget.stop();
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    @Test(priority = 2)
+    public void testPagedListsKeepTheirQueryAndRemappedCursor() throws Exception {
+        Path journal = Files.createTempFile("traffic", ".umj");
+        UserApiStubServer recorded = UserApiStubServer.create().start();
+        UserApiStubServer replayTarget = UserApiStubServer.create().start();
+        try {
+            TrafficRecorder recorder = new TrafficRecorder(journal);
+            String token = request(recorded, recorder).contentType(ContentType.JSON)
+                    .body(Map.of("username", "admin", "password", "password123"))
+                    .post(Endpoints.LOGIN).jsonPath().getString("token");
+            for (int i = 0; i < 5; i++) {
+                request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                        .body(Map.of("name", "Paged User " + i, "email", "paged." + i + "@stub.com"))
+                        .post(Endpoints.CREATE_USER);
+            }
+            String cursor = null;
+            int pages = 0;
+            do {
+                RequestSpecification page = request(recorded, recorder).auth().oauth2(token)
+                        .queryParam(Endpoints.PAGE_LIMIT, 2);
+                if (cursor != null) {
+                    page.queryParam(Endpoints.PAGE_CURSOR, cursor);
+                }
+                cursor = page.get(Endpoints.LIST_USERS_PAGE).jsonPath().getString("nextCursor");
+                pages++;
+            } while (cursor != null);
+            recorder.close();
+            Assert.assertEquals(pages, 3);
+
+            List<TrafficJournal.Entry> entries = TrafficJournal.read(journal);
+            Assert.assertTrue(entries.stream().anyMatch(entry -> entry.getPath().equals("/api/users?limit=2")),
+                    "The query should be recorded with the path");
+            Assert.assertTrue(entries.stream().anyMatch(entry -> entry.getPath().equals("/api/users?limit=2&cursor={$0}")),
+                    "The cursor should be stored as a placeholder");
+            Assert.assertTrue(entries.stream().allMatch(entry -> !entry.getPath().contains("?")
+                    || entry.getRoute().equals("GET /api/users")), "Routes should not include the query");
+
+            TrafficReplayer.Result result = new TrafficReplayer(replayTarget.getBaseUrl(), replayTarget.getPort(),
+                    TrafficReplayer.parseSpeed("max")).replay(journal);
+            result.print();
+            Assert.assertEquals(result.getStatusMatches(), entries.size(), "Replay should get the recorded statuses");
+        } finally {
+            recorded.stop();
+            replayTarget.stop();
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    @Test(priority = 3)
+    public void testBulkRequestsRemapEveryId() throws Exception {
+        Path journal = Files.createTempFile("traffic", ".umj");
+        UserApiStubServer recorded = UserApiStubServer.create().start();
+        UserApiStubServer replayTarget = UserApiStubServer.create().start();
+        try {
+            TrafficRecorder recorder = new TrafficRecorder(journal);
+            String token = request(recorded, recorder).contentType(ContentType.JSON)
+                    .body(Map.of("username", "admin", "password", "password123"))
+                    .post(Endpoints.LOGIN).jsonPath().getString("token");
+            JsonPath created = request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("users", List.of(Map.of("name", "Bulk Replay 0", "email", "bulk.replay.0@stub.com"),
+                            Map.of("name", "Bad Email", "email", "not-an-email"),
+                            Map.of("name", "Bulk Replay 1", "email", "bulk.replay.1@stub.com"))))
+                    .post(Endpoints.BULK_CREATE_USERS).jsonPath();
+            String first = created.getString("results[0].user.id");
+            String last = created.getString("results[2].user.id");
+            request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("users", List.of(Map.of("id", first, "name", "Renamed",
+                            "email", "bulk.replay.0@stub.com"))))
+                    .put(Endpoints.BULK_UPDATE_USERS);
+            request(recorded, recorder).auth().oauth2(token).contentType(ContentType.JSON)
+                    .body(Map.of("ids", List.of(first, last)))
+                    .delete(Endpoints.BULK_DELETE_USERS);
+            recorder.close();
+
+            List<TrafficJournal.Entry> entries = TrafficJournal.read(journal);
+            Assert.assertEquals(entries.get(1).getBinds(), "#0,,#1", "Every created user should be numbered");
+            Assert.assertTrue(new String(entries.get(3).getBody(), StandardCharsets.UTF_8).contains("[\"{#0}\",\"{#1}\"]"),
+                    "Bulk delete ids should be stored as placeholders");
+
+            TrafficReplayer.Result result = new TrafficReplayer(replayTarget.getBaseUrl(), replayTarget.getPort(),
+                    TrafficReplayer.parseSpeed("max")).replay(journal);
+            result.print();
+            Assert.assertEquals(result.getStatusMatches(), entries.size(), "Replay should get the recorded statuses");
+            Assert.assertEquals(replayTarget.getApi().getStore().size(), 0,
+                    "Replayed bulk delete should hit the replayed users");
+        } finally {
+            recorded.stop();
+            replayTarget.stop();
+            Files.deleteIfExists(journal);
+        }
+    }
+
+    private static RequestSpecification request(UserApiStubServer server, TrafficRecorder recorder) {
+        return RestAssured.given().baseUri(server.getBaseUrl()).port(server.getPort()).filter(recorder);
+    }
+}
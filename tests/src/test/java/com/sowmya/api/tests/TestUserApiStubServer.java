@@ -0,0 +1,127 @@
+package com.sowmya.api.tests;
+
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.model.User;
+import com.sowmya.api.stub.UserApiStubServer;
+import com.sowmya.api.stub.UserStore;
+
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+public class TestUserApiStubServer {
+
+    private UserApiStubServer server;
+    private String token;
+
+    @BeforeClass
+    public void setUp() {
+        server = UserApiStubServer.create().start();
+        token = request().contentType(ContentType.JSON)
+                .body(Map.of("username", "admin", "password", "password123"))
+                .post(Endpoints.LOGIN)
+                .jsonPath().getString("token");
+        Assert.assertNotNull(token, "Stub login failed");
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        server.stop();
+    }
+
+    private RequestSpecification request() {
+        return RestAssured.given().baseUri(server.getBaseUrl()).port(server.getPort());
+    }
+
+    @Test(priority = 1)
+    public void testEmailIndexAcrossCreateAndUpdate() {
+        Response first = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body(Map.of("name", "Sam Doe", "email", "sam.doe@stub.com", "age", 34))
+                .post(Endpoints.CREATE_USER);
+        Assert.assertEquals(first.getStatusCode(), 201);
+        String id = first.jsonPath().getString("id");
+
+        Response duplicate = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body(Map.of("name", "Other", "email", "sam.doe@stub.com"))
+                .post(Endpoints.CREATE_USER);
+        Assert.assertEquals(duplicate.getStatusCode(), 400);
+        Assert.assertEquals(duplicate.jsonPath().getString("error"), "Email already exists");
+
+        // moving the user to a new email frees the old one
+        Response update = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body(Map.of("name", "Sam Doe", "email", "sam.new@stub.com"))
+                .put("/api/users/" + id);
+        Assert.assertEquals(update.getStatusCode(), 200);
+        Assert.assertNull(update.jsonPath().get("age"), "PUT without age removes it, like the backend");
+
+        Response reuse = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body(Map.of("name", "Other", "email", "sam.doe@stub.com"))
+                .post(Endpoints.CREATE_USER);
+        Assert.assertEquals(reuse.getStatusCode(), 201);
+    }
+
+    @Test(priority = 2)
+    public void testExpressBehaviourOutsideTheRoutes() {
+        Response unknown = request().auth().oauth2(token).patch("/api/users/anything");
+        Assert.assertEquals(unknown.getStatusCode(), 404);
+        Assert.assertTrue(unknown.asString().contains("Cannot PATCH /api/users/anything"));
+
+        Response malformed = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body("{\"name\":").post(Endpoints.CREATE_USER);
+        Assert.assertEquals(malformed.getStatusCode(), 500);
+        Assert.assertEquals(malformed.jsonPath().getString("error"), "Something went wrong!");
+
+        Response list = request().auth().oauth2(token).get(Endpoints.GET_ALL_USER);
+        String etag = list.getHeader("ETag");
+        Assert.assertTrue(etag != null && etag.startsWith("W/\""), "Expected a weak ETag");
+        Response notModified = request().auth().oauth2(token).header("If-None-Match", etag).get(Endpoints.GET_ALL_USER);
+        Assert.assertEquals(notModified.getStatusCode(), 304);
+    }
+
+    @Test(priority = 3)
+    public void testNameIsStoredAsSent() {
+        // the backend keeps a number as a number, and so must the stub
+        Response created = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body("{\"name\":42,\"email\":\"number.name@stub.com\"}").post(Endpoints.CREATE_USER);
+        Assert.assertEquals(created.getStatusCode(), 201);
+        Assert.assertTrue(created.asString().contains("\"name\":42,\"email\""), created.asString());
+        String id = created.jsonPath().getString("id");
+
+        Response renamed = request().auth().oauth2(token).contentType(ContentType.JSON)
+                .body(Map.of("name", "Forty Two", "email", "number.name@stub.com")).put("/api/users/" + id);
+        Assert.assertEquals(renamed.getStatusCode(), 200);
+        Assert.assertEquals(renamed.jsonPath().getString("name"), "Forty Two");
+        Assert.assertEquals(request().auth().oauth2(token).get("/api/users/" + id).asString().split("\"name\"").length, 2,
+                "Name should be written once");
+    }
+
+    @Test(priority = 4)
+    public void testInsertWithStoredIdReplacesInPlace() {
+        UserStore store = new UserStore();
+        store.insert(user("a", "a@stub.com"));
+        store.insert(user("b", "b@stub.com"));
+        Assert.assertTrue(store.insert(user("a", "a.new@stub.com")));
+
+        Assert.assertEquals(store.size(), 2);
+        Assert.assertEquals(store.list().size(), 2, "No orphan left in the listing");
+        Assert.assertEquals(store.list().get(0).getEmail(), "a.new@stub.com", "Keeps its position");
+        Assert.assertNull(store.getByEmail("a@stub.com"), "Old email is free again");
+        Assert.assertTrue(store.insert(user("c", "a@stub.com")));
+    }
+
+    private static User user(String id, String email) {
+        User user = new User();
+        user.setId(id);
+        user.setName("User " + id);
+        user.setEmail(email);
+        return user;
+    }
+}
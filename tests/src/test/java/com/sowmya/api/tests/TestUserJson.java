@@ -0,0 +1,34 @@
+package com.sowmya.api.tests;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sowmya.api.benchmarks.UserModelBenchmark.LegacyUser;
+import com.sowmya.api.model.User;
+import com.sowmya.api.utils.UserJson;
+
+// Wire format checks of the compact User model, timings are in UserModelBenchmark (-Pbenchmark)
+public class TestUserJson {
+
+    @Test(priority = 1, description = "Compact model writes the same JSON as the legacy bean")
+    public void testWireCompatibility() throws Exception {
+        String json = "[{\"id\":\"1\",\"name\":\"Sam\",\"email\":\"sam@ork.com\",\"age\":34,"
+                + "\"createdAt\":\"c\",\"updatedAt\":\"u\",\"role\":\"admin\"},"
+                + "{\"id\":\"2\",\"name\":\"Ned\",\"email\":\"ned@pep.com\",\"createdAt\":\"c\",\"updatedAt\":\"u\"}]";
+
+        ObjectMapper legacyMapper = new ObjectMapper();
+        List<LegacyUser> legacy = legacyMapper.readValue(json, new TypeReference<List<LegacyUser>>(){});
+        List<User> compact = UserJson.readUsers(json.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(new String(UserJson.writeUsers(compact), StandardCharsets.UTF_8),
+                legacyMapper.writeValueAsString(legacy), "Compact model should be wire compatible");
+        Assert.assertEquals(compact.get(0).getAge(), Integer.valueOf(34), "Age should be read as a number");
+        Assert.assertNull(compact.get(1).getAge(), "Missing age should stay null");
+        Assert.assertTrue(compact.get(1).getAdditionalProperties().isEmpty(), "No extras should be allocated");
+    }
+}
@@ -0,0 +1,127 @@
+package com.sowmya.api.tests;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.constants.Endpoints;
+import com.sowmya.api.helpers.UserPageIterator;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.model.BulkResult;
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserPage;
+import com.sowmya.api.model.UserQuery;
+import com.sowmya.api.utils.ConfigManager;
+
+import io.restassured.response.Response;
+
+public class TestUserPaging {
+
+    private static final int USERS = 25;
+
+    // a name prefix of its own, so the pages only hold users of this class
+    private final String run = "Pager " + Long.toString(System.nanoTime(), 36);
+    private final List<String> created = new ArrayList<>();
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeClass
+    public void setUp() {
+        userServiceHelper = new UserServiceHelper();
+        String token = userServiceHelper.loginUser(ConfigManager.getInstance().geString("auth_username"),
+                ConfigManager.getInstance().geString("auth_password")).jsonPath().getString("token");
+        Assert.assertNotNull(token, "Authentication failed");
+        userServiceHelper.useOwnToken(token);
+        String email = run.toLowerCase().replace(' ', '.');
+        List<Map<String, Object>> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(Map.of("name", run + " " + i, "email", email + "." + i + "@example.com", "age", 20 + i % 10));
+        }
+        users.add(Map.of("name", run + " ageless", "email", email + ".ageless@example.com"));
+        BulkResult result = userServiceHelper.createUsers(users);
+        for (User user : result.getUsers()) {
+            created.add(user.getId());
+        }
+        Assert.assertEquals(result.getFailed(), 0);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        if (!created.isEmpty()) {
+            userServiceHelper.deleteUsers(created);
+        }
+    }
+
+    @Test(priority = 1)
+    public void testIteratorWalksEveryPageOnce() {
+        List<User> users = new ArrayList<>();
+        try (UserPageIterator iterator = userServiceHelper.iterateUsers(
+                new UserQuery().namePrefix(run.toUpperCase()).limit(4))) {
+            iterator.forEachRemaining(users::add);
+            System.out.println("Listed " + iterator.getUsers() + " users in " + iterator.getPages() + " pages, waited "
+                    + iterator.getWaitMillis() + " ms for them");
+            Assert.assertEquals(iterator.getPages(), 7);
+        }
+        Assert.assertEquals(users.size(), USERS + 1);
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            Assert.assertTrue(ids.add(users.get(i).getId()), "User listed twice: " + users.get(i).getId());
+            if (i > 0) {
+                Assert.assertTrue(users.get(i - 1).getId().compareTo(users.get(i).getId()) < 0, "Not sorted by id");
+            }
+        }
+        Assert.assertTrue(ids.containsAll(created));
+    }
+
+    @Test(priority = 2)
+    public void testAgeRangeSortedByAge() {
+        UserQuery query = new UserQuery().namePrefix(run).ageBetween(22, 24).sortBy(UserQuery.SORT_AGE).limit(2);
+        List<Integer> ages = new ArrayList<>();
+        userServiceHelper.iterateUsers(query).forEachRemaining(user -> ages.add(user.getAge()));
+        // 20 + i % 10 over 25 users, three of each age
+        Assert.assertEquals(ages, List.of(22, 22, 22, 23, 23, 23, 24, 24, 24));
+
+        UserPage first = userServiceHelper.getUsersPage(query.limit(5), null);
+        Assert.assertEquals(first.getUsers().size(), 5);
+        Assert.assertTrue(first.hasNext());
+        UserPage last = userServiceHelper.getUsersPage(query, first.getNextCursor());
+        Assert.assertEquals(last.getUsers().size(), 4);
+        Assert.assertFalse(last.hasNext());
+    }
+
+    @Test(priority = 3)
+    public void testUsersWithoutTheSortFieldComeLast() {
+        List<User> users = new ArrayList<>();
+        userServiceHelper.iterateUsers(new UserQuery().namePrefix(run).sortBy(UserQuery.SORT_AGE).limit(10))
+                .forEachRemaining(users::add);
+        Assert.assertEquals(users.size(), USERS + 1);
+        Assert.assertEquals(users.get(USERS).getName(), run + " ageless");
+        Assert.assertEquals(users.get(0).getAge(), Integer.valueOf(20));
+    }
+
+    @Test(priority = 4)
+    public void testInvalidPageParameters() {
+        Response limit = userServiceHelper.getUsersPageResponse(new UserQuery().limit(0), null);
+        Assert.assertEquals(limit.getStatusCode(), 400);
+        Assert.assertEquals(limit.jsonPath().getString("error"),
+                "limit must be an integer between 1 and " + Endpoints.MAX_PAGE_LIMIT);
+
+        Response sort = userServiceHelper.getUsersPageResponse(new UserQuery().sortBy("password"), null);
+        Assert.assertEquals(sort.getStatusCode(), 400);
+
+        Response cursor = userServiceHelper.getUsersPageResponse(new UserQuery(), "not-a-cursor");
+        Assert.assertEquals(cursor.getStatusCode(), 400);
+        Assert.assertEquals(cursor.jsonPath().getString("error"), "Invalid cursor");
+
+        // without paging parameters the whole list comes back as before
+        Response all = userServiceHelper.getAllUsersResponse();
+        Assert.assertEquals(all.getStatusCode(), 200);
+        Assert.assertTrue(all.asString().startsWith("["), "Expected the plain user array");
+    }
+}
@@ -0,0 +1,105 @@
+package com.sowmya.api.tests;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.model.User;
+import com.sowmya.api.model.UserSnapshot;
+import com.sowmya.api.utils.UserJson;
+
+public class TestUserSnapshot {
+
+    private static final String USERS_JSON = "["
+            + "{\"id\":\"a1\",\"name\":\"Sam Doe\",\"email\":\"sam.doe@ork.com\",\"age\":34,"
+            + "\"createdAt\":\"2025-08-01T10:00:00.000Z\",\"updatedAt\":\"2025-08-03T10:00:00.000Z\"},"
+            + "{\"id\":\"b2\",\"name\":\"Shane Smith\",\"email\":\"shane.smith@ork.com\",\"age\":27,"
+            + "\"createdAt\":\"2025-08-01T10:00:00.000Z\",\"updatedAt\":\"2025-08-01T10:00:00.000Z\"},"
+            + "{\"id\":\"c3\",\"name\":\"Ned Johnson\",\"email\":\"ned.johnson@pep.com\","
+            + "\"createdAt\":\"2025-08-01T10:00:00.000Z\",\"updatedAt\":\"2025-08-02T10:00:00.000Z\",\"tags\":[1,2]},"
+            + "{\"id\":\"d4\",\"name\":\"Ella Brown\",\"email\":\"ella.brown@pep.com\",\"age\":29,"
+            + "\"createdAt\":\"2025-08-01T10:00:00.000Z\",\"updatedAt\":\"2025-08-05T10:00:00.000Z\"}"
+            + "]";
+
+    @Test(priority = 1)
+    public void testLookupByIdAndEmail() throws Exception {
+        UserSnapshot snapshot = UserSnapshot.read(USERS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        Assert.assertEquals(snapshot.size(), 4, "Snapshot should hold every user");
+        Assert.assertEquals(snapshot.indexOfId("c3"), 2, "Row of c3 should be found by id");
+        Assert.assertEquals(snapshot.indexOfEmail("ella.brown@pep.com"), 3, "Row should be found by email");
+        Assert.assertFalse(snapshot.containsId("zz"), "Unknown id should not be found");
+        Assert.assertFalse(snapshot.containsEmail(null), "Null email should not be found");
+
+        User user = snapshot.findById("a1");
+        Assert.assertEquals(user.getName(), "Sam Doe");
+        Assert.assertEquals(user.getAge(), Integer.valueOf(34));
+        // the API's own strings, not a reformatted Instant
+        Assert.assertEquals(user.getCreatedAt(), "2025-08-01T10:00:00.000Z");
+        Assert.assertEquals(user.getUpdatedAt(), "2025-08-03T10:00:00.000Z");
+        Assert.assertNull(snapshot.findByEmail("ned.johnson@pep.com").getAge(), "Missing age should stay null");
+    }
+
+    @Test(priority = 2)
+    public void testRangeQueries() throws Exception {
+        UserSnapshot snapshot = UserSnapshot.read(USERS_JSON.getBytes(StandardCharsets.UTF_8));
+
+        int[] rows = snapshot.rowsWithAgeBetween(27, 30);
+        Assert.assertEquals(rows.length, 2, "Two users are between 27 and 30");
+        Assert.assertEquals(snapshot.getId(rows[0]), "b2", "Rows should be ordered by age");
+        Assert.assertEquals(snapshot.getId(rows[1]), "d4", "Rows should be ordered by age");
+        Assert.assertEquals(snapshot.countWithAgeBetween(0, 150), 3, "Users without age are not in age ranges");
+
+        int[] updated = snapshot.rowsUpdatedBetween(
+                Instant.parse("2025-08-02T00:00:00Z"), Instant.parse("2025-08-04T00:00:00Z"));
+        Assert.assertEquals(updated.length, 2);
+        Assert.assertEquals(snapshot.getId(updated[0]), "c3");
+        Assert.assertEquals(snapshot.getId(updated[1]), "a1");
+    }
+
+    @Test(priority = 3)
+    public void testSnapshotFromUserList() {
+        List<User> users = UserJson.readUsers(USERS_JSON.getBytes(StandardCharsets.UTF_8));
+        UserSnapshot snapshot = UserSnapshot.from(users);
+
+        Assert.assertEquals(snapshot.size(), users.size());
+        for (int row = 0; row < users.size(); row++) {
+            Assert.assertEquals(snapshot.indexOfId(users.get(row).getId()), row);
+            Assert.assertEquals(snapshot.indexOfEmail(users.get(row).getEmail()), row);
+        }
+    }
+
+    @Test(priority = 4)
+    public void testLargeSnapshot() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            User user = new User();
+            user.setId("id-" + i);
+            user.setName("User " + i);
+            user.setEmail("user" + i + "@bulk.com");
+            user.setAge(i % 151);
+            users.add(user);
+        }
+        UserSnapshot snapshot = UserSnapshot.from(users);
+
+        Assert.assertEquals(snapshot.indexOfEmail("user99999@bulk.com"), 99_999);
+        Assert.assertEquals(snapshot.countWithAgeBetween(150, 150), 662);
+    }
+
+    @Test(priority = 5)
+    public void testNonObjectInArrayIsRejected() {
+        for (String json : new String[] {"[{\"id\":\"a1\"},42,{\"id\":\"b2\"}]", "[{\"id\":\"a1\"},null]", "[{\"id\":\"a1\"},"}) {
+            try {
+                UserSnapshot.read(json.getBytes(StandardCharsets.UTF_8));
+                Assert.fail("Expected " + json + " to be rejected");
+            } catch (IOException e) {
+                // expected
+            }
+        }
+    }
+}
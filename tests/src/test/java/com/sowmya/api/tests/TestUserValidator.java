@@ -0,0 +1,44 @@
+package com.sowmya.api.tests;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.utils.UserValidator;
+
+public class TestUserValidator {
+
+    private static Map<String, Object> body(Object name, Object email) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("name", name);
+        body.put("email", email);
+        return body;
+    }
+
+    @Test(priority = 1)
+    public void testRequiredFields() {
+        Assert.assertNull(UserValidator.validate(body("Sam Doe", "sam.doe@ork.com")));
+        Assert.assertEquals(UserValidator.validate(body("", "sam.doe@ork.com")), UserValidator.NAME_AND_EMAIL_REQUIRED);
+        Assert.assertEquals(UserValidator.validate(body("Sam Doe", null)), UserValidator.NAME_AND_EMAIL_REQUIRED);
+        Assert.assertEquals(UserValidator.validate(body("Sam Doe", "sam.doe.ork.com")), UserValidator.INVALID_EMAIL);
+        Assert.assertEquals(UserValidator.validate(body("Sam Doe", "sam doe@ork.com")), UserValidator.INVALID_EMAIL);
+    }
+
+    @Test(priority = 2)
+    public void testAgeFollowsJavaScriptCoercion() {
+        Assert.assertTrue(UserValidator.isValidAge(false, null), "Missing age should be valid");
+        Assert.assertFalse(UserValidator.isValidAge(true, null), "Null age is rejected by the backend");
+        Assert.assertTrue(UserValidator.isValidAge(true, 0));
+        Assert.assertTrue(UserValidator.isValidAge(true, 150));
+        Assert.assertTrue(UserValidator.isValidAge(true, "42"), "Numeric strings are coerced like Number()");
+        Assert.assertFalse(UserValidator.isValidAge(true, 151));
+        Assert.assertFalse(UserValidator.isValidAge(true, -1));
+        Assert.assertFalse(UserValidator.isValidAge(true, "abc"));
+
+        Map<String, Object> body = body("Sam Doe", "sam.doe@ork.com");
+        body.put("age", 200);
+        Assert.assertEquals(UserValidator.validate(body), UserValidator.INVALID_AGE);
+    }
+}
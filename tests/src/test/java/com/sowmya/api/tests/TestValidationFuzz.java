@@ -0,0 +1,53 @@
+package com.sowmya.api.tests;
+
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.fuzz.ValidationFuzzer;
+import com.sowmya.api.helpers.UserServiceHelper;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.UserValidator;
+
+public class TestValidationFuzz {
+
+    private UserServiceHelper userServiceHelper;
+
+    @BeforeClass
+    public void setUp() {
+        userServiceHelper = new UserServiceHelper();
+
+        // Authenticate before runiing tests
+        String username = ConfigManager.getInstance().geString("auth_username");
+        String password = ConfigManager.getInstance().geString("auth_password");
+        String authToken = userServiceHelper.autheticateUser(username, password);
+        Assert.assertNotNull(authToken, "Authentication failed");
+    }
+
+    @Test(priority = 1)
+    public void testCreateAndUpdateMatchValidationRules() throws InterruptedException {
+        ConfigManager config = ConfigManager.getInstance();
+        ValidationFuzzer fuzzer = new ValidationFuzzer(userServiceHelper,
+                config.getLong("fuzz.seed", 42), config.getInt("fuzz.threads", 8));
+
+        ValidationFuzzer.Result result = fuzzer.run(config.getInt("fuzz.cases", 2000));
+        result.print();
+
+        Assert.assertEquals(result.getMismatches(), 0, "Responses differ from the validation rules: "
+                + String.join("\n", result.getReported()));
+
+        // every rule should have been exercised on both routes
+        Map<String, Long> outcomes = result.getOutcomes();
+        for (String method : new String[] { "POST", "PUT" }) {
+            Assert.assertTrue(outcomes.containsKey(method + (method.equals("POST") ? " 201" : " 200")),
+                    method + " never accepted a body: " + outcomes);
+            for (String error : new String[] { UserValidator.NAME_AND_EMAIL_REQUIRED,
+                    UserValidator.INVALID_EMAIL, UserValidator.INVALID_AGE }) {
+                Assert.assertTrue(outcomes.containsKey(method + " 400 " + error),
+                        method + " never rejected with '" + error + "': " + outcomes);
+            }
+        }
+    }
+}
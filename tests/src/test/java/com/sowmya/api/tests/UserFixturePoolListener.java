@@ -0,0 +1,16 @@
+package com.sowmya.api.tests;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import com.sowmya.api.helpers.UserFixturePool;
+
+// Deletes the users of UserFixturePool when a suite finishes. Registered through
+// META-INF/services/org.testng.ITestNGListener, so it runs for every suite without testng.xml changes.
+public class UserFixturePoolListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        UserFixturePool.drainIfCreated();
+    }
+}
@@ -0,0 +1,26 @@
+package com.sowmya.retry;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Runs a failed test again, up to retry.count times. TestNG creates one per test method,
+// RetryListener attaches it when retry.enabled.
+public class RetryAnalyzer implements IRetryAnalyzer {
+
+    private static final int MAX_RETRIES = ConfigManager.getInstance().getConfig().getRetryCount();
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        if (retries >= MAX_RETRIES) {
+            return false;
+        }
+        retries++;
+        System.out.println("Retrying " + result.getTestClass().getRealClass().getSimpleName() + "#"
+                + result.getMethod().getMethodName() + " (" + retries + "/" + MAX_RETRIES + ")");
+        return true;
+    }
+}
@@ -0,0 +1,31 @@
+package com.sowmya.retry;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+import org.testng.IAnnotationTransformer;
+import org.testng.IRetryAnalyzer;
+import org.testng.annotations.ITestAnnotation;
+
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+
+// With retry.enabled and retry.count > 0 (the regression profile) every @Test without a retry analyzer
+// of its own gets a RetryAnalyzer. Registered through META-INF/services/org.testng.ITestNGListener.
+public class RetryListener implements IAnnotationTransformer {
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor,
+            Method testMethod) {
+        TestConfig config = ConfigManager.getInstance().getConfig();
+        if (!config.isRetryEnabled() || config.getRetryCount() <= 0) {
+            return;
+        }
+        Class<? extends IRetryAnalyzer> declared = annotation.getRetryAnalyzerClass();
+        // TestNG reports "none" as its internal DisabledRetryAnalyzer
+        if (declared == null || declared.getSimpleName().equals("DisabledRetryAnalyzer")) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.sowmya.scheduling;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Test class and method durations of past runs, one line per measurement appended to
+// schedule.history.file (kept outside target so it survives mvn clean, like perf.history.file).
+// Lines are "run,kind,key,millis" with kind class or method and key "Class" or "Class#method".
+// The estimate for a key is the median of its last SAMPLES measurements.
+public class DurationHistory {
+
+    private static final int SAMPLES = 5;
+
+    private final Map<String, List<Long>> samples = new HashMap<>();
+
+    public static Path defaultFile() {
+        return Paths.get(ConfigManager.getInstance().getProperty("schedule.history.file",
+                "perf-history/test-durations.csv"));
+    }
+
+    public static DurationHistory load(Path file) throws IOException {
+        DurationHistory history = new DurationHistory();
+        if (!Files.exists(file)) {
+            return history;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split(",");
+                if (columns.length != 4) {
+                    continue;
+                }
+                history.add(columns[1], columns[2], Long.parseLong(columns[3]));
+            }
+        }
+        return history;
+    }
+
+    // Appends one run in a single write, so forks finishing together don't interleave lines
+    public static void append(Path file, String runId, Map<String, Long> classes, Map<String, Long> methods)
+            throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        StringBuilder lines = new StringBuilder();
+        if (!Files.exists(file)) {
+            lines.append("run,kind,key,millis\n");
+        }
+        for (Map.Entry<String, Long> entry : classes.entrySet()) {
+            lines.append(runId).append(",class,").append(entry.getKey()).append(',').append(entry.getValue()).append('\n');
+        }
+        for (Map.Entry<String, Long> entry : methods.entrySet()) {
+            lines.append(runId).append(",method,").append(entry.getKey()).append(',').append(entry.getValue()).append('\n');
+        }
+        Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    public void add(String kind, String key, long millis) {
+        List<Long> values = samples.computeIfAbsent(kind + ":" + key, k -> new ArrayList<>());
+        values.add(millis);
+        if (values.size() > SAMPLES) {
+            values.remove(0);
+        }
+    }
+
+    // Estimated duration of a test class, null when it has never been recorded
+    public Long classMillis(String className) {
+        return median(samples.get("class:" + className));
+    }
+
+    public Long methodMillis(String className, String method) {
+        return median(samples.get("method:" + className + "#" + method));
+    }
+
+    // Median over all known classes, the guess for a class without history
+    public Long typicalClassMillis() {
+        List<Long> estimates = new ArrayList<>();
+        for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+            if (entry.getKey().startsWith("class:")) {
+                estimates.add(median(entry.getValue()));
+            }
+        }
+        return median(estimates);
+    }
+
+    private static Long median(List<Long> values) {
+        if (values == null || values.isEmpty()) {
+            return null;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sowmya.scheduling;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+// Adds the time spent in every test class (tests and configuration methods) and test method
+// (all data provider invocations) of a suite to DurationHistory, for ForkPlanner. Times are summed,
+// which is the wall time of a class as long as its methods run one after another.
+// Registered through META-INF/services/org.testng.ITestNGListener.
+public class DurationRecorder implements IInvokedMethodListener, ISuiteListener {
+
+    private final Map<String, Long> classes = new TreeMap<>();
+    private final Map<String, Long> methods = new TreeMap<>();
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        long millis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        String className = method.getTestMethod().getRealClass().getName();
+        if (className.equals(ForkedSuiteLauncher.class.getName())) {
+            return;
+        }
+        synchronized (this) {
+            classes.merge(className, millis, Long::sum);
+            if (method.isTestMethod()) {
+                methods.merge(className + "#" + method.getTestMethod().getMethodName(), millis, Long::sum);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void onFinish(ISuite suite) {
+        if (classes.isEmpty()) {
+            return;
+        }
+        String runId = System.getProperty("schedule.run", Long.toString(System.currentTimeMillis(), 36));
+        try {
+            DurationHistory.append(DurationHistory.defaultFile(), runId, classes, methods);
+        } catch (IOException e) {
+            System.out.println("Failed to record test durations:" + e.getMessage());
+        }
+        classes.clear();
+        methods.clear();
+    }
+}
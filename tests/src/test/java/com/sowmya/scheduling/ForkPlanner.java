@@ -0,0 +1,217 @@
+package com.sowmya.scheduling;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Spreads test classes over forks so the slowest fork finishes as early as possible.
+// Classes tied by a dependency (dependsOnGroups / dependsOnMethods across classes) form one unit that
+// stays in a single fork, ordered so dependencies run first. Units are placed longest first, each on
+// the fork with the least work so far (LPT), which is never more than 4/3 of the best possible plan.
+public final class ForkPlanner {
+
+    private ForkPlanner() {
+    }
+
+    // estimates: class -> expected millis, dependsOn: class -> classes it needs to run after
+    public static Plan plan(Collection<String> classes, Map<String, Long> estimates,
+            Map<String, Set<String>> dependsOn, int forks) {
+        List<Unit> units = units(classes, estimates, dependsOn);
+        units.sort(Comparator.comparingLong((Unit unit) -> unit.millis).reversed()
+                .thenComparing(unit -> unit.classes.get(0)));
+
+        List<Fork> plan = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, forks); i++) {
+            plan.add(new Fork(i + 1));
+        }
+        for (Unit unit : units) {
+            Fork lightest = plan.get(0);
+            for (Fork fork : plan) {
+                if (fork.millis < lightest.millis) {
+                    lightest = fork;
+                }
+            }
+            lightest.units.add(unit.classes);
+            lightest.millis += unit.millis;
+        }
+        long total = 0;
+        long largestUnit = 0;
+        for (Unit unit : units) {
+            total += unit.millis;
+            largestUnit = Math.max(largestUnit, unit.millis);
+        }
+        return new Plan(plan, Math.max(largestUnit, (total + plan.size() - 1) / plan.size()));
+    }
+
+    // Connected groups of classes, each in dependency order
+    private static List<Unit> units(Collection<String> classes, Map<String, Long> estimates,
+            Map<String, Set<String>> dependsOn) {
+        Set<String> known = new TreeSet<>(classes);
+        Map<String, String> parent = new HashMap<>();
+        for (String name : known) {
+            parent.put(name, name);
+        }
+        for (String name : known) {
+            for (String dependency : dependsOn.getOrDefault(name, Collections.emptySet())) {
+                if (known.contains(dependency)) {
+                    parent.put(root(parent, name), root(parent, dependency));
+                }
+            }
+        }
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String name : known) {
+            groups.computeIfAbsent(root(parent, name), key -> new ArrayList<>()).add(name);
+        }
+        List<Unit> units = new ArrayList<>();
+        for (List<String> group : groups.values()) {
+            List<String> ordered = topological(group, dependsOn);
+            long millis = 0;
+            for (String name : ordered) {
+                millis += estimates.getOrDefault(name, 0L);
+            }
+            units.add(new Unit(ordered, millis));
+        }
+        return units;
+    }
+
+    // Kahn's algorithm, alphabetical among classes that are ready; a cycle keeps the remaining classes
+    // in alphabetical order and TestNG reports the cycle itself
+    private static List<String> topological(List<String> group, Map<String, Set<String>> dependsOn) {
+        Map<String, Integer> waiting = new HashMap<>();
+        Map<String, List<String>> dependents = new HashMap<>();
+        for (String name : group) {
+            int count = 0;
+            for (String dependency : dependsOn.getOrDefault(name, Collections.emptySet())) {
+                if (group.contains(dependency) && !dependency.equals(name)) {
+                    count++;
+                    dependents.computeIfAbsent(dependency, key -> new ArrayList<>()).add(name);
+                }
+            }
+            waiting.put(name, count);
+        }
+        TreeSet<String> ready = new TreeSet<>();
+        for (String name : group) {
+            if (waiting.get(name) == 0) {
+                ready.add(name);
+            }
+        }
+        List<String> ordered = new ArrayList<>();
+        while (!ready.isEmpty()) {
+            String next = ready.pollFirst();
+            ordered.add(next);
+            for (String dependent : dependents.getOrDefault(next, Collections.emptyList())) {
+                if (waiting.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        for (String name : new TreeSet<>(group)) {
+            if (!ordered.contains(name)) {
+                ordered.add(name);
+            }
+        }
+        return ordered;
+    }
+
+    private static String root(Map<String, String> parent, String name) {
+        Deque<String> path = new ArrayDeque<>();
+        String current = name;
+        while (!parent.get(current).equals(current)) {
+            path.push(current);
+            current = parent.get(current);
+        }
+        for (String visited : path) {
+            parent.put(visited, current);
+        }
+        return current;
+    }
+
+    private static final class Unit {
+
+        private final List<String> classes;
+        private final long millis;
+
+        Unit(List<String> classes, long millis) {
+            this.classes = classes;
+            this.millis = millis;
+        }
+    }
+
+    public static final class Fork {
+
+        private final int number;
+        private final List<List<String>> units = new ArrayList<>();
+        private long millis;
+
+        Fork(int number) {
+            this.number = number;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        // Classes to run together in one TestNG <test>, in order
+        public List<List<String>> getUnits() {
+            return units;
+        }
+
+        public List<String> getClasses() {
+            List<String> classes = new ArrayList<>();
+            for (List<String> unit : units) {
+                classes.addAll(unit);
+            }
+            return classes;
+        }
+
+        public long getMillis() {
+            return millis;
+        }
+    }
+
+    public static final class Plan {
+
+        private final List<Fork> forks;
+        private final long lowerBoundMillis;
+
+        Plan(List<Fork> forks, long lowerBoundMillis) {
+            this.forks = forks;
+            this.lowerBoundMillis = lowerBoundMillis;
+        }
+
+        public List<Fork> getForks() {
+            return forks;
+        }
+
+        // Expected wall time, the busiest fork
+        public long getCriticalPathMillis() {
+            long max = 0;
+            for (Fork fork : forks) {
+                max = Math.max(max, fork.millis);
+            }
+            return max;
+        }
+
+        // No plan can beat max(largest unit, total / forks)
+        public long getLowerBoundMillis() {
+            return lowerBoundMillis;
+        }
+
+        public void print() {
+            System.out.println("Fork plan: critical path " + getCriticalPathMillis() + " ms, lower bound "
+                    + lowerBoundMillis + " ms");
+            for (Fork fork : forks) {
+                System.out.println("  fork " + fork.number + " (" + fork.millis + " ms): " + fork.units);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.sowmya.scheduling;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Runs the API and UI test classes in schedule.forks JVMs laid out by ForkPlanner from DurationHistory:
+// mvn test -Pforks [-Dschedule.forks=4] [-Dschedule.include=com\.sowmya\.api\..*]
+// Surefire hands classes to its own forks in file order, so the plan is written as one TestNG suite per
+// fork (target/forks/fork-N.xml, a <test> per unit so priorities only order methods inside a class)
+// and each suite is started here as a child JVM with the test classpath. Output goes to fork-N.log.
+public class ForkedSuiteLauncher {
+
+    private static final String[] LOCAL_PROPERTIES = {
+        "java.", "jdk.", "sun.", "os.", "user.", "file.", "line.", "path.", "surefire.", "basedir",
+        "localRepository", "awt.", "native.", "stdout.", "stderr."
+    };
+
+    @Test(description = "Run the suite in duration-balanced forks")
+    public void runForks() throws IOException, InterruptedException {
+        ConfigManager config = ConfigManager.getInstance();
+        int forkCount = config.getInt("schedule.forks", 2);
+        Pattern include = Pattern.compile(config.getProperty("schedule.include", ".*"));
+
+        List<Class<?>> classes = SuiteCatalog.discover(Paths.get("target", "test-classes"), include);
+        Map<String, Set<String>> dependsOn = SuiteCatalog.dependencies(classes);
+        DurationHistory history = DurationHistory.load(DurationHistory.defaultFile());
+        Long typical = history.typicalClassMillis();
+        long fallback = typical != null ? typical : config.getLong("schedule.default.ms", 5000);
+
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        int unknown = 0;
+        for (Class<?> type : classes) {
+            Long millis = history.classMillis(type.getName());
+            if (millis == null) {
+                unknown++;
+                millis = fallback;
+            }
+            estimates.put(type.getName(), millis);
+        }
+        System.out.println("Scheduling " + classes.size() + " classes (" + unknown + " without history, "
+                + fallback + " ms assumed), dependencies: " + dependsOn);
+        ForkPlanner.Plan plan = ForkPlanner.plan(estimates.keySet(), estimates, dependsOn, forkCount);
+        plan.print();
+
+        Path directory = Paths.get("target", "forks");
+        Files.createDirectories(directory);
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long start = System.nanoTime();
+        Map<ForkPlanner.Fork, Process> running = new LinkedHashMap<>();
+        for (ForkPlanner.Fork fork : plan.getForks()) {
+            if (fork.getUnits().isEmpty()) {
+                continue;
+            }
+            Path suite = directory.resolve("fork-" + fork.getNumber() + ".xml");
+            writeSuite(suite, fork);
+            ProcessBuilder builder = new ProcessBuilder(command(fork, suite, runId, directory))
+                    .redirectErrorStream(true)
+                    .redirectOutput(directory.resolve("fork-" + fork.getNumber() + ".log").toFile());
+            running.put(fork, builder.start());
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (Map.Entry<ForkPlanner.Fork, Process> entry : running.entrySet()) {
+            int exit = entry.getValue().waitFor();
+            ForkPlanner.Fork fork = entry.getKey();
+            System.out.println("  fork " + fork.getNumber() + " done after " + (System.nanoTime() - start) / 1_000_000
+                    + " ms (planned " + fork.getMillis() + " ms), exit " + exit);
+            // TestNG exit codes: 1 has failures, 2 has skips, 8 no tests
+            if ((exit & 1) != 0 || exit > 15) {
+                failed.add("fork-" + fork.getNumber() + " (exit " + exit + ", see target/forks/fork-"
+                        + fork.getNumber() + ".log)");
+            }
+        }
+        System.out.println("All forks done in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        Assert.assertTrue(failed.isEmpty(), "Forks with failures: " + failed);
+    }
+
+    private static void writeSuite(Path suite, ForkPlanner.Fork fork) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(suite, StandardCharsets.UTF_8))) {
+            out.println("<!DOCTYPE suite SYSTEM \"https://testng.org/testng-1.0.dtd\">");
+            out.println("<!-- planned " + fork.getMillis() + " ms -->");
+            out.println("<suite name=\"fork-" + fork.getNumber() + "\" preserve-order=\"true\">");
+            for (List<String> unit : fork.getUnits()) {
+                out.println("  <test name=\"" + unit.get(0) + "\" preserve-order=\"true\">");
+                out.println("    <groups><run><exclude name=\"benchmark\"/></run></groups>");
+                out.println("    <classes>");
+                for (String name : unit) {
+                    out.println("      <class name=\"" + name + "\"/>");
+                }
+                out.println("    </classes>");
+                out.println("  </test>");
+            }
+            out.println("</suite>");
+        }
+    }
+
+    private static List<String> command(ForkPlanner.Fork fork, Path suite, String runId, Path directory) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        String classPath = System.getProperty("surefire.test.class.path");
+        command.add("-cp");
+        command.add(classPath != null && !classPath.isEmpty() ? classPath : System.getProperty("java.class.path"));
+        // pass on the -D settings of this run (profile, backend.mode, ...), not the JVM's own properties
+        Properties properties = System.getProperties();
+        for (String key : properties.stringPropertyNames()) {
+            if (isForwarded(key)) {
+                command.add("-D" + key + "=" + properties.getProperty(key));
+            }
+        }
+        command.add("-Dschedule.run=" + runId);
+        command.add("-Dschedule.fork=" + fork.getNumber());
+        // swept once by this JVM before the plan, a fork must not delete the users of another one
+        command.add("-Dsweep.on.start=false");
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(directory.resolve("fork-" + fork.getNumber()).toString());
+        command.add(suite.toString());
+        return command;
+    }
+
+    private static boolean isForwarded(String key) {
+        if (key.equals("test") || key.equals("schedule.run") || key.equals("schedule.fork")
+                || key.equals("sweep.on.start")) {
+            return false;
+        }
+        for (String prefix : LOCAL_PROPERTIES) {
+            if (key.startsWith(prefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sowmya.scheduling;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.testng.annotations.Test;
+
+// The TestNG classes surefire would pick up (Test* / *Test, not abstract) and the dependencies
+// they declare on each other through dependsOnGroups and dependsOnMethods.
+public final class SuiteCatalog {
+
+    private SuiteCatalog() {
+    }
+
+    // include: regex on the class name, e.g. com\.sowmya\.api\..* for the API suite only
+    public static List<Class<?>> discover(Path testClasses, Pattern include) throws IOException {
+        List<String> names;
+        try (Stream<Path> files = Files.walk(testClasses)) {
+            names = files.map(file -> testClasses.relativize(file).toString())
+                    .filter(file -> file.endsWith(".class") && !file.contains("$"))
+                    .map(file -> file.substring(0, file.length() - ".class".length()).replace('/', '.').replace('\\', '.'))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : names) {
+            String simpleName = name.substring(name.lastIndexOf('.') + 1);
+            if (!(simpleName.startsWith("Test") || simpleName.endsWith("Test")) || !include.matcher(name).matches()) {
+                continue;
+            }
+            try {
+                Class<?> type = Class.forName(name, false, SuiteCatalog.class.getClassLoader());
+                if (!Modifier.isAbstract(type.getModifiers()) && !type.isInterface() && hasTests(type)) {
+                    classes.add(type);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.out.println("Skipping " + name + ": " + e);
+            }
+        }
+        return classes;
+    }
+
+    // class -> classes it has to run after
+    public static Map<String, Set<String>> dependencies(List<Class<?>> classes) {
+        Map<String, Set<String>> groupOwners = new HashMap<>();
+        Map<String, Class<?>> byName = new HashMap<>();
+        for (Class<?> type : classes) {
+            byName.put(type.getName(), type);
+            for (Test test : annotations(type)) {
+                for (String group : test.groups()) {
+                    groupOwners.computeIfAbsent(group, key -> new TreeSet<>()).add(type.getName());
+                }
+            }
+        }
+        Map<String, Set<String>> dependsOn = new TreeMap<>();
+        for (Class<?> type : classes) {
+            Set<String> needs = new TreeSet<>();
+            for (Test test : annotations(type)) {
+                for (String group : test.dependsOnGroups()) {
+                    needs.addAll(groupOwners.getOrDefault(group, new TreeSet<>()));
+                }
+                for (String method : test.dependsOnMethods()) {
+                    int dot = method.lastIndexOf('.');
+                    if (dot > 0 && byName.containsKey(method.substring(0, dot))) {
+                        needs.add(method.substring(0, dot));
+                    }
+                }
+            }
+            needs.remove(type.getName());
+            if (!needs.isEmpty()) {
+                dependsOn.put(type.getName(), needs);
+            }
+        }
+        return dependsOn;
+    }
+
+    private static boolean hasTests(Class<?> type) {
+        if (type.isAnnotationPresent(Test.class)) {
+            return true;
+        }
+        for (Method method : type.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Test> annotations(Class<?> type) {
+        List<Test> tests = new ArrayList<>();
+        if (type.isAnnotationPresent(Test.class)) {
+            tests.add(type.getAnnotation(Test.class));
+        }
+        Arrays.stream(type.getMethods())
+                .filter(method -> method.isAnnotationPresent(Test.class))
+                .forEach(method -> tests.add(method.getAnnotation(Test.class)));
+        return tests;
+    }
+}
@@ -0,0 +1,54 @@
+package com.sowmya.scheduling;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestForkPlanner {
+
+    @Test(priority = 1)
+    public void testLongestClassesAreSpreadFirst() {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        estimates.put("A", 7000L);
+        estimates.put("B", 5000L);
+        estimates.put("C", 4000L);
+        estimates.put("D", 3000L);
+        estimates.put("E", 3000L);
+        estimates.put("F", 2000L);
+
+        ForkPlanner.Plan plan = ForkPlanner.plan(estimates.keySet(), estimates, Collections.emptyMap(), 2);
+
+        // LPT: A | B, C -> B+C | A, D -> A+D | B+C, E -> ... ends at 12000 / 12000
+        Assert.assertEquals(plan.getCriticalPathMillis(), 12000L);
+        Assert.assertEquals(plan.getLowerBoundMillis(), 12000L);
+        Assert.assertEquals(plan.getForks().get(0).getClasses(), Arrays.asList("A", "D", "F"));
+        Assert.assertEquals(plan.getForks().get(1).getClasses(), Arrays.asList("B", "C", "E"));
+    }
+
+    @Test(priority = 2)
+    public void testDependentClassesStayTogetherInOrder() {
+        Map<String, Long> estimates = new HashMap<>();
+        estimates.put("Login", 1000L);
+        estimates.put("Orders", 3000L);
+        estimates.put("Reports", 2000L);
+        estimates.put("Search", 5000L);
+        Map<String, Set<String>> dependsOn = new HashMap<>();
+        dependsOn.put("Orders", new TreeSet<>(Collections.singleton("Login")));
+        dependsOn.put("Reports", new TreeSet<>(Collections.singleton("Orders")));
+
+        ForkPlanner.Plan plan = ForkPlanner.plan(estimates.keySet(), estimates, dependsOn, 3);
+
+        Assert.assertEquals(plan.getForks().get(0).getUnits(),
+                Collections.singletonList(Arrays.asList("Login", "Orders", "Reports")));
+        Assert.assertEquals(plan.getForks().get(1).getClasses(), Collections.singletonList("Search"));
+        Assert.assertTrue(plan.getForks().get(2).getUnits().isEmpty(), "Nothing left for the third fork");
+        Assert.assertEquals(plan.getCriticalPathMillis(), 6000L);
+    }
+}
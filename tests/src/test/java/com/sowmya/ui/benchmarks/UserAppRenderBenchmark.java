@@ -0,0 +1,252 @@
+package com.sowmya.ui.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.sowmya.api.model.User;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.ui.utils.BrowserPool;
+import com.sowmya.ui.utils.MockApiRouter;
+
+// Renders UserApp with user lists of increasing size and reports, per size:
+// time until every row is in the DOM, frame times and long tasks while scrolling to the bottom,
+// and the latency of opening the edit form, saving an edit and deleting a row.
+// The lists are served by MockApiRouter, so only the frontend has to be running (no backend).
+// Interaction latencies are measured from the test side and include the Playwright round trip.
+// Run with: mvn test -Pbenchmark -Dprofile=perf -Dtest=UserAppRenderBenchmark -Dbenchmark.ui.sizes=1000,5000,50000
+public class UserAppRenderBenchmark {
+
+    private static final String SIZES = System.getProperty("benchmark.ui.sizes", "100,1000,5000,50000");
+    private static final int TIMEOUT_MS = Integer.getInteger("benchmark.ui.timeout", 180_000);
+    private static final int SCROLL_STEPS = Integer.getInteger("benchmark.ui.scroll.steps", 120);
+    // A frame slower than this is counted as jank (three frames missed at 60 Hz)
+    private static final double JANK_FRAME_MS = 50;
+
+    private static final String ROWS = "table tbody tr";
+
+    // Scrolls to the bottom in equal steps, one step per animation frame, and returns the
+    // frame intervals plus the long tasks seen meanwhile
+    private static final String SCROLL_SCRIPT = String.join("\n",
+        "async (steps) => {",
+        "  const longTasks = [];",
+        "  let observer = null;",
+        "  try {",
+        "    observer = new PerformanceObserver(list => list.getEntries().forEach(e => longTasks.push(e.duration)));",
+        "    observer.observe({ type: 'longtask' });",
+        "  } catch (e) { /* long tasks not supported */ }",
+        "  const frames = [];",
+        "  const bottom = document.documentElement.scrollHeight - window.innerHeight;",
+        "  let last = await new Promise(resolve => requestAnimationFrame(resolve));",
+        "  for (let i = 1; i <= steps; i++) {",
+        "    window.scrollTo(0, bottom * i / steps);",
+        "    const now = await new Promise(resolve => requestAnimationFrame(resolve));",
+        "    frames.push(now - last);",
+        "    last = now;",
+        "  }",
+        "  await new Promise(resolve => setTimeout(resolve, 100));",
+        "  if (observer) { observer.disconnect(); }",
+        "  return { frames: frames, longTasks: longTasks };",
+        "}");
+
+    private final List<Result> results = Collections.synchronizedList(new ArrayList<>());
+
+    @DataProvider(name = "sizes")
+    public Object[][] sizes() {
+        return Arrays.stream(SIZES.split(","))
+                .map(String::trim)
+                .filter(size -> !size.isEmpty())
+                .map(size -> new Object[] { Integer.parseInt(size) })
+                .toArray(Object[][]::new);
+    }
+
+    @Test(groups = "benchmark", dataProvider = "sizes", description = "UserApp render, scroll and interaction cost per list size")
+    public void benchmarkUserList(int size) {
+        BrowserContext context = BrowserPool.getInstance().newContext();
+        try {
+            MockApiRouter router = new MockApiRouter(generateUsers(size), 0, 0);
+            router.install(context);
+            router.installSession(context);
+            context.setDefaultTimeout(TIMEOUT_MS);
+
+            Page page = context.newPage();
+            page.onDialog(dialog -> dialog.accept());
+            Result result = new Result(size);
+
+            // First render: navigation start until every row is in the DOM
+            long start = System.nanoTime();
+            page.navigate(ConfigManager.getInstance().getConfig().getFrontendUrl());
+            page.waitForFunction("([selector, count]) => document.querySelectorAll(selector).length >= count",
+                    Arrays.asList(ROWS, size), new Page.WaitForFunctionOptions().setTimeout(TIMEOUT_MS));
+            result.renderMs = number(page.evaluate("() => performance.now()"));
+            result.renderWallMs = millisSince(start);
+
+            scroll(page, result);
+            page.evaluate("() => window.scrollTo(0, 0)");
+
+            Locator firstRow = page.locator(ROWS).first();
+
+            // Open the edit form for the first row
+            start = System.nanoTime();
+            firstRow.locator("button[title='Edit user']").click();
+            page.getByText("Edit User", new Page.GetByTextOptions().setExact(true)).waitFor();
+            result.editOpenMs = millisSince(start);
+
+            // Save the edit and wait for the row to show it
+            page.getByPlaceholder("Enter name").fill("Bench Edited");
+            start = System.nanoTime();
+            page.getByText("Update", new Page.GetByTextOptions().setExact(true)).click();
+            page.locator(ROWS).first().getByText("Bench Edited").waitFor();
+            result.editSaveMs = millisSince(start);
+
+            // Delete the first row, the confirm dialog is accepted by the handler above
+            start = System.nanoTime();
+            page.locator(ROWS).first().locator("button[title='Delete user']").click();
+            page.waitForFunction("([selector, count]) => document.querySelectorAll(selector).length === count",
+                    Arrays.asList(ROWS, size - 1), new Page.WaitForFunctionOptions().setTimeout(TIMEOUT_MS));
+            result.deleteMs = millisSince(start);
+
+            Assert.assertEquals(router.size(), size - 1, "Delete should reach the mocked API");
+            results.add(result);
+            System.out.println(result);
+        } finally {
+            context.close();
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void report() throws IOException {
+        BrowserPool.getInstance().shutdown();
+        if (results.isEmpty()) {
+            return;
+        }
+        List<Result> sorted = new ArrayList<>(results);
+        sorted.sort((a, b) -> Integer.compare(a.size, b.size));
+
+        System.out.println("---------- UserApp large list benchmark ----------");
+        List<String> lines = new ArrayList<>();
+        lines.add("rows,render_ms,render_wall_ms,frames,frame_p50_ms,frame_p95_ms,frame_max_ms,janky_frames,"
+                + "long_tasks,long_task_ms,edit_open_ms,edit_save_ms,delete_ms");
+        for (Result result : sorted) {
+            System.out.println(result);
+            lines.add(result.toCsv());
+        }
+        Path file = Paths.get("target", "userapp-render-benchmark.csv");
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines, StandardCharsets.UTF_8);
+        System.out.println("Written " + file);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void scroll(Page page, Result result) {
+        Map<String, Object> raw = (Map<String, Object>) page.evaluate(SCROLL_SCRIPT, SCROLL_STEPS);
+        double[] frames = toArray((List<Object>) raw.get("frames"));
+        double[] longTasks = toArray((List<Object>) raw.get("longTasks"));
+
+        Arrays.sort(frames);
+        result.frames = frames.length;
+        result.frameP50Ms = percentile(frames, 50);
+        result.frameP95Ms = percentile(frames, 95);
+        result.frameMaxMs = frames.length == 0 ? 0 : frames[frames.length - 1];
+        for (double frame : frames) {
+            if (frame > JANK_FRAME_MS) {
+                result.jankyFrames++;
+            }
+        }
+        result.longTasks = longTasks.length;
+        for (double longTask : longTasks) {
+            result.longTaskMs += longTask;
+        }
+    }
+
+    private static List<User> generateUsers(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setId("bench" + Integer.toString(i, 36));
+            user.setName("Bench User " + i);
+            user.setEmail("bench.user." + i + "@bench.com");
+            user.setAge(18 + i % 60);
+            user.setCreatedAt("2025-08-01T10:15:30.000Z");
+            user.setUpdatedAt("2025-08-01T10:15:30.000Z");
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static double[] toArray(List<Object> values) {
+        double[] array = new double[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = number(values.get(i));
+        }
+        return array;
+    }
+
+    private static double percentile(double[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number ? ((Number) value).doubleValue() : -1;
+    }
+
+    private static double millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+
+    private static final class Result {
+
+        private final int size;
+        private double renderMs;
+        private double renderWallMs;
+        private int frames;
+        private double frameP50Ms;
+        private double frameP95Ms;
+        private double frameMaxMs;
+        private int jankyFrames;
+        private int longTasks;
+        private double longTaskMs;
+        private double editOpenMs;
+        private double editSaveMs;
+        private double deleteMs;
+
+        Result(int size) {
+            this.size = size;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%d,%.1f,%.1f,%d,%.1f,%.1f,%.1f,%d,%d,%.1f,%.1f,%.1f,%.1f",
+                    size, renderMs, renderWallMs, frames, frameP50Ms, frameP95Ms, frameMaxMs, jankyFrames,
+                    longTasks, longTaskMs, editOpenMs, editSaveMs, deleteMs);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "%6d rows | render %8.1f ms | frames p50 %5.1f p95 %6.1f max %7.1f ms, %3d janky"
+                    + " | long tasks %3d (%8.1f ms) | edit open %7.1f save %7.1f | delete %7.1f ms",
+                    size, renderMs, frameP50Ms, frameP95Ms, frameMaxMs, jankyFrames,
+                    longTasks, longTaskMs, editOpenMs, editSaveMs, deleteMs);
+        }
+    }
+}
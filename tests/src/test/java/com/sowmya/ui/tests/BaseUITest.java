@@ -0,0 +1,246 @@
+package com.sowmya.ui.tests;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeMethod;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Tracing;
+import com.sowmya.api.utils.ConfigManager;
+import com.sowmya.api.utils.TestConfig;
+import com.sowmya.ui.utils.AuthStateManager;
+import com.sowmya.ui.utils.BrowserPool;
+import com.sowmya.ui.utils.DirectApiTimer;
+import com.sowmya.ui.utils.HarAnalyzer;
+import com.sowmya.ui.utils.MockApiRouter;
+import com.sowmya.ui.utils.PageMetrics;
+import com.sowmya.ui.utils.PerformanceBudget;
+import com.sowmya.ui.utils.ScreenshotService;
+import com.sowmya.ui.utils.StepTimer;
+import com.sowmya.ui.utils.WebVitalsCollector;
+import com.sowmya.ui.utils.WebVitalsReport;
+
+// Common setup for UI tests.
+// Browsers come from the shared BrowserPool, every test method gets its own context and page.
+// Context and page are kept per thread so methods of one class can run in parallel.
+// Unless a method is marked @FreshSession, contexts load the stored login state and start on UserApp.
+// With ui.backend.mode=mock the /api calls are answered by a MockApiRouter instead of the backend.
+// ui.trace.enabled and ui.har.enabled record a Playwright trace / HAR per test under ui.artifacts.path,
+// the HAR is broken down per /api call and compared with the same calls made directly from Java.
+public abstract class BaseUITest {
+
+    protected static final TestConfig config = ConfigManager.getInstance().getConfig();
+    private static final boolean MOCK_BACKEND = MockApiRouter.isEnabled();
+    private static final boolean REUSE_AUTH_STATE = ConfigManager.getInstance().getBoolean("ui.auth.reuse", true);
+    private static final boolean VITALS_ENABLED = ConfigManager.getInstance().getBoolean("perf.vitals.enabled", true);
+    private static final boolean BUDGETS_ENFORCED = ConfigManager.getInstance().getBoolean("perf.budgets.enforced", false);
+    private static final boolean TRACE_ENABLED = ConfigManager.getInstance().getBoolean("ui.trace.enabled", false);
+    private static final boolean HAR_ENABLED = ConfigManager.getInstance().getBoolean("ui.har.enabled", false);
+    private static final int HAR_COMPARE_SAMPLES = ConfigManager.getInstance().getInt("ui.har.compare.samples", 3);
+    private static final Path ARTIFACTS = Paths.get(ConfigManager.getInstance().getProperty("ui.artifacts.path", "target/ui-artifacts"));
+
+    private static final WebVitalsCollector vitalsCollector = new WebVitalsCollector();
+    private static final PerformanceBudget budget = PerformanceBudget.fromConfig();
+
+    private final ThreadLocal<BrowserContext> context = new ThreadLocal<>();
+    private final ThreadLocal<Page> page = new ThreadLocal<>();
+    private final ThreadLocal<MockApiRouter> mockApi = new ThreadLocal<>();
+    private final ThreadLocal<String> testName = new ThreadLocal<>();
+    private final ThreadLocal<List<String>> budgetViolations = ThreadLocal.withInitial(ArrayList::new);
+
+    @BeforeMethod(alwaysRun = true)
+    public void setupTest(Method method) {
+        BrowserPool pool = BrowserPool.getInstance();
+        Browser.NewContextOptions options = pool.defaultContextOptions();
+        // Start already logged in unless the test exercises the login page itself
+        if (REUSE_AUTH_STATE && !method.isAnnotationPresent(FreshSession.class)) {
+            options.setStorageStatePath(AuthStateManager.getInstance().getStorageState());
+        }
+        String name = getClass().getSimpleName() + "." + method.getName();
+        if (HAR_ENABLED) {
+            options.setRecordHarPath(ARTIFACTS.resolve(name + ".har"));
+        }
+        BrowserContext browserContext = pool.newContext(options);
+        context.set(browserContext);
+        testName.set(method.getName());
+        if (TRACE_ENABLED) {
+            browserContext.tracing().start(new Tracing.StartOptions().setScreenshots(true).setSnapshots(true));
+        }
+        budgetViolations.get().clear();
+        if (MOCK_BACKEND) {
+            // fresh in-memory users for every test, so tests never see each other's changes
+            MockApiRouter router = createMockApi();
+            router.install(browserContext);
+            mockApi.set(router);
+        }
+        if (VITALS_ENABLED) {
+            vitalsCollector.install(browserContext);
+        }
+
+        Page newPage = browserContext.newPage();
+        page.set(newPage);
+
+        // logging for debugging
+        newPage.onConsoleMessage(msg -> {
+            System.out.println("Console [" + msg.type() + "]:" + msg.text());
+        });
+
+        // Navigate to the application, navigate() already waits for the load event
+        newPage.navigate(config.getFrontendUrl());
+        captureMetrics("open");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void teardownTest(ITestResult result) {
+        String name = getClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        ScreenshotService screenshots = ScreenshotService.getInstance();
+        if (!result.isSuccess() && page() != null) {
+            screenshots.captureFailure(page(), "failure");
+        }
+        if (!result.isSuccess() || config.isScreenshotAlways()) {
+            screenshots.persist(name);
+        } else {
+            screenshots.discard();
+        }
+
+        BrowserContext browserContext = context.get();
+        if (browserContext != null) {
+            if (TRACE_ENABLED) {
+                browserContext.tracing().stop(new Tracing.StopOptions().setPath(ARTIFACTS.resolve(name + ".trace.zip")));
+            }
+            // the HAR is written when the context closes
+            browserContext.close();
+            if (HAR_ENABLED) {
+                reportApiTimings(name);
+            }
+        }
+        context.remove();
+        page.remove();
+        mockApi.remove();
+        testName.remove();
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void teardownBrowsers() {
+        BrowserPool.getInstance().shutdown();
+        ScreenshotService.getInstance().shutdown();
+
+        StepTimer.getInstance().printSummary();
+        try {
+            StepTimer.getInstance().writeCsv(Paths.get("target", "e2e-step-timings.csv"));
+        } catch (IOException e) {
+            System.out.println("Failed to write step timings:" + e.getMessage());
+        }
+        try {
+            WebVitalsReport.getInstance().write();
+        } catch (IOException e) {
+            System.out.println("Failed to write web vitals report:" + e.getMessage());
+        }
+    }
+
+    // Runs one named UI step, records its duration and the page metrics right after it
+    protected void step(String name, Runnable action) {
+        StepTimer.getInstance().time(name, action);
+        captureMetrics(name);
+    }
+
+    // Prints the per /api call breakdown of the test's HAR next to the direct Java timings
+    private void reportApiTimings(String name) {
+        try {
+            List<HarAnalyzer.ApiCall> calls = HarAnalyzer.parse(ARTIFACTS.resolve(name + ".har"));
+            Map<String, HarAnalyzer.Summary> summaries = HarAnalyzer.summarize(calls);
+            if (summaries.isEmpty()) {
+                return;
+            }
+            // nothing to compare against when the backend is mocked
+            Map<String, Double> direct = MOCK_BACKEND
+                    ? Collections.<String, Double>emptyMap()
+                    : new DirectApiTimer(HAR_COMPARE_SAMPLES).measure(summaries.keySet());
+            System.out.println("---------- API timings (ms) for " + name + " ----------");
+            HarAnalyzer.report(calls, summaries, direct).forEach(System.out::println);
+            HarAnalyzer.writeCsv(ARTIFACTS.resolve(name + ".api-timings.csv"), calls, summaries, direct);
+        } catch (Exception e) {
+            System.out.println("Failed to analyze HAR:" + e.getMessage());
+        }
+    }
+
+    // Buffers a screenshot of the current page, written only if the test fails
+    protected void screenshot(String name) {
+        ScreenshotService.getInstance().capture(page(), name);
+    }
+
+    // Reads Web Vitals, navigation and resource timing for the current page under <test>/<label>
+    protected void captureMetrics(String label) {
+        if (!VITALS_ENABLED) {
+            return;
+        }
+        try {
+            PageMetrics metrics = vitalsCollector.capture(page(), testName.get() + "/" + label);
+            WebVitalsReport.getInstance().add(metrics);
+            budgetViolations.get().addAll(budget.check(metrics));
+        } catch (PlaywrightException e) {
+            System.out.println("Failed to capture page metrics:" + e.getMessage());
+        }
+    }
+
+    // Fails the test when any captured page went over the perf.budget.* limits (perf.budgets.enforced)
+    protected void assertWithinPerformanceBudget() {
+        List<String> violations = budgetViolations.get();
+        if (violations.isEmpty()) {
+            return;
+        }
+        if (BUDGETS_ENFORCED) {
+            Assert.fail("Performance budget exceeded:\n" + String.join("\n", violations));
+        }
+        violations.forEach(violation -> System.out.println("Performance budget exceeded: " + violation));
+    }
+
+    // Performs the action and returns once the matching /api call it triggers has answered,
+    // instead of waiting for load states or fixed delays
+    protected Response waitForApi(String method, String path, Runnable action) {
+        return page().waitForResponse(response ->
+                response.request().method().equals(method) && isApiPath(response.url(), path), action);
+    }
+
+    private static boolean isApiPath(String url, String path) {
+        int query = url.indexOf('?');
+        String withoutQuery = query < 0 ? url : url.substring(0, query);
+        if (path.endsWith("/")) {
+            return withoutQuery.contains(path);
+        }
+        return withoutQuery.endsWith(path);
+    }
+
+    // Users served by the mocked backend, override to seed a different data set
+    protected MockApiRouter createMockApi() {
+        return MockApiRouter.fromTestData();
+    }
+
+    // Router of the current test, null when running against the live backend
+    protected MockApiRouter mockApi() {
+        return mockApi.get();
+    }
+
+    protected Page page() {
+        return page.get();
+    }
+
+    protected BrowserContext context() {
+        return context.get();
+    }
+}
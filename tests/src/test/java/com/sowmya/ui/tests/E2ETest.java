@@ -1,98 +1,28 @@
 package com.sowmya.ui.tests;
 
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
 import org.testng.Assert;
-import org.testng.annotations.AfterClass;
-import org.testng.annotations.AfterMethod;
-import org.testng.annotations.BeforeClass;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserContext;
-import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.options.AriaRole;
-import com.sowmya.api.utils.ConfigManager;
-
-public class E2ETest {
-    
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext context;
-    private Page page;
+import com.sowmya.api.constants.Endpoints;
 
-    protected static final ConfigManager config = ConfigManager.getInstance();
-    protected static final String BASE_URL =  ConfigManager.getInstance().geString(("base_url"));
-    private static final String PORT = ConfigManager.getInstance().geString("frontend_port");
-
-    
-    protected static final boolean HEADLESS = Boolean.parseBoolean(config.getProperty("browser.headless", "true"));
-    protected static final Integer SLOWMO = Integer.parseInt(config.getProperty("browser.slowmo", "300"));
-
-    @BeforeClass
-    public void setupBrowser() {
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch(
-            new BrowserType.LaunchOptions()
-                .setHeadless(HEADLESS)
-                .setSlowMo(SLOWMO)
-            );
-    }
+public class E2ETest extends BaseUITest {
 
-    @AfterClass
-    public void teardown(){
-        if (browser != null) {
-            browser.close();
-        }
-        if (playwright != null) {
-            playwright.close();
-        }
-    }
-
-    @BeforeMethod
-    public void setupTest() {
-        context = browser.newContext(new Browser.NewContextOptions()
-            .setViewportSize(1280, 720)
-        );
-        page = context.newPage();
-
-        // logging for debugging
-        page.onConsoleMessage(msg -> {
-            System.out.println("Console [" + msg.type() + "]:" + msg.text());
-        });
-
-        // Navigate to the application
-        page.navigate(BASE_URL + ":" + PORT);
-
-        // Wait for page to load
-        page.waitForLoadState();
-    }
-
-
-    @AfterMethod
-    public void teardownTest() {
-        if (context != null) {
-            context.close();
-        }
-    }
+    private static final String USER_BY_ID_PATH = "/api/users/";
 
+    @FreshSession
     @Test(priority =1, description = "E2E test: Login -> Add User -> Edit User -> Delete User -> Logout")
     public void testCompleteUserFlow() {
         // step 1: login 
-        boolean onLoginPage = page.locator("input[type='password']").isVisible();
+        boolean onLoginPage = page().locator("input[type='password']").isVisible();
         Assert.assertTrue(onLoginPage, "should be on Login pagae");
-        takeScreenshot("1_login_page");
+        screenshot("1_login_page");
 
         // step 2: Login with username and password
-        performLogin("admin", "password123");
-        page.waitForLoadState();
-        takeScreenshot("2_after_login");
+        step("login", () -> performLogin("admin", "password123"));
+        screenshot("2_after_login");
     
         // step 3: check if login successful
         boolean loginSuccess = isLoginSuccess();
@@ -101,56 +31,70 @@ public class E2ETest {
         }
     
         // step 4: Add user 
-        testAddUserFlow();
+        step("add_user", this::testAddUserFlow);
 
         // // step 5: Edit user
-         testEditUserFlow();
+        step("edit_user", this::testEditUserFlow);
 
         // // step 6: Delete user
-        testDeleteUserFlow();
+        step("delete_user", this::testDeleteUserFlow);
 
         // // step 7: Logout
-        testLogoutFlow();
+        step("logout", this::testLogoutFlow);
+
+        assertWithinPerformanceBudget();
     }
 
     @Test(priority =2 , description  = "Test all negative sceanrios")
     public void testNegativeScenarios(){
 
-        testEmptyName();
+        step("empty_name", this::testEmptyName);
+
+        step("empty_email", this::testEmptyEmail);
 
-        testEmptyEmail();
+        step("invalid_email", this::testInvalidEmailId);
 
-        testInvalidEmailId();
+        step("without_age", this::testWithoutAge);
 
-        testWithoutAge();
+        step("negative_age", this::testAgeWithNegativeValue);
 
-        testAgeWithNegativeValue();
+        assertWithinPerformanceBudget();
 
     }
 
 
     private void performLogin(String username, String password) {
         try {
-            page.getByPlaceholder("Enter your username").first().fill(username);
-            page.getByPlaceholder("Enter your password").fill(password);
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get("loginFill.png")));
-            page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Sign In")).first().click();
+            page().getByPlaceholder("Enter your username").first().fill(username);
+            page().getByPlaceholder("Enter your password").fill(password);
+            screenshot("loginFill");
+            Locator signInButton = page().getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Sign In")).first();
+            waitForApi("POST", Endpoints.LOGIN, signInButton::click);
+            // UserApp is ready once its Add User button renders
+            page().getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")).first().waitFor();
         } catch (Exception e) {
             System.out.println("Error during login:" + e.getMessage());
         }
     }
 
+    // Reloads UserApp so each scenario starts from a clean page. The context already carries the
+    // stored login, the form login is only a fallback for runs with ui.auth.reuse=false.
+    private void openUserApp() {
+        page().navigate(config.getFrontendUrl());
+        if (page().locator("input[type='password']").isVisible()) {
+            performLogin(config.getAuthUsername(), config.getAuthPassword());
+        }
+    }
+
     private boolean isLoginSuccess() {
         try {
-            page.waitForLoadState();
-
-            boolean hasWelcome = page.getByText("Welcome, admin").isVisible();
-            boolean hasUserManagement = page.getByText("User Management").isVisible();
-            page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get("welcomenote.png")));
-            boolean hasAddButton =page.getByRole(AriaRole.BUTTON,
+            boolean hasWelcome = page().getByText("Welcome, admin").isVisible();
+            boolean hasUserManagement = page().getByText("User Management").isVisible();
+            screenshot("welcomenote");
+            boolean hasAddButton =page().getByRole(AriaRole.BUTTON,
                  new Page.GetByRoleOptions().setName("Add User")).first()
                  .isVisible();
-            boolean hasLogoutButton = page.getByRole(AriaRole.BUTTON,
+            boolean hasLogoutButton = page().getByRole(AriaRole.BUTTON,
                  new Page.GetByRoleOptions().setName("Logout")).first()
                  .isVisible();
 
@@ -171,21 +115,20 @@ public class E2ETest {
 
     private void testAddUserFlow() {
         try {
-            Locator addButton = page.locator("button:has-text('Add')").first();
+            Locator addButton = page().locator("button:has-text('Add')").first();
 
             if (addButton.isVisible()) {
                 addButton.click();
-                page.waitForLoadState();
-                takeScreenshot("3_add_user");
+                page().getByText("Add New User").waitFor();
+                screenshot("3_add_user");
 
                 boolean formFilled = fillAddUserForm("sowmya", "sowmya@abc.com", "30");
 
                 if (formFilled) {
-                    Locator submitButton = page.locator("button:has-text('Create')").first();
+                    Locator submitButton = page().locator("button:has-text('Create')").first();
                     if (submitButton.isVisible()){
-                        submitButton.click();
-                        page.waitForLoadState();
-                        takeScreenshot("4_form_filled");
+                        waitForApi("POST", Endpoints.CREATE_USER, submitButton::click);
+                        screenshot("4_form_filled");
                     }
                 }
             } else {
@@ -203,21 +146,21 @@ public class E2ETest {
             boolean isAgeFilled = false;
 
             // Try to fill username
-            Locator usernameField = page.locator("input[placeholder*='name']").first();
+            Locator usernameField = page().locator("input[placeholder*='name']").first();
             if (usernameField.isVisible()) {
                 usernameField.fill(username);
                 isUsernameFilled = true;
             }
 
             // Try to fill email
-            Locator emailField = page.locator("input[placeholder*='email']").first();
+            Locator emailField = page().locator("input[placeholder*='email']").first();
             if (emailField.isVisible()) {
                 emailField.fill(email);
                 isEmailFilled = true;
             }
 
             // Try to fill age
-            Locator ageField = page.locator("input[placeholder*='age']").first();
+            Locator ageField = page().locator("input[placeholder*='age']").first();
             if (ageField.isVisible()) {
                 ageField.fill(age);
                 isAgeFilled = true;
@@ -238,14 +181,14 @@ public class E2ETest {
             boolean isEmailFilled = false;
 
             // Try to fill username
-            Locator usernameField = page.locator("input[placeholder*='name']").first();
+            Locator usernameField = page().locator("input[placeholder*='name']").first();
             if (usernameField.isVisible()) {
                 usernameField.fill(username);
                 isUsernameFilled = true;
             }
 
             // Try to fill email
-            Locator emailField = page.locator("input[placeholder*='email']").first();
+            Locator emailField = page().locator("input[placeholder*='email']").first();
             if (emailField.isVisible()) {
                 emailField.fill(email);
                 isEmailFilled = true;
@@ -262,25 +205,24 @@ public class E2ETest {
 
     private void testEditUserFlow() {
         try {
-            // Locator editButton = page.locator("button:has-text('Edit'), [title='Edit'], .edit-btn").first();
-            Locator editButton = page.getByTitle("Edit").first();
+            // Locator editButton = page().locator("button:has-text('Edit'), [title='Edit'], .edit-btn").first();
+            Locator editButton = page().getByTitle("Edit").first();
 
             if (editButton.isVisible()) {
                 editButton.click();
-                page.waitForLoadState();
-                takeScreenshot("5_before_edit");
+                page().getByText("Edit User", new Page.GetByTextOptions().setExact(true)).waitFor();
+                screenshot("5_before_edit");
 
-                Locator nameField = page.locator("input[value]:not([value=''])").first();
+                Locator nameField = page().locator("input[value]:not([value=''])").first();
                 if(nameField.isVisible()) {
                     String originalvalue = nameField.inputValue();
                     nameField.fill(originalvalue + "updated");
-                    page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get("EditUser.png")));
+                    screenshot("EditUser");
 
-                    Locator saveButton = page.locator("button:has-text('Update')").first();
+                    Locator saveButton = page().locator("button:has-text('Update')").first();
                     if (saveButton.isVisible()) {
-                        takeScreenshot("6_after_edit");
-                        saveButton.click();
-                        page.waitForLoadState();
+                        screenshot("6_after_edit");
+                        waitForApi("PUT", USER_BY_ID_PATH, saveButton::click);
                     }
                 }
             } else {
@@ -292,21 +234,21 @@ public class E2ETest {
     }
 
     private void testDeleteUserFlow() {
-        page.onDialog(diaglog -> {
+        page().onDialog(diaglog -> {
             Assert.assertEquals("Are you sure you want to delete this user?", diaglog.message());
             diaglog.accept();
         });
-        page.getByTitle("Delete").first().click();
-        page.screenshot(new Page.ScreenshotOptions().setPath(Paths.get("DeleteUser.png")));
+        waitForApi("DELETE", USER_BY_ID_PATH, () -> page().getByTitle("Delete").first().click());
+        screenshot("DeleteUser");
         // FIXME: find a way to make pop up confirmation work inside try catch
         // try {
-        //     Locator deleteButton = page.getByTitle("Delete").first();
+        //     Locator deleteButton = page().getByTitle("Delete").first();
         //     if(deleteButton.isVisible()) {
         //         deleteButton.click();
         //         System.out.println("Button is enabled " + deleteButton.isEnabled());
         //         System.out.println("deleteButton clicked");
-        //         // page.waitForLoadState();
-        //         takeScreenshot("7_delete_confirmation");
+        //         // page().waitForLoadState();
+        //         screenshot("7_delete_confirmation");
         //     } else {
         //         throw new Exception("Delete button not found");
         //     }
@@ -317,13 +259,13 @@ public class E2ETest {
 
     private void testLogoutFlow() {
         try {
-            Locator logoutButton = page.locator("button:has-text('Logout')").first();
+            Locator logoutButton = page().locator("button:has-text('Logout')").first();
             if (logoutButton.isVisible()) {
-                logoutButton.click();
-                page.waitForLoadState();
-                takeScreenshot("9_after_logout");
+                waitForApi("POST", Endpoints.LOGOUT, logoutButton::click);
+                page().locator("input[type='password']").waitFor();
+                screenshot("9_after_logout");
 
-                boolean onLoginPage = page.locator("input[type='password']").isVisible();
+                boolean onLoginPage = page().locator("input[type='password']").isVisible();
                 if (onLoginPage) {
                     System.out.println("Logout successful");
                 } else {
@@ -339,146 +281,121 @@ public class E2ETest {
 
     public void testInvalidEmailId(){
 
-        performLogin("admin", "password123");
+        openUserApp();
 
-        Locator addButton = page.getByRole(
+        Locator addButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")
             );
-        page.waitForLoadState();
         addButton.click();
-        Assert.assertTrue(page.getByText("Add New User").isVisible());
+        page().getByText("Add New User").waitFor();
+        Assert.assertTrue(page().getByText("Add New User").isVisible());
         fillAddUserForm("sowmya", "sowmyaabc.com", "30");
-        Locator createButton = page.getByRole(
+        Locator createButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create")
             );
         createButton.click();
-        Locator invalidEmailIdErrorText = page.getByText(
+        Locator invalidEmailIdErrorText = page().getByText(
             " Email must contain @ symbol and be in valid format"
             );
+        invalidEmailIdErrorText.waitFor();
         Assert.assertTrue(invalidEmailIdErrorText.isVisible());    
-        page.screenshot(new Page.ScreenshotOptions().
-            setPath(Paths.get("Invalid_email_error.png")));
-
-       testLogoutFlow();
+        screenshot("Invalid_email_error");
 
     }
 
     public void testWithoutAge(){
 
-        performLogin("admin", "password123");
+        openUserApp();
 
-        Locator addButton = page.getByRole(
+        Locator addButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")
             );
-        page.waitForLoadState();
         addButton.click();
-        Assert.assertTrue(page.getByText("Add New User").isVisible());
+        page().getByText("Add New User").waitFor();
+        Assert.assertTrue(page().getByText("Add New User").isVisible());
         fillAddUserForm("test","test@yuy.com");
-        Locator createButton = page.getByRole(
+        Locator createButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create")
             );
         createButton.click();
-        Locator invalidAgeErrorText = page.getByText(
+        Locator invalidAgeErrorText = page().getByText(
             " Age must be a valid number between 0 and 150, or omitted entirely"
             );
+        invalidAgeErrorText.waitFor();
         Assert.assertTrue(invalidAgeErrorText.isVisible());    
-        page.screenshot(new Page.ScreenshotOptions().
-            setPath(Paths.get("Invalid_age_error.png")));
-
-       testLogoutFlow();
+        screenshot("Invalid_age_error");
 
     }
 
     public void testEmptyName(){
 
-        performLogin("admin", "password123");
+        openUserApp();
 
-        Locator addButton = page.getByRole(
+        Locator addButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")
             );
-        page.waitForLoadState();
         addButton.click();
-        Assert.assertTrue(page.getByText("Add New User").isVisible());
+        page().getByText("Add New User").waitFor();
+        Assert.assertTrue(page().getByText("Add New User").isVisible());
         fillAddUserForm("","test@yuy.com","23");
-        Locator createButton = page.getByRole(
+        Locator createButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create")
             );
         createButton.click();
-        Locator emptyNameErrorText = page.getByText(
+        Locator emptyNameErrorText = page().getByText(
             "Name and email are required"
             );
+        emptyNameErrorText.waitFor();
         Assert.assertTrue(emptyNameErrorText.isVisible());    
-        page.screenshot(new Page.ScreenshotOptions().
-            setPath(Paths.get("Without_Name_error.png")));
-
-       testLogoutFlow();
+        screenshot("Without_Name_error");
 
     }
 
     public void testEmptyEmail(){
 
-        performLogin("admin", "password123");
+        openUserApp();
 
-        Locator addButton = page.getByRole(
+        Locator addButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")
             );
-        page.waitForLoadState();
         addButton.click();
-        Assert.assertTrue(page.getByText("Add New User").isVisible());
+        page().getByText("Add New User").waitFor();
+        Assert.assertTrue(page().getByText("Add New User").isVisible());
         fillAddUserForm("hello","","23");
-        Locator createButton = page.getByRole(
+        Locator createButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create")
             );
         createButton.click();
-        Locator emptyEmailErrorText = page.getByText(
+        Locator emptyEmailErrorText = page().getByText(
             "Name and email are required"
             );
+        emptyEmailErrorText.waitFor();
         Assert.assertTrue(emptyEmailErrorText.isVisible());    
-        page.screenshot(new Page.ScreenshotOptions().
-            setPath(Paths.get("Without_email_error.png")));
-
-       testLogoutFlow();
+        screenshot("Without_email_error");
 
     }
 
     public void testAgeWithNegativeValue(){
 
-        performLogin("admin", "password123");
+        openUserApp();
 
-        Locator addButton = page.getByRole(
+        Locator addButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add User")
             );
-        page.waitForLoadState();
         addButton.click();
-        Assert.assertTrue(page.getByText("Add New User").isVisible());
+        page().getByText("Add New User").waitFor();
+        Assert.assertTrue(page().getByText("Add New User").isVisible());
         fillAddUserForm("test","test@yuy.com","-26");
-        Locator createButton = page.getByRole(
+        Locator createButton = page().getByRole(
                 AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Create")
             );
         createButton.click();
-        Locator negativeAgeError = page.getByText(
+        Locator negativeAgeError = page().getByText(
             " Age must be a valid number between 0 and 150, or omitted entirely"
             );
+        negativeAgeError.waitFor();
         Assert.assertTrue(negativeAgeError.isVisible());    
-        page.screenshot(new Page.ScreenshotOptions().
-            setPath(Paths.get("Negative_age_error.png")));
-
-       testLogoutFlow();
+        screenshot("Negative_age_error");
 
     }
-
-    protected void takeScreenshot(String name) {
-        try {
-            Path screenshotDir = Paths.get("target/screenshots");
-            if (!Files.exists(screenshotDir)) {
-                Files.createDirectories(screenshotDir);
-            }
-
-            page.screenshot(new Page.ScreenshotOptions()
-                .setPath(Paths.get("target/screenshots/" + name + ".png"))
-                .setFullPage(true));
-        } catch (Exception e) {
-            System.out.println("Failed to take screenshot:" + e.getMessage());
-        }
-    }
-}
\ No newline at end of file
+}
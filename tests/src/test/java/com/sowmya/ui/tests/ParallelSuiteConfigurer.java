@@ -0,0 +1,30 @@
+package com.sowmya.ui.tests;
+
+import java.util.List;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import com.sowmya.api.utils.ConfigManager;
+
+// Applies ui.parallel.mode / ui.parallel.threads from the active config profile to the UI suite,
+// so the same testng-ui.xml runs serially for debugging and in parallel for performance runs.
+public class ParallelSuiteConfigurer implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigManager config = ConfigManager.getInstance();
+        int threads = config.getInt("ui.parallel.threads", 1);
+        String mode = config.getProperty("ui.parallel.mode", "methods");
+        for (XmlSuite suite : suites) {
+            if (threads > 1) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(mode));
+                suite.setThreadCount(threads);
+            } else {
+                suite.setParallel(XmlSuite.ParallelMode.NONE);
+            }
+            System.out.println("UI suite " + suite.getName() + ": parallel=" + suite.getParallel()
+                    + ", threads=" + suite.getThreadCount());
+        }
+    }
+}